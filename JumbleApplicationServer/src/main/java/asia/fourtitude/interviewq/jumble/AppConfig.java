@@ -1,16 +1,93 @@
 package asia.fourtitude.interviewq.jumble;
 
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
 
+import asia.fourtitude.interviewq.jumble.core.DictionarySource;
+import asia.fourtitude.interviewq.jumble.core.DictionaryWatcher;
+import asia.fourtitude.interviewq.jumble.core.GamePool;
 import asia.fourtitude.interviewq.jumble.core.JumbleEngine;
 
 @Configuration
 public class AppConfig {
 
     @Bean
-    public JumbleEngine jumbleEngine() {
-        return new JumbleEngine();
+    public JumbleEngine jumbleEngine(Environment environment,
+            @Value("${jumble.dictionaries:}") String[] names) {
+        List<DictionarySource> sources = new ArrayList<>();
+        sources.add(dictionarySource(environment, JumbleEngine.DEFAULT_DICTIONARY, "jumble.dictionary"));
+        for (String name : names) {
+            name = name.trim();
+            if (!name.isEmpty()) {
+                sources.add(dictionarySource(environment, name, "jumble.dictionary." + name));
+            }
+        }
+        return new JumbleEngine(sources);
+    }
+
+    /*
+     * The dictionary `name` from the `prefix`.path, `prefix`.image,
+     * `prefix`.weights, `prefix`.infix-index and `prefix`.game-sizes
+     * properties; the internal word list when no path is given.
+     */
+    private static DictionarySource dictionarySource(Environment environment, String name, String prefix) {
+        Path dictionaryFile = toPath(environment.getProperty(prefix + ".path"));
+        Path imageFile = toPath(environment.getProperty(prefix + ".image"));
+        Path weightsFile = toPath(environment.getProperty(prefix + ".weights"));
+        DictionarySource source = dictionaryFile != null
+                ? DictionarySource.ofFile(name, dictionaryFile)
+                : DictionarySource.ofClasspath(name, JumbleEngine.DEFAULT_WORDS);
+        source = imageFile != null ? source.withImage(imageFile) : source;
+        source = weightsFile != null ? source.withWeights(weightsFile) : source;
+        source = source.withInfixIndex(environment.getProperty(prefix + ".infix-index", Boolean.class, true));
+        for (String gameSize : environment.getProperty(prefix + ".game-sizes", String[].class, new String[0])) {
+            if (gameSize.trim().isEmpty()) {
+                continue;
+            }
+            String[] lengths = gameSize.trim().split("/");
+            if (lengths.length != 2) {
+                throw new IllegalArgumentException("Invalid " + prefix + ".game-sizes=[" + gameSize
+                        + "], expect <length>/<minLength>");
+            }
+            source = source.withGameSize(Integer.parseInt(lengths[0].trim()), Integer.parseInt(lengths[1].trim()));
+        }
+        return source;
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "jumble.dictionary.watch", havingValue = "true")
+    public DictionaryWatcher dictionaryWatcher(JumbleEngine jumbleEngine,
+            @Value("${jumble.dictionary.watch-quiet-millis:2000}") long quietMillis) {
+        DictionaryWatcher watcher = new DictionaryWatcher(jumbleEngine, quietMillis);
+        if (!watcher.isWatching()) {
+            watcher.close();
+            throw new IllegalStateException("jumble.dictionary.watch needs a dictionary path or image");
+        }
+        return watcher.start();
+    }
+
+    @Bean(destroyMethod = "close")
+    public GamePool gamePool(JumbleEngine jumbleEngine,
+            @Value("${jumble.game.pool.capacity:64}") int capacity,
+            @Value("${jumble.game.pool.max-pools:16}") int maxPools,
+            @Value("${jumble.game.pool.threads:1}") int threads) {
+        GamePool gamePool = new GamePool(capacity, maxPools, threads);
+        for (String name : jumbleEngine.dictionaryNames()) {
+            gamePool.prefill(jumbleEngine.dictionary(name), JumbleEngine.GAME_LENGTH, JumbleEngine.GAME_MIN_LENGTH);
+        }
+        return gamePool;
+    }
+
+    private static Path toPath(String path) {
+        return path == null || path.trim().isEmpty() ? null : Paths.get(path.trim());
     }
 
 }
@@ -0,0 +1,48 @@
+package asia.fourtitude.interviewq.jumble.console;
+
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import asia.fourtitude.interviewq.jumble.core.JumbleEngine;
+
+/**
+ * Compiles a word list into a dictionary image, to be mapped at startup
+ * (see "jumble.dictionary.image" in "application.properties").
+ *
+ * Usage: CompileDictionary [words-file] image-file
+ *
+ * Without `words-file`, the internal word list ("words.txt") is compiled.
+ */
+public class CompileDictionary {
+
+    private final PrintStream cout;
+
+    public CompileDictionary(PrintStream cout) {
+        this.cout = cout;
+    }
+
+    public int run(String[] args) {
+        if (args.length < 1 || args.length > 2) {
+            cout.println("Usage: CompileDictionary [words-file] image-file");
+            return 1;
+        }
+        Path dictionaryFile = args.length == 2 ? Paths.get(args[0]) : null;
+        Path imageFile = Paths.get(args[args.length - 1]);
+
+        long start = System.nanoTime();
+        int size = JumbleEngine.compileImage(dictionaryFile, imageFile);
+        cout.printf("Compiled %d words from [%s] into [%s] in %d ms%n", size,
+                dictionaryFile != null ? dictionaryFile : "words.txt", imageFile,
+                (System.nanoTime() - start) / 1_000_000);
+        return 0;
+    }
+
+    public static void main(String[] args) {
+        int status = new CompileDictionary(new PrintStream(System.out)).run(args);
+        if (status != 0) {
+            System.exit(status);
+        }
+    }
+
+}
@@ -5,6 +5,8 @@ import java.util.Collection;
 import java.util.Scanner;
 
 import asia.fourtitude.interviewq.jumble.core.JumbleEngine;
+import asia.fourtitude.interviewq.jumble.core.WordQuery;
+import asia.fourtitude.interviewq.jumble.core.WordResults;
 
 public class ConsoleApp extends AConsole {
 
@@ -71,7 +73,7 @@ public class ConsoleApp extends AConsole {
         cout.print("Enter prefix: ");
         String prefix = cin.nextLine().trim();
 
-        Collection<String> words = engine.wordsMatchingPrefix(prefix);
+        WordResults words = engine.queryWordsMatchingPrefix(prefix);
         if (words.isEmpty()) {
             cout.printf("No words matching prefix=[%s] can be found%n", prefix);
         } else {
@@ -121,7 +123,7 @@ public class ConsoleApp extends AConsole {
         }
 
         String conditions = sbCond.toString().trim();
-        Collection<String> words = engine.searchWords(startChar, endChar, length);
+        WordResults words = engine.querySearchWords(startChar, endChar, length);
         if (words.isEmpty()) {
             cout.printf("No words found: %s%n", conditions);
         } else {
@@ -138,6 +140,77 @@ public class ConsoleApp extends AConsole {
         }
     }
 
+    private void queryWords() {
+        cout.println();
+        cout.println("Query Words");
+        cout.println("-----------");
+        WordQuery query;
+        try {
+            query = WordQuery.builder()
+                    .prefix(askCriterion("Prefix"))
+                    .suffix(askCriterion("Suffix"))
+                    .contains(askCriterion("Contains"))
+                    .minLength(askLength("Minimum length"))
+                    .maxLength(askLength("Maximum length"))
+                    .requiredLetters(askCriterion("Required letters"))
+                    .excludedLetters(askCriterion("Excluded letters"))
+                    .startChar(askChar("Starting character"))
+                    .endChar(askChar("Ending character"))
+                    .build();
+        } catch (IllegalArgumentException e) {
+            cout.println(e.getMessage());
+            return;
+        }
+
+        String conditions = query.toString();
+        WordResults words = engine.querySearchWords(query);
+        if (words.isEmpty()) {
+            cout.printf("No words found: %s%n", conditions);
+        } else {
+            if (words.size() == 1) {
+                cout.printf("There is only 1 word found: %s%n", conditions);
+            } else {
+                cout.printf("There are %d words found: %s%n", words.size(), conditions);
+            }
+            int pos = 0;
+            for (String word : words) {
+                pos += 1;
+                cout.printf("%3d. %s%n", pos, word);
+            }
+        }
+    }
+
+    private String askCriterion(String name) {
+        cout.print(name + " (ENTER to ignore): ");
+        return cin.nextLine().trim();
+    }
+
+    private Character askChar(String name) {
+        while (true) {
+            String input = askCriterion(name);
+            if (input.isEmpty()) {
+                return null;
+            }
+            if (input.length() == 1 && Character.isLetter(input.charAt(0))) {
+                return input.charAt(0);
+            }
+            // as the API, rather than silently use the first letter
+            cout.println("Invalid " + name + "=[" + input + "], expect one letter");
+        }
+    }
+
+    private Integer askLength(String name) {
+        String input = askCriterion(name);
+        if (! input.isEmpty()) {
+            try {
+                return Integer.parseInt(input);
+            } catch (Exception ignore) {
+                // ignore
+            }
+        }
+        return null;
+    }
+
     private void generateSubWords() {
         cout.println();
         cout.println("Generate Sub Words");
@@ -158,7 +231,7 @@ public class ConsoleApp extends AConsole {
         if (minLength != null) {
             conditions = conditions + " minLength=[" + minLength + "]";
         }
-        Collection<String> words = engine.generateSubWords(baseWord, minLength);
+        WordResults words = engine.queryGenerateSubWords(baseWord, minLength);
         if (words.isEmpty()) {
             cout.printf("No words found: %s%n", conditions);
         } else {
@@ -187,6 +260,7 @@ public class ConsoleApp extends AConsole {
             cout.println("   4. words matching prefix");
             cout.println("   5. search words");
             cout.println("   6. generate sub words");
+            cout.println("   7. query words");
             cout.println("  11. play game");
             cout.println("   q: quit");
 
@@ -210,6 +284,9 @@ public class ConsoleApp extends AConsole {
             case "6":
                 generateSubWords();
                 break;
+            case "7":
+                queryWords();
+                break;
             case "11":
                 exit = new GuessWord(cin, cout, engine).exec();
                 break;
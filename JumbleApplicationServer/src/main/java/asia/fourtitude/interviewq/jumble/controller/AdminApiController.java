@@ -0,0 +1,275 @@
+package asia.fourtitude.interviewq.jumble.controller;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import asia.fourtitude.interviewq.jumble.core.GamePool;
+import asia.fourtitude.interviewq.jumble.core.JumbleEngine;
+import asia.fourtitude.interviewq.jumble.model.DictionaryOutput;
+import asia.fourtitude.interviewq.jumble.model.GamePoolOutput;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@RestController
+@Tag(name = "Admin API", description = "Administration REST API endpoint.")
+@RequestMapping(path = "/api/admin")
+public class AdminApiController {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AdminApiController.class);
+
+    static final String ADMIN_TOKEN_HEADER = "X-Admin-Token";
+
+    private final JumbleEngine jumbleEngine;
+
+    private final GamePool gamePool;
+
+    /*
+     * The shared secret of the reload requests, null if reload is disabled.
+     */
+    private final byte[] reloadToken;
+
+    @Autowired(required = true)
+    public AdminApiController(JumbleEngine jumbleEngine, GamePool gamePool,
+            @Value("${jumble.admin.reload-token:}") String reloadToken) {
+        this.jumbleEngine = jumbleEngine;
+        this.gamePool = gamePool;
+        this.reloadToken = StringUtils.isBlank(reloadToken) ? null : reloadToken.trim().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Operation(
+            summary = "Shows the dictionary in use",
+            description = "Returns the version and size of the named word list/dictionary (or the default one) in use.")
+    @GetMapping(value = "/dictionary", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<DictionaryOutput> dictionary(
+            @Parameter(
+                    description = "Optional dictionary name, the default dictionary if not given.",
+                    required = false,
+                    example = "default")
+            @RequestParam(required = false) String dictionary) {
+        DictionaryOutput output = new DictionaryOutput();
+        JumbleEngine engine = this.jumbleEngine.dictionary(StringUtils.trimToNull(dictionary));
+        if (engine == null) {
+            output.setResult("Dictionary not found.");
+            return new ResponseEntity<>(output, HttpStatus.NOT_FOUND);
+        }
+        output.setResult("Current dictionary.");
+        output.setDictionary(engine.dictionaryName());
+        output.setVersion(engine.dictionaryVersion());
+        output.setTotalWords(engine.dictionarySize());
+        return new ResponseEntity<>(output, HttpStatus.OK);
+    }
+
+    @Operation(
+            summary = "Reloads the dictionary",
+            description = "Reloads the named word list/dictionary (or the default one) from where it was loaded at startup, and swaps it in once fully built. "
+                    + "Requests in flight finish on the previous dictionary, and existing games keep the words they were created with. "
+                    + "Disabled unless the `jumble.admin.reload-token` property is set, and then only for requests with that token in the `"
+                    + ADMIN_TOKEN_HEADER + "` header. A request while the dictionary is being reloaded is rejected, rather than queued.")
+    @ApiResponses(
+            value = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Success",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = DictionaryOutput.class),
+                                    examples = {
+                                            @ExampleObject(
+                                                    name = "Success",
+                                                    description = "Reloaded and swapped in the dictionary.",
+                                                    value = "{\n" +
+                                                            "  \"result\": \"Reloaded dictionary.\",\n" +
+                                                            "  \"dictionary\": \"default\",\n" +
+                                                            "  \"version\": 2,\n" +
+                                                            "  \"total_words\": 64662,\n" +
+                                                            "  \"elapsed_millis\": 180\n" +
+                                                            "}") })),
+                    @ApiResponse(
+                            responseCode = "500",
+                            description = "Failed",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = DictionaryOutput.class),
+                                    examples = {
+                                            @ExampleObject(
+                                                    name = "Failed",
+                                                    description = "The dictionary could not be loaded, the previous one stays in use.",
+                                                    value = "{\n" +
+                                                            "  \"result\": \"Failed to reload dictionary.\",\n" +
+                                                            "  \"dictionary\": \"default\",\n" +
+                                                            "  \"version\": 1,\n" +
+                                                            "  \"total_words\": 64662\n" +
+                                                            "}") })),
+                    @ApiResponse(
+                            responseCode = "403",
+                            description = "Forbidden",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = DictionaryOutput.class),
+                                    examples = {
+                                            @ExampleObject(
+                                                    name = "Reload disabled",
+                                                    description = "The `jumble.admin.reload-token` property is not set.",
+                                                    value = "{\n" +
+                                                            "  \"result\": \"Dictionary reload is disabled.\"\n" +
+                                                            "}"),
+                                            @ExampleObject(
+                                                    name = "Invalid token",
+                                                    description = "The `" + ADMIN_TOKEN_HEADER + "` header is missing or wrong.",
+                                                    value = "{\n" +
+                                                            "  \"result\": \"Invalid admin token.\"\n" +
+                                                            "}") })),
+                    @ApiResponse(
+                            responseCode = "404",
+                            description = "Not Found",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = DictionaryOutput.class),
+                                    examples = {
+                                            @ExampleObject(
+                                                    name = "Dictionary not found",
+                                                    description = "No dictionary named `dictionary`.",
+                                                    value = "{\n" +
+                                                            "  \"result\": \"Dictionary not found.\"\n" +
+                                                            "}") })),
+                    @ApiResponse(
+                            responseCode = "409",
+                            description = "Conflict",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = DictionaryOutput.class),
+                                    examples = {
+                                            @ExampleObject(
+                                                    name = "Reload in progress",
+                                                    description = "The dictionary is already being reloaded.",
+                                                    value = "{\n" +
+                                                            "  \"result\": \"Dictionary reload already in progress.\",\n" +
+                                                            "  \"dictionary\": \"default\",\n" +
+                                                            "  \"version\": 1,\n" +
+                                                            "  \"total_words\": 64662\n" +
+                                                            "}") })) })
+    @PostMapping(value = "/dictionary/reload", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<DictionaryOutput> reloadDictionary(
+            @Parameter(
+                    description = "Optional dictionary name, the default dictionary if not given.",
+                    required = false,
+                    example = "default")
+            @RequestParam(required = false) String dictionary,
+            @Parameter(
+                    description = "The shared secret of the `jumble.admin.reload-token` property.",
+                    required = false)
+            @RequestHeader(name = ADMIN_TOKEN_HEADER, required = false) String token) {
+        DictionaryOutput output = new DictionaryOutput();
+        if (reloadToken == null) {
+            output.setResult("Dictionary reload is disabled.");
+            return new ResponseEntity<>(output, HttpStatus.FORBIDDEN);
+        }
+        if (token == null || !MessageDigest.isEqual(reloadToken, token.trim().getBytes(StandardCharsets.UTF_8))) {
+            LOG.warn("Rejected dictionary reload: invalid admin token");
+            output.setResult("Invalid admin token.");
+            return new ResponseEntity<>(output, HttpStatus.FORBIDDEN);
+        }
+        JumbleEngine engine = this.jumbleEngine.dictionary(StringUtils.trimToNull(dictionary));
+        if (engine == null) {
+            output.setResult("Dictionary not found.");
+            return new ResponseEntity<>(output, HttpStatus.NOT_FOUND);
+        }
+        long start = System.nanoTime();
+        HttpStatus status;
+        try {
+            if (engine.tryReload() < 0) {
+                output.setResult("Dictionary reload already in progress.");
+                status = HttpStatus.CONFLICT;
+            } else {
+                output.setResult("Reloaded dictionary.");
+                output.setElapsedMillis((System.nanoTime() - start) / 1_000_000);
+                status = HttpStatus.OK;
+            }
+        } catch (RuntimeException e) {
+            LOG.error("Failed to reload dictionary {}", engine.dictionaryName(), e);
+            output.setResult("Failed to reload dictionary.");
+            status = HttpStatus.INTERNAL_SERVER_ERROR;
+        }
+        output.setDictionary(engine.dictionaryName());
+        output.setVersion(engine.dictionaryVersion());
+        output.setTotalWords(engine.dictionarySize());
+        return new ResponseEntity<>(output, status);
+    }
+
+    @Operation(
+            summary = "Shows the game pools",
+            description = "Returns the metrics of the pools of ready-made games, one per dictionary and game size: "
+                    + "games ready (`depth`), taken from the pool (`hits`), created on request as the pool was empty (`misses`), "
+                    + "dropped after a reload (`stale`), created in the background (`produced`) and per second of refill (`refill_rate`).")
+    @ApiResponses(
+            value = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Success",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = {
+                                            @ExampleObject(
+                                                    name = "Success",
+                                                    description = "The metrics of every game pool.",
+                                                    value = "[\n" +
+                                                            "  {\n" +
+                                                            "    \"dictionary\": \"default\",\n" +
+                                                            "    \"length\": 6,\n" +
+                                                            "    \"min_length\": 3,\n" +
+                                                            "    \"capacity\": 64,\n" +
+                                                            "    \"depth\": 61,\n" +
+                                                            "    \"hits\": 1520,\n" +
+                                                            "    \"misses\": 3,\n" +
+                                                            "    \"stale\": 0,\n" +
+                                                            "    \"produced\": 1584,\n" +
+                                                            "    \"refill_rate\": 41250.5\n" +
+                                                            "  }\n" +
+                                                            "]") })) })
+    @GetMapping(value = "/game-pool", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<GamePoolOutput>> gamePool() {
+        List<GamePoolOutput> outputs = new ArrayList<>();
+        for (GamePool.Stats stats : this.gamePool.stats()) {
+            GamePoolOutput output = new GamePoolOutput();
+            output.setDictionary(stats.getDictionary());
+            output.setLength(stats.getLength());
+            output.setMinLength(stats.getMinLength());
+            if (stats.getDifficulty() != null) {
+                output.setDifficulty(stats.getDifficulty().name().toLowerCase());
+            }
+            output.setCapacity(stats.getCapacity());
+            output.setDepth(stats.getDepth());
+            output.setHits(stats.getHits());
+            output.setMisses(stats.getMisses());
+            output.setStale(stats.getStale());
+            output.setProduced(stats.getProduced());
+            output.setRefillRate(stats.getRefillRate());
+            outputs.add(output);
+        }
+        return new ResponseEntity<>(outputs, HttpStatus.OK);
+    }
+
+}
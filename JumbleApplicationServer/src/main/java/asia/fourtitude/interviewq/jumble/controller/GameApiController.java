@@ -7,6 +7,7 @@ import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 
+import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -17,8 +18,11 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import asia.fourtitude.interviewq.jumble.core.Difficulty;
+import asia.fourtitude.interviewq.jumble.core.GamePool;
 import asia.fourtitude.interviewq.jumble.core.GameState;
 import asia.fourtitude.interviewq.jumble.core.JumbleEngine;
 import asia.fourtitude.interviewq.jumble.model.GameGuessInput;
@@ -42,20 +46,26 @@ public class GameApiController {
 
     private final JumbleEngine jumbleEngine;
 
+    private final GamePool gamePool;
+
     /*
      * In-memory database/repository for all the game boards/states.
      */
     private final Map<String, GameGuessModel> gameBoards;
 
     @Autowired(required = true)
-    public GameApiController(JumbleEngine jumbleEngine) {
+    public GameApiController(JumbleEngine jumbleEngine, GamePool gamePool) {
         this.jumbleEngine = jumbleEngine;
+        this.gamePool = gamePool;
         this.gameBoards = new ConcurrentHashMap<>();
     }
 
     @Operation(
             summary = "Creates new game board/state",
-            description = "Creates a new game board/state and registered into game engine referenced by `id`. All subsequent operation/play is tied to `id`.")
+            description = "Creates a new game board/state and registered into game engine referenced by `id`. All subsequent operation/play is tied to `id`. "
+                    + "With `seed`, the same word and scrambled letters are produced every time. "
+                    + "The word is picked from the named `dictionary` (or the default one), "
+                    + "of the given `difficulty` (easy, medium or hard) if any.")
     @ApiResponses(
             value = {
                     @ApiResponse(
@@ -71,21 +81,112 @@ public class GameApiController {
                                                     value = "{\n" +
                                                             "  \"result\": \"Created new game.\",\n" +
                                                             "  \"id\": \"65e0d7a4-59bf-4065-beb1-3c2220d87e1e\",\n" +
+                                                            "  \"dictionary\": \"default\",\n" +
                                                             "  \"original_word\": \"titans\",\n" +
                                                             "  \"scramble_word\": \"nisatt\",\n" +
                                                             "  \"total_words\": 29,\n" +
                                                             "  \"remaining_words\": 29,\n" +
                                                             "  \"guessed_words\": []\n" +
+                                                            "}") })),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Bad Request",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = GameGuessOutput.class),
+                                    examples = {
+                                            @ExampleObject(
+                                                    name = "Invalid difficulty",
+                                                    description = "`difficulty` is not easy, medium or hard.",
+                                                    value = "{\n" +
+                                                            "  \"result\": \"Invalid difficulty.\"\n" +
+                                                            "}") })),
+                    @ApiResponse(
+                            responseCode = "404",
+                            description = "Not Found",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = GameGuessOutput.class),
+                                    examples = {
+                                            @ExampleObject(
+                                                    name = "Dictionary not found",
+                                                    description = "No dictionary named `dictionary`.",
+                                                    value = "{\n" +
+                                                            "  \"result\": \"Dictionary not found.\"\n" +
+                                                            "}"),
+                                            @ExampleObject(
+                                                    name = "Game not found",
+                                                    description = "No game board of `difficulty` in the dictionary.",
+                                                    value = "{\n" +
+                                                            "  \"result\": \"Game not found.\"\n" +
+                                                            "}") })),
+                    @ApiResponse(
+                            responseCode = "503",
+                            description = "Service Unavailable",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = GameGuessOutput.class),
+                                    examples = {
+                                            @ExampleObject(
+                                                    name = "Game not ready",
+                                                    description = "The boards of `difficulty` are still being ranked, "
+                                                            + "after the dictionary was (re)loaded.",
+                                                    value = "{\n" +
+                                                            "  \"result\": \"Game not ready, retry later.\"\n" +
                                                             "}") })) })
     @GetMapping(value = "/new", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<GameGuessOutput> newGame() {
+    public ResponseEntity<GameGuessOutput> newGame(
+            @Parameter(
+                    description = "Optional seed, to create a reproducible game board/state.",
+                    required = false,
+                    example = "42")
+            @RequestParam(required = false) Long seed,
+            @Parameter(
+                    description = "Optional dictionary name, the default dictionary if not given.",
+                    required = false,
+                    example = "default")
+            @RequestParam(required = false) String dictionary,
+            @Parameter(
+                    description = "Optional difficulty (easy, medium or hard), any board if not given.",
+                    required = false,
+                    example = "easy")
+            @RequestParam(required = false) String difficulty) {
         /*
          * Refer to the method's Javadoc (above) and implement accordingly.
          * Must pass the corresponding unit tests.
          */
         GameGuessOutput output = new GameGuessOutput();
 
-        GameState gameState = this.jumbleEngine.createGameState(6, 3);
+        JumbleEngine engine = this.jumbleEngine.dictionary(StringUtils.trimToNull(dictionary));
+        if (engine == null) {
+            output.setResult("Dictionary not found.");
+            return new ResponseEntity<>(output, HttpStatus.NOT_FOUND);
+        }
+
+        Difficulty gameDifficulty;
+        try {
+            gameDifficulty = Difficulty.of(difficulty);
+        } catch (IllegalArgumentException e) {
+            output.setResult("Invalid difficulty.");
+            return new ResponseEntity<>(output, HttpStatus.BAD_REQUEST);
+        }
+
+        GameState gameState;
+        try {
+            gameState = (seed == null)
+                    ? this.gamePool.take(engine, JumbleEngine.GAME_LENGTH, JumbleEngine.GAME_MIN_LENGTH, gameDifficulty)
+                    : engine.createGameState(JumbleEngine.GAME_LENGTH, JumbleEngine.GAME_MIN_LENGTH, gameDifficulty, seed);
+        } catch (IllegalArgumentException e) {
+            LOG.debug("No game of dictionary=[{}], difficulty=[{}]: {}", engine.dictionaryName(), gameDifficulty,
+                    e.getMessage());
+            output.setResult("Game not found.");
+            return new ResponseEntity<>(output, HttpStatus.NOT_FOUND);
+        } catch (IllegalStateException e) {
+            LOG.debug("No game of dictionary=[{}], difficulty=[{}] yet: {}", engine.dictionaryName(), gameDifficulty,
+                    e.getMessage());
+            output.setResult("Game not ready, retry later.");
+            return new ResponseEntity<>(output, HttpStatus.SERVICE_UNAVAILABLE);
+        }
 
         /*
          * TODO:
@@ -97,6 +198,7 @@ public class GameApiController {
         String gameId = UUID.randomUUID().toString();
         GameGuessModel model = new GameGuessModel();
         model.setId(gameId);
+        model.setDictionary(engine.dictionaryName());
         model.setGameState(gameState);
         model.setCreatedAt(new Date());
         model.setModifiedAt(new Date());
@@ -107,6 +209,7 @@ public class GameApiController {
         // Create response
         output.setResult("Created new game.");
         output.setId(gameId);
+        output.setDictionary(model.getDictionary());
         output.setOriginalWord(gameState.getOriginal());
         output.setScrambleWord(gameState.getScramble());
         output.setTotalWords(gameState.getSubWords().size());
@@ -178,6 +281,22 @@ public class GameApiController {
                                                             "  \"remaining_words\": 15,\n" +
                                                             "  \"guessed_words\": []\n" +
                                                             "}"),
+                                            @ExampleObject(
+                                                    name = "Did You Mean",
+                                                    description = "Guessed with a misspelt word, with the closest words not guessed yet.",
+                                                    value = "{\n" +
+                                                            "  \"result\": \"Guessed incorrectly.\",\n" +
+                                                            "  \"id\": \"88b4278c-5141-42af-86e6-2a1d4cfa5f3b\",\n" +
+                                                            "  \"original_word\": \"ranker\",\n" +
+                                                            "  \"scramble_word\": \"rnraek\",\n" +
+                                                            "  \"guess_word\": \"rankr\",\n" +
+                                                            "  \"total_words\": 15,\n" +
+                                                            "  \"remaining_words\": 15,\n" +
+                                                            "  \"guessed_words\": [],\n" +
+                                                            "  \"suggestions\": [\n" +
+                                                            "    \"rank\"\n" +
+                                                            "  ]\n" +
+                                                            "}"),
                                             @ExampleObject(
                                                     name = "All Guessed",
                                                     description = "All words guessed.",
@@ -263,6 +382,7 @@ public class GameApiController {
         
         // Set common output fields
         output.setId(model.getId());
+        output.setDictionary(model.getDictionary());
         output.setOriginalWord(state.getOriginal());
         output.setScrambleWord(state.getScramble());
         output.setGuessWord(input.getWord());
@@ -286,6 +406,11 @@ public class GameApiController {
                 output.setResult("Guessed correctly.");
         } else {
                 output.setResult("Guessed incorrectly.");
+                // "did you mean", the words left to guess one typo away
+                List<String> suggestions = state.suggestWords(guessWord, JumbleEngine.MAX_SUGGESTIONS);
+                if (!suggestions.isEmpty()) {
+                        output.setSuggestions(suggestions);
+                }
         }
         
         // Update model
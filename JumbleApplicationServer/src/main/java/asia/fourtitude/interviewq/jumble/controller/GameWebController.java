@@ -13,6 +13,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.SessionAttributes;
 import org.springframework.web.bind.support.SessionStatus;
 
+import asia.fourtitude.interviewq.jumble.core.GamePool;
 import asia.fourtitude.interviewq.jumble.core.GameState;
 import asia.fourtitude.interviewq.jumble.core.JumbleEngine;
 import asia.fourtitude.interviewq.jumble.model.GameBoard;
@@ -26,9 +27,12 @@ public class GameWebController {
 
     private final JumbleEngine jumbleEngine;
 
+    private final GamePool gamePool;
+
     @Autowired(required = true)
-    public GameWebController(JumbleEngine jumbleEngine) {
+    public GameWebController(JumbleEngine jumbleEngine, GamePool gamePool) {
         this.jumbleEngine = jumbleEngine;
+        this.gamePool = gamePool;
     }
 
     @ModelAttribute("board")
@@ -65,7 +69,7 @@ public class GameWebController {
 
     @GetMapping("/new")
     public String doGetNew(@ModelAttribute(name = "board") GameBoard board) {
-        GameState state = this.jumbleEngine.createGameState(6, 3);
+        GameState state = this.gamePool.take(this.jumbleEngine, JumbleEngine.GAME_LENGTH, JumbleEngine.GAME_MIN_LENGTH);
 
         /*
          * TODO:
@@ -125,6 +129,8 @@ public class GameWebController {
         if (!isCorrect) {
             // If guess is incorrect, add error message to the word field
             bindingResult.rejectValue("word", "error.word", "Guessed incorrectly");
+            // "did you mean", the words left to guess one typo away
+            model.addAttribute("suggestions", board.getState().suggestWords(guessedWord, JumbleEngine.MAX_SUGGESTIONS));
         }
         
         return "game/board";
@@ -2,10 +2,13 @@ package asia.fourtitude.interviewq.jumble.controller;
 
 import java.time.ZonedDateTime;
 import java.util.Collection;
+import java.util.Set;
 
+import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
@@ -13,9 +16,14 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.server.ResponseStatusException;
 
 import asia.fourtitude.interviewq.jumble.core.JumbleEngine;
+import asia.fourtitude.interviewq.jumble.core.WordPage;
+import asia.fourtitude.interviewq.jumble.core.WordResults;
 import asia.fourtitude.interviewq.jumble.model.ExistsForm;
+import asia.fourtitude.interviewq.jumble.model.PatternForm;
 import asia.fourtitude.interviewq.jumble.model.PrefixForm;
 import asia.fourtitude.interviewq.jumble.model.ScrambleForm;
 import asia.fourtitude.interviewq.jumble.model.SearchForm;
@@ -27,6 +35,11 @@ public class RootController {
 
     private static final Logger LOG = LoggerFactory.getLogger(RootController.class);
 
+    /*
+     * The number of words per page of the prefix and search pages.
+     */
+    static final int PAGE_SIZE = 100;
+
     private final JumbleEngine jumbleEngine;
 
     @Autowired(required = true)
@@ -34,6 +47,40 @@ public class RootController {
         this.jumbleEngine = jumbleEngine;
     }
 
+    /*
+     * The dictionary names, for the pages to offer a choice when there are
+     * more than one.
+     */
+    @ModelAttribute("dictionaries")
+    public Set<String> dictionaries() {
+        return this.jumbleEngine.dictionaryNames();
+    }
+
+    /*
+     * The engine serving the `dictionary` chosen in the form, or null (and
+     * the field rejected) if there is no such dictionary.
+     */
+    private JumbleEngine dictionary(String dictionary, BindingResult bindingResult) {
+        JumbleEngine engine = this.jumbleEngine.dictionary(StringUtils.trimToNull(dictionary));
+        if (engine == null) {
+            bindingResult.rejectValue("dictionary", "NotFound", "dictionary not found");
+        }
+        return engine;
+    }
+
+    /*
+     * The page of `results` at `cursor`, or the first page if the cursor is
+     * malformed or expired (the dictionary was reloaded since).
+     */
+    private static WordPage page(WordResults results, String cursor) {
+        try {
+            return results.page(StringUtils.trimToNull(cursor), PAGE_SIZE);
+        } catch (IllegalArgumentException e) {
+            LOG.debug("Restart from the first page: {}", e.getMessage());
+            return results.page(null, PAGE_SIZE);
+        }
+    }
+
     @GetMapping
     public String index(Model model) {
         model.addAttribute("timeNow", ZonedDateTime.now());
@@ -81,8 +128,14 @@ public class RootController {
     }
 
     @GetMapping("palindrome")
-    public String doGetPalindrome(Model model) {
-        model.addAttribute("words", this.jumbleEngine.retrievePalindromeWords());
+    public String doGetPalindrome(
+            @RequestParam(required = false) String dictionary, Model model) {
+        JumbleEngine engine = this.jumbleEngine.dictionary(StringUtils.trimToNull(dictionary));
+        if (engine == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Dictionary not found");
+        }
+        model.addAttribute("dictionary", engine.dictionaryName());
+        model.addAttribute("words", engine.retrievePalindromeWords());
         return "palindrome";
     }
 
@@ -113,9 +166,17 @@ public class RootController {
             bindingResult.rejectValue("word", "NotBlank", "must not be blank");
             return "exists";
         }
+
+        JumbleEngine engine = dictionary(form.getDictionary(), bindingResult);
+        if (engine == null) {
+            return "exists";
+        }
         
         // Check existence with trimmed word but display original word
-        form.setExists(this.jumbleEngine.exists(trimmedWord));
+        form.setExists(engine.exists(trimmedWord));
+        if (!form.getExists()) {
+            form.setSuggestions(engine.suggestWords(trimmedWord, JumbleEngine.MAX_SUGGESTIONS));
+        }
         form.setWord(originalWord);  // Keep the original word with spaces for display
  
         return "exists";
@@ -144,19 +205,65 @@ public class RootController {
             return "prefix";
         }
 
+        JumbleEngine engine = dictionary(form.getDictionary(), bindingResult);
+        if (engine == null) {
+            return "prefix";
+        }
+
         // Store original prefix with spaces for display
         String originalPrefix = form.getPrefix();
         // Use trimmed version for searching
         String trimmedPrefix = originalPrefix.trim();
         
-        // Get matching words and set them on the form
-        Collection<String> matchingWords = this.jumbleEngine.wordsMatchingPrefix(trimmedPrefix);
+        // Get the page of matching words and set it on the form
+        WordPage page = page(engine.queryWordsMatchingPrefix(trimmedPrefix), form.getCursor());
         form.setPrefix(originalPrefix);  // Preserve original prefix with spaces
-        form.setWords(matchingWords);
+        form.setWords(page.getWords());
+        form.setOffset(page.getOffset());
+        form.setTotal(page.getTotal());
+        form.setNextCursor(page.getNextCursor());
         
         return "prefix";
     }
 
+    @GetMapping("pattern")
+    public String doGetPattern(Model model) {
+        model.addAttribute("form", new PatternForm());
+        return "pattern";
+    }
+
+    @PostMapping("pattern")
+    public String doPostPattern(
+            @ModelAttribute(name = "form") PatternForm form,
+            BindingResult bindingResult, Model model) {
+        if (form.getPattern() == null || form.getPattern().trim().isEmpty()) {
+            bindingResult.rejectValue("pattern", "NotBlank", "must not be blank");
+            return "pattern";
+        }
+
+        JumbleEngine engine = dictionary(form.getDictionary(), bindingResult);
+        if (engine == null) {
+            return "pattern";
+        }
+
+        WordResults results;
+        try {
+            results = engine.queryWordsMatchingPattern(form.getPattern(), JumbleEngine.MAX_PATTERN_COST);
+        } catch (IllegalArgumentException e) {
+            bindingResult.rejectValue("pattern", "Invalid", e.getMessage());
+            return "pattern";
+        }
+
+        // Get the page of matching words and set it on the form
+        WordPage page = page(results, form.getCursor());
+        form.setWords(page.getWords());
+        form.setOffset(page.getOffset());
+        form.setTotal(page.getTotal());
+        form.setNextCursor(page.getNextCursor());
+
+        return "pattern";
+    }
+
     @GetMapping("search")
     public String doGetSearch(Model model) {
         model.addAttribute("form", new SearchForm());
@@ -223,9 +330,17 @@ public class RootController {
             }
         }
 
-        // Get matching words and set them on the form
-        Collection<String> matchingWords = this.jumbleEngine.searchWords(startCharacter, endCharacter, length);
-        form.setWords(matchingWords);
+        JumbleEngine engine = dictionary(form.getDictionary(), bindingResult);
+        if (engine == null) {
+            return "search";
+        }
+
+        // Get the page of matching words and set it on the form
+        WordPage page = page(engine.querySearchWords(startCharacter, endCharacter, length), form.getCursor());
+        form.setWords(page.getWords());
+        form.setOffset(page.getOffset());
+        form.setTotal(page.getTotal());
+        form.setNextCursor(page.getNextCursor());
 
         return "search";
     }
@@ -253,12 +368,17 @@ public class RootController {
             return "subWords";
         }
 
+        JumbleEngine engine = dictionary(form.getDictionary(), bindingResult);
+        if (engine == null) {
+            return "subWords";
+        }
+
         // Keep original word with spaces for display, but use trimmed version for search
         String originalWord = form.getWord();
         String trimmedWord = originalWord.trim();
         
         // Generate sub words using original input word
-        Collection<String> subWords = this.jumbleEngine.generateSubWords(trimmedWord, form.getMinLength());
+        Collection<String> subWords = engine.generateSubWords(trimmedWord, form.getMinLength());
         
         // Set the original word back on the form (preserving spaces)
         form.setWord(originalWord);
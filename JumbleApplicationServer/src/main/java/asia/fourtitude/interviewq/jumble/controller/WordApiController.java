@@ -2,24 +2,35 @@ package asia.fourtitude.interviewq.jumble.controller;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.function.BiFunction;
 
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import asia.fourtitude.interviewq.jumble.core.JumbleEngine;
+import asia.fourtitude.interviewq.jumble.core.WordPage;
+import asia.fourtitude.interviewq.jumble.core.WordQuery;
+import asia.fourtitude.interviewq.jumble.core.WordResults;
+import asia.fourtitude.interviewq.jumble.model.WordQueryInput;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.headers.Header;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -31,6 +42,27 @@ public class WordApiController {
 
     private static final Logger LOG = LoggerFactory.getLogger(WordApiController.class);
 
+    /*
+     * Response header of the cursor of the next page, absent on the last
+     * page.
+     */
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    /*
+     * Response header of the number of words of all pages.
+     */
+    static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+
+    static final int DEFAULT_LIMIT = 100;
+
+    static final int MAX_LIMIT = 1000;
+
+    /*
+     * The minimum number of letters of a prefix, suffix or infix, shorter
+     * ones matching too many words to be useful.
+     */
+    static final int MIN_LETTERS = 3;
+
     private final JumbleEngine jumbleEngine;
 
     @Autowired(required = true)
@@ -40,12 +72,27 @@ public class WordApiController {
 
     @Operation(
             summary = "Auto complete based on prefix",
-            description = "Returns a list of words matching the input `prefix` (of at least 3 letters).")
+            description = "Returns a list of words matching the input `prefix` (of at least 3 letters), "
+                    + "in the named `dictionary` (or the default one). "
+                    + "Words are paged by `limit` (default " + DEFAULT_LIMIT + ", at most " + MAX_LIMIT + "): "
+                    + "the `" + NEXT_CURSOR_HEADER + "` response header, absent on the last page, "
+                    + "is the `cursor` of the next page. "
+                    + "With `top`, returns only the `top` highest ranked words instead (by the word weights of "
+                    + "the dictionary, else in dictionary order), unpaged.")
     @ApiResponses(
             value = {
                     @ApiResponse(
                             responseCode = "200",
                             description = "Success",
+                            headers = {
+                                    @Header(
+                                            name = NEXT_CURSOR_HEADER,
+                                            description = "The `cursor` of the next page, absent on the last page.",
+                                            schema = @Schema(type = "string", example = "AAAAAAAAAAFfOpHCAAAAZA")),
+                                    @Header(
+                                            name = TOTAL_COUNT_HEADER,
+                                            description = "The number of words matching the `prefix`, of all pages.",
+                                            schema = @Schema(type = "integer", example = "7")) },
                             content = @Content(
                                     mediaType = MediaType.APPLICATION_JSON_VALUE,
                                     examples = {
@@ -60,20 +107,465 @@ public class WordApiController {
                                                             "  \"awesomely\",\n" +
                                                             "  \"awesomeness\",\n" +
                                                             "  \"awestruck\"\n" +
-                                                            "]") })) })
+                                                            "]") })),
+                    @ApiResponse(
+                            responseCode = "404",
+                            description = "Dictionary not found",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = {
+                                            @ExampleObject(
+                                                    name = "Dictionary not found",
+                                                    description = "No dictionary named `dictionary`.",
+                                                    value = "[]") })),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Invalid cursor",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = {
+                                            @ExampleObject(
+                                                    name = "Invalid cursor",
+                                                    description = "The `cursor` is malformed, or expired as the dictionary was reloaded; "
+                                                            + "restart from the first page.",
+                                                    value = "[]") })) })
     @GetMapping(value = "/{prefix}", produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<Collection<String>> autoComplete(
             @Parameter(
                     description = "The prefix.",
                     required = true,
                     example = "awe")
-            @PathVariable String prefix) {
-        prefix = StringUtils.trimToEmpty(prefix);
-        if (prefix.length() < 3) {
+            @PathVariable String prefix,
+            @Parameter(
+                    description = "Optional dictionary name, the default dictionary if not given.",
+                    required = false,
+                    example = "default")
+            @RequestParam(required = false) String dictionary,
+            @Parameter(
+                    description = "Optional maximum number of words, from 1 to " + MAX_LIMIT + ".",
+                    required = false,
+                    example = "100")
+            @RequestParam(required = false) Integer limit,
+            @Parameter(
+                    description = "Optional cursor of the next page, from the `" + NEXT_CURSOR_HEADER
+                            + "` header of the previous page; the first page if not given.",
+                    required = false)
+            @RequestParam(required = false) String cursor,
+            @Parameter(
+                    description = "Optional number of highest ranked words to return, from 1 to " + MAX_LIMIT
+                            + "; `limit` and `cursor` are then ignored.",
+                    required = false,
+                    example = "5")
+            @RequestParam(required = false) Integer top) {
+        if (top != null) {
+            // the top K words, on one page
+            int k = Math.max(1, Math.min(top, MAX_LIMIT));
+            return page(dictionary, "prefix", prefix, MIN_LETTERS, k, null,
+                    (engine, value) -> engine.queryTopWordsMatchingPrefix(value, k));
+        }
+        return page(dictionary, "prefix", prefix, MIN_LETTERS, limit, cursor, JumbleEngine::queryWordsMatchingPrefix);
+    }
+
+    @Operation(
+            summary = "Words matching a suffix",
+            description = "Returns a list of words ending with the input `suffix` (of at least 3 letters), "
+                    + "in the named `dictionary` (or the default one), words of the same ending together. "
+                    + "Words are paged by `limit` and `cursor`, as the auto complete.")
+    @ApiResponses(
+            value = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Success",
+                            headers = {
+                                    @Header(
+                                            name = NEXT_CURSOR_HEADER,
+                                            description = "The `cursor` of the next page, absent on the last page.",
+                                            schema = @Schema(type = "string", example = "AAAAAAAAAAFfOpHCAAAAZA")),
+                                    @Header(
+                                            name = TOTAL_COUNT_HEADER,
+                                            description = "The number of words matching the `suffix`, of all pages.",
+                                            schema = @Schema(type = "integer", example = "6")) },
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = {
+                                            @ExampleObject(
+                                                    name = "Success",
+                                                    description = "The list of words matching the `suffix`.",
+                                                    value = "[\n" +
+                                                            "  \"where\",\n" +
+                                                            "  \"somewhere\",\n" +
+                                                            "  \"elsewhere\",\n" +
+                                                            "  \"nowhere\",\n" +
+                                                            "  \"anywhere\",\n" +
+                                                            "  \"everywhere\"\n" +
+                                                            "]") })),
+                    @ApiResponse(
+                            responseCode = "404",
+                            description = "Dictionary not found",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = {
+                                            @ExampleObject(
+                                                    name = "Dictionary not found",
+                                                    description = "No dictionary named `dictionary`.",
+                                                    value = "[]") })),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Invalid cursor",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = {
+                                            @ExampleObject(
+                                                    name = "Invalid cursor",
+                                                    description = "The `cursor` is malformed, or expired as the dictionary was reloaded; "
+                                                            + "restart from the first page.",
+                                                    value = "[]") })) })
+    @GetMapping(params = { "suffix", "!infix", "!pattern" }, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Collection<String>> matchSuffix(
+            @Parameter(
+                    description = "The suffix.",
+                    required = true,
+                    example = "where")
+            @RequestParam String suffix,
+            @Parameter(
+                    description = "Optional dictionary name, the default dictionary if not given.",
+                    required = false,
+                    example = "default")
+            @RequestParam(required = false) String dictionary,
+            @Parameter(
+                    description = "Optional maximum number of words, from 1 to " + MAX_LIMIT + ".",
+                    required = false,
+                    example = "100")
+            @RequestParam(required = false) Integer limit,
+            @Parameter(
+                    description = "Optional cursor of the next page, from the `" + NEXT_CURSOR_HEADER
+                            + "` header of the previous page; the first page if not given.",
+                    required = false)
+            @RequestParam(required = false) String cursor) {
+        return page(dictionary, "suffix", suffix, MIN_LETTERS, limit, cursor, JumbleEngine::queryWordsMatchingSuffix);
+    }
+
+    @Operation(
+            summary = "Words containing an infix",
+            description = "Returns a list of words containing the input `infix` (of at least 3 letters) anywhere, "
+                    + "in the named `dictionary` (or the default one), in dictionary order. "
+                    + "Words are paged by `limit` and `cursor`, as the auto complete.")
+    @ApiResponses(
+            value = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Success",
+                            headers = {
+                                    @Header(
+                                            name = NEXT_CURSOR_HEADER,
+                                            description = "The `cursor` of the next page, absent on the last page.",
+                                            schema = @Schema(type = "string", example = "AAAAAAAAAAFfOpHCAAAAZA")),
+                                    @Header(
+                                            name = TOTAL_COUNT_HEADER,
+                                            description = "The number of words containing the `infix`, of all pages.",
+                                            schema = @Schema(type = "integer", example = "7")) },
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = {
+                                            @ExampleObject(
+                                                    name = "Success",
+                                                    description = "The list of words containing the `infix`.",
+                                                    value = "[\n" +
+                                                            "  \"biorhythm\",\n" +
+                                                            "  \"biorhythms\",\n" +
+                                                            "  \"rhythm\",\n" +
+                                                            "  \"rhythmic\",\n" +
+                                                            "  \"rhythmical\",\n" +
+                                                            "  \"rhythmically\",\n" +
+                                                            "  \"rhythms\"\n" +
+                                                            "]") })),
+                    @ApiResponse(
+                            responseCode = "404",
+                            description = "Dictionary not found",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = {
+                                            @ExampleObject(
+                                                    name = "Dictionary not found",
+                                                    description = "No dictionary named `dictionary`.",
+                                                    value = "[]") })),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Invalid cursor",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = {
+                                            @ExampleObject(
+                                                    name = "Invalid cursor",
+                                                    description = "The `cursor` is malformed, or expired as the dictionary was reloaded; "
+                                                            + "restart from the first page.",
+                                                    value = "[]") })) })
+    @GetMapping(params = { "infix", "!suffix", "!pattern" }, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Collection<String>> matchInfix(
+            @Parameter(
+                    description = "The infix.",
+                    required = true,
+                    example = "ythm")
+            @RequestParam String infix,
+            @Parameter(
+                    description = "Optional dictionary name, the default dictionary if not given.",
+                    required = false,
+                    example = "default")
+            @RequestParam(required = false) String dictionary,
+            @Parameter(
+                    description = "Optional maximum number of words, from 1 to " + MAX_LIMIT + ".",
+                    required = false,
+                    example = "100")
+            @RequestParam(required = false) Integer limit,
+            @Parameter(
+                    description = "Optional cursor of the next page, from the `" + NEXT_CURSOR_HEADER
+                            + "` header of the previous page; the first page if not given.",
+                    required = false)
+            @RequestParam(required = false) String cursor) {
+        return page(dictionary, "infix", infix, MIN_LETTERS, limit, cursor, JumbleEngine::queryWordsContaining);
+    }
+
+    @Operation(
+            summary = "Words matching a pattern",
+            description = "Returns a list of words matching the crossword-style `pattern`, "
+                    + "in the named `dictionary` (or the default one), in dictionary order: "
+                    + "letters, `?` (or `.`) for any one letter, `*` for any letters (or none), "
+                    + "and `[aeiou]`, `[a-e]` or `[^aeiou]` for one letter of (or not of) a class. "
+                    + "The pattern must have at least one letter outside of the classes (so not `*` or `???`), "
+                    + "and visit at most " + JumbleEngine.MAX_PATTERN_COST + " words (so not `*e*`). "
+                    + "Words are paged by `limit` and `cursor`, as the auto complete.")
+    @ApiResponses(
+            value = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Success",
+                            headers = {
+                                    @Header(
+                                            name = NEXT_CURSOR_HEADER,
+                                            description = "The `cursor` of the next page, absent on the last page.",
+                                            schema = @Schema(type = "string", example = "AAAAAAAAAAFfOpHCAAAAZA")),
+                                    @Header(
+                                            name = TOTAL_COUNT_HEADER,
+                                            description = "The number of words matching the `pattern`, of all pages.",
+                                            schema = @Schema(type = "integer", example = "2")) },
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = {
+                                            @ExampleObject(
+                                                    name = "Success",
+                                                    description = "The list of words matching the `pattern`.",
+                                                    value = "[\n" +
+                                                            "  \"ample\",\n" +
+                                                            "  \"apple\"\n" +
+                                                            "]") })),
+                    @ApiResponse(
+                            responseCode = "404",
+                            description = "Dictionary not found",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = {
+                                            @ExampleObject(
+                                                    name = "Dictionary not found",
+                                                    description = "No dictionary named `dictionary`.",
+                                                    value = "[]") })),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Invalid pattern or cursor",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = {
+                                            @ExampleObject(
+                                                    name = "Invalid pattern or cursor",
+                                                    description = "The `pattern` is malformed (e.g. an unclosed `[`) "
+                                                            + "or has no letter (e.g. `*`), or matches too many "
+                                                            + "words (e.g. `*e*`), or the `cursor` is malformed "
+                                                            + "or expired.",
+                                                    value = "[]") })) })
+    @GetMapping(params = { "pattern", "!suffix", "!infix" }, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Collection<String>> matchPattern(
+            @Parameter(
+                    description = "The pattern.",
+                    required = true,
+                    example = "a?p?e")
+            @RequestParam String pattern,
+            @Parameter(
+                    description = "Optional dictionary name, the default dictionary if not given.",
+                    required = false,
+                    example = "default")
+            @RequestParam(required = false) String dictionary,
+            @Parameter(
+                    description = "Optional maximum number of words, from 1 to " + MAX_LIMIT + ".",
+                    required = false,
+                    example = "100")
+            @RequestParam(required = false) Integer limit,
+            @Parameter(
+                    description = "Optional cursor of the next page, from the `" + NEXT_CURSOR_HEADER
+                            + "` header of the previous page; the first page if not given.",
+                    required = false)
+            @RequestParam(required = false) String cursor) {
+        return page(dictionary, "pattern", pattern, 0, limit, cursor,
+                (engine, value) -> engine.queryWordsMatchingPattern(value, JumbleEngine.MAX_PATTERN_COST));
+    }
+
+    @Operation(
+            summary = "Words matching a query",
+            description = "Returns a list of words meeting all the criteria of the query (any combination of "
+                    + "`prefix`, `suffix`, `contains`, `minLength`, `maxLength`, `requiredLetters`, `excludedLetters`, "
+                    + "`startChar` and `endChar`), in the named `dictionary` (or the default one), in dictionary order. "
+                    + "The query is read from the most selective index for it, then filtered on the other criteria. "
+                    + "An empty query returns no words. "
+                    + "Words are paged by `limit` and `cursor`, as the auto complete.")
+    @ApiResponses(
+            value = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Success",
+                            headers = {
+                                    @Header(
+                                            name = NEXT_CURSOR_HEADER,
+                                            description = "The `cursor` of the next page, absent on the last page.",
+                                            schema = @Schema(type = "string", example = "AAAAAAAAAAFfOpHCAAAAZA")),
+                                    @Header(
+                                            name = TOTAL_COUNT_HEADER,
+                                            description = "The number of words matching the query, of all pages.",
+                                            schema = @Schema(type = "integer", example = "10")) },
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = {
+                                            @ExampleObject(
+                                                    name = "Success",
+                                                    description = "The list of words matching the query.",
+                                                    value = "[\n" +
+                                                            "  \"rectify\",\n" +
+                                                            "  \"renting\",\n" +
+                                                            "  \"reptile\",\n" +
+                                                            "  \"retina\",\n" +
+                                                            "  \"retinae\",\n" +
+                                                            "  \"retinal\",\n" +
+                                                            "  \"retinue\",\n" +
+                                                            "  \"retire\",\n" +
+                                                            "  \"retired\",\n" +
+                                                            "  \"retiree\"\n" +
+                                                            "]") })),
+                    @ApiResponse(
+                            responseCode = "404",
+                            description = "Dictionary not found",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = {
+                                            @ExampleObject(
+                                                    name = "Dictionary not found",
+                                                    description = "No dictionary named `dictionary`.",
+                                                    value = "[]") })),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Invalid query or cursor",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = {
+                                            @ExampleObject(
+                                                    name = "Invalid query or cursor",
+                                                    description = "A criterion is invalid (e.g. non letters, or a length "
+                                                            + "less than 1), or the `cursor` is malformed or expired.",
+                                                    value = "[]") })) })
+    @PostMapping(value = "/query", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Collection<String>> query(
+            @Parameter(
+                    description = "The query criteria, all of which the words meet.",
+                    required = true,
+                    schema = @Schema(implementation = WordQueryInput.class),
+                    example = "{\n" +
+                            "  \"prefix\": \"re\",\n" +
+                            "  \"contains\": \"ti\",\n" +
+                            "  \"maxLength\": 7,\n" +
+                            "  \"excludedLetters\": \"s\"\n" +
+                            "}")
+            @RequestBody WordQueryInput input,
+            @Parameter(
+                    description = "Optional dictionary name, the default dictionary if not given.",
+                    required = false,
+                    example = "default")
+            @RequestParam(required = false) String dictionary,
+            @Parameter(
+                    description = "Optional maximum number of words, from 1 to " + MAX_LIMIT + ".",
+                    required = false,
+                    example = "100")
+            @RequestParam(required = false) Integer limit,
+            @Parameter(
+                    description = "Optional cursor of the next page, from the `" + NEXT_CURSOR_HEADER
+                            + "` header of the previous page; the first page if not given.",
+                    required = false)
+            @RequestParam(required = false) String cursor) {
+        return page(dictionary, "query", String.valueOf(input), 0, limit, cursor,
+                (engine, value) -> engine.querySearchWords(toQuery(input)));
+    }
+
+    /*
+     * @throws IllegalArgumentException  If a criterion is invalid.
+     */
+    private static WordQuery toQuery(WordQueryInput input) {
+        return WordQuery.builder()
+                .prefix(input.getPrefix())
+                .suffix(input.getSuffix())
+                .contains(input.getContains())
+                .minLength(input.getMinLength())
+                .maxLength(input.getMaxLength())
+                .requiredLetters(input.getRequiredLetters())
+                .excludedLetters(input.getExcludedLetters())
+                .startChar(toChar("startChar", input.getStartChar()))
+                .endChar(toChar("endChar", input.getEndChar()))
+                .build();
+    }
+
+    private static Character toChar(String name, String value) {
+        value = StringUtils.trimToNull(value);
+        if (value == null) {
+            return null;
+        }
+        if (value.length() != 1) {
+            throw new IllegalArgumentException("Invalid " + name + "=[" + value + "], expect one letter");
+        }
+        return value.charAt(0);
+    }
+
+    /*
+     * The words of `query` in `dictionary` (404 if none), for the criterion
+     * `name` of `value`, trimmed: none if shorter than `minLetters`, else
+     * the page at `cursor` of at most `limit` words (clamped to 1 to
+     * MAX_LIMIT), or 400 if `value` or `cursor` is invalid.
+     */
+    private ResponseEntity<Collection<String>> page(String dictionary, String name, String value, int minLetters,
+            Integer limit, String cursor, BiFunction<JumbleEngine, String, WordResults> query) {
+        JumbleEngine engine = this.jumbleEngine.dictionary(StringUtils.trimToNull(dictionary));
+        if (engine == null) {
+            return new ResponseEntity<>(Collections.emptyList(), HttpStatus.NOT_FOUND);
+        }
+        int pageSize = limit == null ? DEFAULT_LIMIT : Math.max(1, Math.min(limit, MAX_LIMIT));
+        value = StringUtils.trimToEmpty(value);
+        if (value.length() < minLetters) {
             return new ResponseEntity<>(Collections.emptyList(), HttpStatus.OK);
         }
-        Collection<String> words = this.jumbleEngine.wordsMatchingPrefix(prefix);
-        return new ResponseEntity<>(words, HttpStatus.OK);
+        try {
+            return page(query.apply(engine, value), cursor, pageSize);
+        } catch (IllegalArgumentException e) {
+            LOG.debug("Rejected {}=[{}]: {}", name, value, e.getMessage());
+            return new ResponseEntity<>(Collections.emptyList(), HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    /*
+     * The page of `results` at `cursor`, with the paging headers.
+     *
+     * @throws IllegalArgumentException  If `cursor` is malformed or expired.
+     */
+    private static ResponseEntity<Collection<String>> page(WordResults results, String cursor, int pageSize) {
+        WordPage page = results.page(StringUtils.trimToNull(cursor), pageSize);
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(TOTAL_COUNT_HEADER, String.valueOf(page.getTotal()));
+        if (page.getNextCursor() != null) {
+            headers.set(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return new ResponseEntity<>(page.getWords(), headers, HttpStatus.OK);
     }
 
 }
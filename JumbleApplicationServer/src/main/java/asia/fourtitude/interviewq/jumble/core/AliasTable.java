@@ -0,0 +1,90 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import java.util.Random;
+
+/**
+ * Walker's alias table (Vose's construction): samples index `ix` with
+ * probability `weights[ix] / sum(weights)` in O(1), with one random
+ * column and one biased coin flip.
+ */
+final class AliasTable {
+
+    /*
+     * Column `ix` keeps itself with probability `probabilities[ix]`, and
+     * otherwise is its alias.
+     */
+    private final double[] probabilities;
+
+    private final int[] aliases;
+
+    private AliasTable(double[] probabilities, int[] aliases) {
+        this.probabilities = probabilities;
+        this.aliases = aliases;
+    }
+
+    /**
+     * @param weights  Non-negative weights, at least one positive.
+     */
+    static AliasTable build(double[] weights) {
+        int size = weights.length;
+        double sum = 0;
+        for (double weight : weights) {
+            if (weight < 0 || Double.isNaN(weight)) {
+                throw new IllegalArgumentException("Invalid weight=[" + weight + "], expect non-negative");
+            }
+            sum += weight;
+        }
+        if (size == 0 || sum <= 0) {
+            throw new IllegalArgumentException("Expect at least one positive weight");
+        }
+
+        // scaled so the average column is 1, then split into under and over full columns
+        double[] scaled = new double[size];
+        int[] small = new int[size];
+        int[] large = new int[size];
+        int smallSize = 0;
+        int largeSize = 0;
+        for (int ix = 0; ix < size; ix += 1) {
+            scaled[ix] = weights[ix] * size / sum;
+            if (scaled[ix] < 1) {
+                small[smallSize++] = ix;
+            } else {
+                large[largeSize++] = ix;
+            }
+        }
+
+        // fill each under full column with the excess of an over full one
+        double[] probabilities = new double[size];
+        int[] aliases = new int[size];
+        while (smallSize > 0 && largeSize > 0) {
+            int less = small[--smallSize];
+            int more = large[--largeSize];
+            probabilities[less] = scaled[less];
+            aliases[less] = more;
+            scaled[more] = (scaled[more] + scaled[less]) - 1;
+            if (scaled[more] < 1) {
+                small[smallSize++] = more;
+            } else {
+                large[largeSize++] = more;
+            }
+        }
+        // left overs are full, up to rounding errors
+        while (largeSize > 0) {
+            probabilities[large[--largeSize]] = 1;
+        }
+        while (smallSize > 0) {
+            probabilities[small[--smallSize]] = 1;
+        }
+        return new AliasTable(probabilities, aliases);
+    }
+
+    int size() {
+        return probabilities.length;
+    }
+
+    int sample(Random random) {
+        int ix = random.nextInt(probabilities.length);
+        return random.nextDouble() < probabilities[ix] ? ix : aliases[ix];
+    }
+
+}
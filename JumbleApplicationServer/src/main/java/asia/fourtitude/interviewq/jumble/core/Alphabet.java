@@ -0,0 +1,93 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Immutable alphabet of a word list: every distinct character of its
+ * words, mapped to a dense letter index for letter counts.
+ *
+ * 'a' to 'z' always map to 0 to 25, so the common case stays a range check
+ * and `ch - 'a'`, and counts of a-z words keep fitting the packed
+ * {@link LetterCounts}. Any other character found in the word list (e.g.
+ * accented or non Latin letters) maps to 26 onwards, by binary search.
+ */
+final class Alphabet {
+
+    static final int LATIN_SIZE = 26;
+
+    static final int NOT_FOUND = -1;
+
+    private final char[] others;
+
+    private Alphabet(char[] others) {
+        this.others = others;
+    }
+
+    static Alphabet build(WordStore words) {
+        boolean[] seen = new boolean[Character.MAX_VALUE + 1];
+        int count = 0;
+        for (int id = 0; id < words.size(); id += 1) {
+            for (int ix = 0; ix < words.length(id); ix += 1) {
+                char ch = words.charAt(id, ix);
+                if ((ch < 'a' || ch > 'z') && !seen[ch]) {
+                    seen[ch] = true;
+                    count += 1;
+                }
+            }
+        }
+        char[] others = new char[count];
+        int pos = 0;
+        for (int ch = 0; ch < seen.length; ch += 1) {
+            if (seen[ch]) {
+                others[pos++] = (char) ch;
+            }
+        }
+        return new Alphabet(others);
+    }
+
+    void write(DictionaryImage.Output out) throws IOException {
+        out.putChars(others);
+    }
+
+    static Alphabet read(DictionaryImage.Input in) {
+        return new Alphabet(in.getChars());
+    }
+
+    /**
+     * @return  The number of letter indices, at least {@link #LATIN_SIZE}.
+     */
+    int size() {
+        return LATIN_SIZE + others.length;
+    }
+
+    /**
+     * @return  The letter index of `ch`, or {@link #NOT_FOUND} if no word
+     *          has `ch`.
+     */
+    int indexOf(char ch) {
+        if (ch >= 'a' && ch <= 'z') {
+            return ch - 'a';
+        }
+        int pos = Arrays.binarySearch(others, ch);
+        return pos >= 0 ? LATIN_SIZE + pos : NOT_FOUND;
+    }
+
+    /**
+     * Counts the letters of `word` into `counts`, of {@link #size()}.
+     *
+     * @return  false if `word` has a character outside of the alphabet.
+     */
+    boolean count(CharSequence word, int[] counts) {
+        Arrays.fill(counts, 0);
+        for (int ix = 0; ix < word.length(); ix += 1) {
+            int index = indexOf(word.charAt(ix));
+            if (index == NOT_FOUND) {
+                return false;
+            }
+            counts[index] += 1;
+        }
+        return true;
+    }
+
+}
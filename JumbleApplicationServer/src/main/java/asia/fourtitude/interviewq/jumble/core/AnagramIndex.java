@@ -0,0 +1,263 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Immutable index of word ids grouped by anagram signature (the multiset
+ * of letters, e.g. "listen" and "silent" share a group).
+ *
+ * The signature hash is additive, `sum(count[letter] * key(letter))`, so
+ * adding or removing one letter updates it in O(1). This lets
+ * {@link #forEachSubAnagram} enumerate every sub multiset of the input
+ * letters depth first and look up each one, instead of scanning the
+ * dictionary. Groups are stored in an open-addressing table keyed by the
+ * hash, and each hit is verified against the letters of the group.
+ *
+ * Letters are the dense indices of the word list {@link Alphabet}: 'a' to
+ * 'z' use the fixed random {@link #KEYS}, other letters a key mixed from
+ * their index.
+ */
+final class AnagramIndex {
+
+    /**
+     * Above this number of sub multisets, enumerating them costs more than
+     * a dictionary scan.
+     */
+    static final int MAX_SUB_ANAGRAMS = 1 << 12;
+
+    private static final long[] KEYS = new long[26];
+
+    static {
+        SplittableRandom random = new SplittableRandom(0x6A756D626C65L);
+        for (int ix = 0; ix < KEYS.length; ix += 1) {
+            KEYS[ix] = random.nextLong() | 1L;
+        }
+    }
+
+    interface IdConsumer {
+        void accept(int id);
+    }
+
+    private final WordStore words;
+
+    private final Alphabet alphabet;
+
+    private final int[] ids;
+
+    private final int[] groupStarts;
+
+    private final long[] groupHashes;
+
+    private final int[] slots;
+
+    private final int mask;
+
+    private AnagramIndex(WordStore words, Alphabet alphabet, int[] ids, int[] groupStarts, long[] groupHashes,
+            int[] slots) {
+        this.words = words;
+        this.alphabet = alphabet;
+        this.ids = ids;
+        this.groupStarts = groupStarts;
+        this.groupHashes = groupHashes;
+        this.slots = slots;
+        this.mask = slots.length - 1;
+    }
+
+    private static long key(int letter) {
+        if (letter < KEYS.length) {
+            return KEYS[letter];
+        }
+        // SplitMix64 finalizer
+        long z = (letter + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return (z ^ (z >>> 31)) | 1L;
+    }
+
+    private static long hash(WordStore words, Alphabet alphabet, int id) {
+        long hash = 0;
+        for (int ix = 0; ix < words.length(id); ix += 1) {
+            char ch = words.charAt(id, ix);
+            hash += ch >= 'a' && ch <= 'z' ? KEYS[ch - 'a'] : key(alphabet.indexOf(ch));
+        }
+        return hash;
+    }
+
+    /*
+     * @return  true if both words have the same letters.
+     */
+    private static boolean sameLetters(WordStore words, int id1, int id2) {
+        if (words.length(id1) != words.length(id2)) {
+            return false;
+        }
+        char[] letters1 = words.get(id1).toCharArray();
+        char[] letters2 = words.get(id2).toCharArray();
+        Arrays.sort(letters1);
+        Arrays.sort(letters2);
+        return Arrays.equals(letters1, letters2);
+    }
+
+    private static int spread(long hash) {
+        return (int) (hash ^ (hash >>> 32));
+    }
+
+    static AnagramIndex build(WordStore words, Alphabet alphabet) {
+        int count = 0;
+        long[] hashes = new long[words.size()];
+        for (int id = 0; id < words.size(); id += 1) {
+            if (words.length(id) > 0) {
+                hashes[id] = hash(words, alphabet, id);
+                count += 1;
+            }
+        }
+        int[] ids = new int[count];
+        int pos = 0;
+        for (int id = 0; id < words.size(); id += 1) {
+            if (words.length(id) > 0) {
+                ids[pos++] = id;
+            }
+        }
+
+        // same hash are adjacent, and (stable sort) in dictionary order
+        IdSort.sort(ids, (id1, id2) -> Long.compare(hashes[id1], hashes[id2]));
+
+        // split runs of equal hash into groups of the same letters
+        // (distinct letters with equal hash are rare, so keep it simple)
+        int[] groupStarts = new int[ids.length + 1];
+        int groups = 0;
+        for (int runStart = 0; runStart < ids.length; ) {
+            int runEnd = runStart + 1;
+            while (runEnd < ids.length && hashes[ids[runEnd]] == hashes[ids[runStart]]) {
+                runEnd += 1;
+            }
+            for (int from = runStart; from < runEnd; ) {
+                groupStarts[groups++] = from;
+                int to = from + 1;
+                for (int ix = from + 1; ix < runEnd; ix += 1) {
+                    if (sameLetters(words, ids[from], ids[ix])) {
+                        // move into the current group, keeping dictionary order
+                        int id = ids[ix];
+                        System.arraycopy(ids, to, ids, to + 1, ix - to);
+                        ids[to++] = id;
+                    }
+                }
+                from = to;
+            }
+            runStart = runEnd;
+        }
+        groupStarts[groups] = ids.length;
+        groupStarts = Arrays.copyOf(groupStarts, groups + 1);
+
+        long[] groupHashes = new long[groups];
+        int capacity = Integer.highestOneBit(Math.max(2, groups) * 2 - 1) << 1;
+        int[] slots = new int[capacity];
+        for (int group = 0; group < groups; group += 1) {
+            groupHashes[group] = hashes[ids[groupStarts[group]]];
+            int slot = spread(groupHashes[group]) & (capacity - 1);
+            while (slots[slot] != 0) {
+                slot = (slot + 1) & (capacity - 1);
+            }
+            slots[slot] = group + 1;
+        }
+        return new AnagramIndex(words, alphabet, ids, groupStarts, groupHashes, slots);
+    }
+
+    void write(DictionaryImage.Output out) throws IOException {
+        out.putInts(ids);
+        out.putInts(groupStarts);
+        out.putLongs(groupHashes);
+        out.putInts(slots);
+    }
+
+    static AnagramIndex read(DictionaryImage.Input in, WordStore words, Alphabet alphabet) {
+        return new AnagramIndex(words, alphabet, in.getInts(), in.getInts(), in.getLongs(), in.getInts());
+    }
+
+    /**
+     * @param counts  The letter counts of the input word.
+     * @return  The number of sub multisets of the input letters.
+     */
+    static long countSubAnagrams(int[] counts) {
+        long total = 1;
+        for (int count : counts) {
+            total *= count + 1;
+        }
+        return total;
+    }
+
+    /**
+     * Feeds `consumer` with the id of every word whose letters are a sub
+     * multiset of `counts`, and of length >= `minLength`.
+     *
+     * @param counts     Letter counts of the input word, by {@link Alphabet}
+     *                   letter index.
+     * @param minLength  The minimum length of words, positive.
+     * @param consumer   Receives the word ids, grouped by anagram.
+     */
+    void forEachSubAnagram(int[] counts, int minLength, IdConsumer consumer) {
+        int distinct = 0;
+        int[] letters = new int[counts.length];
+        for (int ix = 0; ix < counts.length; ix += 1) {
+            if (counts[ix] > 0) {
+                letters[distinct++] = ix;
+            }
+        }
+        int total = 0;
+        for (int count : counts) {
+            total += count;
+        }
+        enumerate(counts, letters, distinct, 0, new int[counts.length], 0, total, 0L, minLength, consumer);
+    }
+
+    private void enumerate(int[] counts, int[] letters, int distinct, int depth, int[] picked,
+            int size, int remaining, long hash, int minLength, IdConsumer consumer) {
+        if (size + remaining < minLength) {
+            return;
+        }
+        if (depth == distinct) {
+            lookup(picked, size, hash, consumer);
+            return;
+        }
+        int letter = letters[depth];
+        int max = counts[letter];
+        for (int count = 0; count <= max; count += 1) {
+            picked[letter] = count;
+            enumerate(counts, letters, distinct, depth + 1, picked, size + count,
+                    remaining - max, hash + count * key(letter), minLength, consumer);
+        }
+        picked[letter] = 0;
+    }
+
+    private void lookup(int[] picked, int size, long hash, IdConsumer consumer) {
+        int slot = spread(hash) & mask;
+        int group;
+        while ((group = slots[slot]) != 0) {
+            group -= 1;
+            if (groupHashes[group] == hash && sameLetters(ids[groupStarts[group]], picked, size)) {
+                for (int pos = groupStarts[group]; pos < groupStarts[group + 1]; pos += 1) {
+                    consumer.accept(ids[pos]);
+                }
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    private boolean sameLetters(int id, int[] picked, int size) {
+        if (words.length(id) != size) {
+            return false;
+        }
+        int[] counts = picked.clone();
+        for (int ix = 0; ix < size; ix += 1) {
+            char ch = words.charAt(id, ix);
+            int letter = ch >= 'a' && ch <= 'z' ? ch - 'a' : alphabet.indexOf(ch);
+            if (letter >= counts.length || --counts[letter] < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+}
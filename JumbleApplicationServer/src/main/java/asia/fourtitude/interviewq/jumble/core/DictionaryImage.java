@@ -0,0 +1,382 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * Versioned binary image of a built {@link DictionarySnapshot}: the word
+ * arena and every index, so a new JVM can map the image and start serving
+ * without parsing and indexing the word list again.
+ *
+ * Layout (little endian):
+ * <pre>
+ *   int  MAGIC ("JMBI")
+ *   int  VERSION
+ *   long source length, in bytes
+ *   long source checksum (CRC32)
+ *   long body checksum (CRC32 of all the sections below)
+ *   words, alphabet, length index, word set, prefix index,
+ *   suffix index, search index, anagram index, letter counts,
+ *   letter bitmaps, palindromes,
+ *   int  1 if the infix index follows, else 0
+ *   infix index
+ * </pre>
+ * Each section is a sequence of arrays, written as their length followed
+ * by their elements. The image is only used when its version and source
+ * checksum both match, so a stale image is rebuilt from the word list
+ * rather than trusted; and when its body checksum matches, so a flipped
+ * bit or a truncation within an index is caught at startup rather than
+ * as an out of range id at query time.
+ */
+final class DictionaryImage {
+
+    static final int MAGIC = 0x4A4D4249;
+
+    /*
+     * Bump when the layout of any section, or the anagram hash keys, change.
+     */
+    static final int VERSION = 6;
+
+    private static final int HEADER_BYTES = 32;
+
+    private static final int BODY_CHECKSUM_POSITION = 24;
+
+    private DictionaryImage() {
+    }
+
+    /**
+     * Identifies the word list an image was compiled from.
+     */
+    static final class Source {
+
+        final long length;
+
+        final long checksum;
+
+        Source(long length, long checksum) {
+            this.length = length;
+            this.checksum = checksum;
+        }
+
+        static Source ofClasspath(String resource) {
+            try (InputStream in = DictionaryImage.class.getClassLoader().getResourceAsStream(resource)) {
+                if (in == null) {
+                    throw new IllegalArgumentException("Word list not found in classpath: " + resource);
+                }
+                CRC32 crc = new CRC32();
+                byte[] buffer = new byte[1 << 16];
+                long length = 0;
+                int read;
+                while ((read = in.read(buffer)) > 0) {
+                    crc.update(buffer, 0, read);
+                    length += read;
+                }
+                return new Source(length, crc.getValue());
+            } catch (IOException e) {
+                throw new RuntimeException("Error reading words file", e);
+            }
+        }
+
+        static Source ofFile(Path path) {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                CRC32 crc = new CRC32();
+                byte[] chunk = new byte[1 << 16];
+                long size = channel.size();
+                for (long position = 0; position < size; position += WordListLoader.MAP_WINDOW) {
+                    long length = Math.min(WordListLoader.MAP_WINDOW, size - position);
+                    ByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                    while (mapped.hasRemaining()) {
+                        int count = Math.min(chunk.length, mapped.remaining());
+                        mapped.get(chunk, 0, count);
+                        crc.update(chunk, 0, count);
+                    }
+                }
+                return new Source(size, crc.getValue());
+            } catch (IOException e) {
+                throw new RuntimeException("Error reading words file: " + path, e);
+            }
+        }
+
+        boolean matches(long otherLength, long otherChecksum) {
+            return length == otherLength && checksum == otherChecksum;
+        }
+
+    }
+
+    /**
+     * Writes `snapshot` into `image`. The image is written to a temporary
+     * file first, then moved in place, so readers never see a partial one.
+     */
+    static void write(DictionarySnapshot snapshot, Source source, Path image) {
+        Path dir = image.toAbsolutePath().getParent();
+        Path temp = null;
+        try {
+            temp = Files.createTempFile(dir, image.getFileName().toString(), ".tmp");
+            try (Output out = new Output(FileChannel.open(temp, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING))) {
+                out.putInt(MAGIC);
+                out.putInt(VERSION);
+                out.putLong(source.length);
+                out.putLong(source.checksum);
+                out.putLong(0);
+                out.startChecksum();
+                snapshot.write(out);
+                out.putLongAt(BODY_CHECKSUM_POSITION, out.checksum());
+            }
+            Files.move(temp, image, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            temp = null;
+        } catch (IOException e) {
+            throw new RuntimeException("Error writing dictionary image: " + image, e);
+        } finally {
+            if (temp != null) {
+                try {
+                    Files.deleteIfExists(temp);
+                } catch (IOException ignore) {
+                    // ignore
+                }
+            }
+        }
+    }
+
+    /**
+     * Maps `image` and reads the snapshot out of it.
+     *
+     * @return  The snapshot, or null if `image` does not exist, is of
+     *          another version, or was not compiled from `source`.
+     * @throws IllegalStateException  If the image is corrupt, e.g. its body
+     *         checksum does not match.
+     */
+    static DictionarySnapshot read(Path image, Source source) {
+        if (!Files.isRegularFile(image)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(image, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES) {
+                return null;
+            }
+            if (size > Integer.MAX_VALUE) {
+                throw new IllegalStateException("Dictionary image too large to map: " + image);
+            }
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size).order(ByteOrder.LITTLE_ENDIAN);
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION
+                    || !source.matches(buffer.getLong(), buffer.getLong())) {
+                return null;
+            }
+            long bodyChecksum = buffer.getLong();
+            CRC32 crc = new CRC32();
+            crc.update(buffer.duplicate());
+            if (crc.getValue() != bodyChecksum) {
+                throw new IllegalStateException("Corrupt dictionary image, body checksum mismatch: " + image);
+            }
+            DictionarySnapshot snapshot = DictionarySnapshot.read(new Input(buffer));
+            if (buffer.hasRemaining()) {
+                throw new IllegalStateException("Trailing bytes in dictionary image: " + image);
+            }
+            return snapshot;
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | NegativeArraySizeException e) {
+            throw new IllegalStateException("Corrupt dictionary image: " + image, e);
+        } catch (IOException e) {
+            throw new RuntimeException("Error reading dictionary image: " + image, e);
+        }
+    }
+
+    /**
+     * Buffered writer of primitive arrays into a file channel.
+     */
+    static final class Output implements Closeable {
+
+        private final FileChannel channel;
+
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 20).order(ByteOrder.LITTLE_ENDIAN);
+
+        /*
+         * The checksum of the bytes written since startChecksum(), if
+         * called.
+         */
+        private CRC32 crc;
+
+        Output(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        /**
+         * Starts the checksum of the bytes written from now on.
+         */
+        void startChecksum() throws IOException {
+            flush();
+            crc = new CRC32();
+        }
+
+        /**
+         * @return  The checksum (CRC32) of the bytes written since
+         *          {@link #startChecksum()}.
+         */
+        long checksum() throws IOException {
+            flush();
+            return crc.getValue();
+        }
+
+        /**
+         * Overwrites the `long` at `position` of the file, outside of the
+         * checksum.
+         */
+        void putLongAt(long position, long value) throws IOException {
+            flush();
+            ByteBuffer bytes = ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN);
+            bytes.putLong(value).flip();
+            while (bytes.hasRemaining()) {
+                position += channel.write(bytes, position);
+            }
+        }
+
+        void putInt(int value) throws IOException {
+            ensure(4);
+            buffer.putInt(value);
+        }
+
+        void putLong(long value) throws IOException {
+            ensure(8);
+            buffer.putLong(value);
+        }
+
+        void putBytes(byte[] values) throws IOException {
+            putInt(values.length);
+            for (int pos = 0; pos < values.length; ) {
+                ensure(1);
+                int count = Math.min(values.length - pos, buffer.remaining());
+                buffer.put(values, pos, count);
+                pos += count;
+            }
+        }
+
+        void putChars(char[] values) throws IOException {
+            putInt(values.length);
+            for (int pos = 0; pos < values.length; ) {
+                ensure(2);
+                int count = Math.min(values.length - pos, buffer.remaining() / 2);
+                buffer.asCharBuffer().put(values, pos, count);
+                buffer.position(buffer.position() + count * 2);
+                pos += count;
+            }
+        }
+
+        void putInts(int[] values) throws IOException {
+            putInt(values.length);
+            for (int pos = 0; pos < values.length; ) {
+                ensure(4);
+                int count = Math.min(values.length - pos, buffer.remaining() / 4);
+                buffer.asIntBuffer().put(values, pos, count);
+                buffer.position(buffer.position() + count * 4);
+                pos += count;
+            }
+        }
+
+        void putLongs(long[] values) throws IOException {
+            putInt(values.length);
+            for (int pos = 0; pos < values.length; ) {
+                ensure(8);
+                int count = Math.min(values.length - pos, buffer.remaining() / 8);
+                buffer.asLongBuffer().put(values, pos, count);
+                buffer.position(buffer.position() + count * 8);
+                pos += count;
+            }
+        }
+
+        private void ensure(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) {
+                flush();
+            }
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            if (crc != null) {
+                crc.update(buffer.duplicate());
+            }
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                flush();
+                channel.force(false);
+            } finally {
+                channel.close();
+            }
+        }
+
+    }
+
+    /**
+     * Reader of primitive arrays out of a mapped image. Arrays are bulk
+     * copied out of the mapping.
+     */
+    static final class Input {
+
+        private final ByteBuffer buffer;
+
+        Input(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        int getInt() {
+            return buffer.getInt();
+        }
+
+        long getLong() {
+            return buffer.getLong();
+        }
+
+        byte[] getBytes() {
+            byte[] values = new byte[getLength(1)];
+            buffer.get(values);
+            return values;
+        }
+
+        char[] getChars() {
+            char[] values = new char[getLength(2)];
+            buffer.asCharBuffer().get(values);
+            buffer.position(buffer.position() + values.length * 2);
+            return values;
+        }
+
+        int[] getInts() {
+            int[] values = new int[getLength(4)];
+            buffer.asIntBuffer().get(values);
+            buffer.position(buffer.position() + values.length * 4);
+            return values;
+        }
+
+        long[] getLongs() {
+            long[] values = new long[getLength(8)];
+            buffer.asLongBuffer().get(values);
+            buffer.position(buffer.position() + values.length * 8);
+            return values;
+        }
+
+        private int getLength(int elementBytes) {
+            int length = buffer.getInt();
+            if (length < 0 || (long) length * elementBytes > buffer.remaining()) {
+                throw new IllegalStateException("Corrupt dictionary image: array of " + length + " elements");
+            }
+            return length;
+        }
+
+    }
+
+}
@@ -0,0 +1,446 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Immutable snapshot of the word list/dictionary and all its indices.
+ *
+ * A snapshot is fully built before it is handed to {@link JumbleEngine},
+ * and never changes afterwards, so it can be read by any number of threads
+ * without locking. Engine methods read the snapshot reference once per
+ * call, so each call works against one consistent dictionary.
+ *
+ * Each snapshot gets a distinct, increasing {@link #version}, so a
+ * reloaded dictionary can be told apart from the one it replaced.
+ */
+final class DictionarySnapshot {
+
+    private static final AtomicLong VERSIONS = new AtomicLong();
+
+    final long version = VERSIONS.incrementAndGet();
+
+    final WordStore words;
+
+    final Alphabet alphabet;
+
+    final LengthIndex lengthIndex;
+
+    final WordHashSet wordSet;
+
+    final PrefixIndex prefixIndex;
+
+    final SuffixIndex suffixIndex;
+
+    final SearchIndex searchIndex;
+
+    final AnagramIndex anagramIndex;
+
+    final LetterCounts letterCounts;
+
+    final LetterBitmaps letterBitmaps;
+
+    final List<String> palindromes;
+
+    private final int[] palindromeIds;
+
+    /*
+     * The word weights of the ranked queries, or null if the dictionary
+     * has none.
+     */
+    final RankIndex rankIndex;
+
+    /*
+     * The suffix array of the infix queries, or null if not enabled.
+     */
+    final InfixIndex infixIndex;
+
+    /*
+     * Game catalogs by GameCatalog.key(), built in the background. Only of
+     * the game sizes of the dictionary source, so at most a few.
+     */
+    private final Map<Long, CompletableFuture<GameCatalog>> gameCatalogs = new ConcurrentHashMap<>();
+
+    /*
+     * Word ids of the searches by (first letter, last letter, length),
+     * merged and sorted once, then shared by every page of the search. At
+     * most 27 x 27 x (maxLength + 2) searches, and each word is in at most
+     * 8 of them (any or its own first letter, last letter, length).
+     */
+    private final Map<Long, int[]> searchIds = new ConcurrentHashMap<>();
+
+    /*
+     * Word ids of the latest patterns searched, by pattern, so the next
+     * pages of a pattern do not walk the trie again. Least recently used
+     * first out, beyond twice the dictionary size in ids (and guarded by
+     * itself).
+     */
+    private final Map<String, int[]> patternIds = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long patternIdsSize;
+
+    private DictionarySnapshot(WordStore words, Alphabet alphabet, LengthIndex lengthIndex, WordHashSet wordSet,
+            PrefixIndex prefixIndex, SuffixIndex suffixIndex, SearchIndex searchIndex, AnagramIndex anagramIndex,
+            LetterCounts letterCounts, LetterBitmaps letterBitmaps, int[] palindromeIds) {
+        this.words = words;
+        this.alphabet = alphabet;
+        this.lengthIndex = lengthIndex;
+        this.wordSet = wordSet;
+        this.prefixIndex = prefixIndex;
+        this.suffixIndex = suffixIndex;
+        this.searchIndex = searchIndex;
+        this.anagramIndex = anagramIndex;
+        this.letterCounts = letterCounts;
+        this.letterBitmaps = letterBitmaps;
+        this.palindromeIds = palindromeIds;
+        List<String> palindromes = new ArrayList<>(palindromeIds.length);
+        for (int id : palindromeIds) {
+            palindromes.add(words.get(id));
+        }
+        this.palindromes = Collections.unmodifiableList(palindromes);
+        this.rankIndex = null;
+        this.infixIndex = null;
+    }
+
+    private DictionarySnapshot(DictionarySnapshot snapshot, RankIndex rankIndex, InfixIndex infixIndex) {
+        this.words = snapshot.words;
+        this.alphabet = snapshot.alphabet;
+        this.lengthIndex = snapshot.lengthIndex;
+        this.wordSet = snapshot.wordSet;
+        this.prefixIndex = snapshot.prefixIndex;
+        this.suffixIndex = snapshot.suffixIndex;
+        this.searchIndex = snapshot.searchIndex;
+        this.anagramIndex = snapshot.anagramIndex;
+        this.letterCounts = snapshot.letterCounts;
+        this.letterBitmaps = snapshot.letterBitmaps;
+        this.palindromeIds = snapshot.palindromeIds;
+        this.palindromes = snapshot.palindromes;
+        this.rankIndex = rankIndex;
+        this.infixIndex = infixIndex;
+    }
+
+    /**
+     * @param weightsFile  The word weights (see
+     *                     {@link RankIndex#readWeights(Path, WordStore, WordHashSet)}).
+     * @return  A copy of this snapshot, ranking words by the weights.
+     */
+    DictionarySnapshot withWeights(Path weightsFile) {
+        long[] weights = RankIndex.readWeights(weightsFile, words, wordSet);
+        return new DictionarySnapshot(this, RankIndex.build(prefixIndex, weights), infixIndex);
+    }
+
+    /**
+     * @return  A copy of this snapshot, with the suffix array of the infix
+     *          queries.
+     */
+    DictionarySnapshot withInfixIndex() {
+        return new DictionarySnapshot(this, rankIndex, InfixIndex.build(words));
+    }
+
+    /**
+     * @return  A copy of this snapshot, without the suffix array of the
+     *          infix queries.
+     */
+    DictionarySnapshot withoutInfixIndex() {
+        return new DictionarySnapshot(this, rankIndex, null);
+    }
+
+    /**
+     * Builds all the indices over `words`. The indices are independent, so
+     * they are built as parallel fork/join tasks (which also makes several
+     * dictionaries built at once share the cores without oversubscribing).
+     */
+    static DictionarySnapshot build(WordStore words) {
+        Alphabet alphabet = Alphabet.build(words);
+        ForkJoinTask<LengthIndex> lengthIndex = ForkJoinTask.adapt(() -> LengthIndex.build(words));
+        ForkJoinTask<WordHashSet> wordSet = ForkJoinTask.adapt(() -> WordHashSet.build(words));
+        ForkJoinTask<PrefixIndex> prefixIndex = ForkJoinTask.adapt(() -> PrefixIndex.build(words));
+        ForkJoinTask<SuffixIndex> suffixIndex = ForkJoinTask.adapt(() -> SuffixIndex.build(words));
+        ForkJoinTask<SearchIndex> searchIndex = ForkJoinTask.adapt(() -> SearchIndex.build(words));
+        ForkJoinTask<AnagramIndex> anagramIndex = ForkJoinTask.adapt(() -> AnagramIndex.build(words, alphabet));
+        ForkJoinTask<LetterCounts> letterCounts = ForkJoinTask.adapt(() -> LetterCounts.build(words));
+        ForkJoinTask<LetterBitmaps> letterBitmaps = ForkJoinTask.adapt(() -> LetterBitmaps.build(words));
+        ForkJoinTask<int[]> palindromeIds = ForkJoinTask.adapt(() -> findPalindromes(words));
+        ForkJoinTask.invokeAll(lengthIndex, wordSet, prefixIndex, suffixIndex, searchIndex, anagramIndex,
+                letterCounts, letterBitmaps, palindromeIds);
+        return new DictionarySnapshot(words, alphabet, lengthIndex.join(), wordSet.join(), prefixIndex.join(),
+                suffixIndex.join(), searchIndex.join(), anagramIndex.join(), letterCounts.join(),
+                letterBitmaps.join(), palindromeIds.join());
+    }
+
+    /**
+     * Reads a snapshot written by {@link #write}, in the same order.
+     */
+    static DictionarySnapshot read(DictionaryImage.Input in) {
+        WordStore words = WordStore.read(in);
+        Alphabet alphabet = Alphabet.read(in);
+        DictionarySnapshot snapshot = new DictionarySnapshot(words, alphabet, LengthIndex.read(in),
+                WordHashSet.read(in, words), PrefixIndex.read(in, words), SuffixIndex.read(in, words),
+                SearchIndex.read(in), AnagramIndex.read(in, words, alphabet), LetterCounts.read(in),
+                LetterBitmaps.read(in), in.getInts());
+        if (in.getInt() != 0) {
+            snapshot = new DictionarySnapshot(snapshot, null, InfixIndex.read(in, words));
+        }
+        return snapshot;
+    }
+
+    void write(DictionaryImage.Output out) throws IOException {
+        words.write(out);
+        alphabet.write(out);
+        lengthIndex.write(out);
+        wordSet.write(out);
+        prefixIndex.write(out);
+        suffixIndex.write(out);
+        searchIndex.write(out);
+        anagramIndex.write(out);
+        letterCounts.write(out);
+        letterBitmaps.write(out);
+        out.putInts(palindromeIds);
+        out.putInt(infixIndex != null ? 1 : 0);
+        if (infixIndex != null) {
+            infixIndex.write(out);
+        }
+    }
+
+    /**
+     * Reads one word per line from the classpath `resource`, and builds
+     * the snapshot. Words are trimmed and lowercased.
+     */
+    static DictionarySnapshot fromClasspath(String resource) {
+        return build(WordListLoader.fromClasspath(resource));
+    }
+
+    /**
+     * Same as {@link #fromClasspath(String)}, but from a file, which is
+     * memory-mapped.
+     */
+    static DictionarySnapshot fromFile(Path path) {
+        return build(WordListLoader.fromFile(path));
+    }
+
+    int size() {
+        return words.size();
+    }
+
+    /**
+     * @return  The game catalog of (`length`, `minLength`), shared by every
+     *          game of this snapshot. Or null while it is being built (the
+     *          first call starts building it), or if building it failed.
+     */
+    GameCatalog gameCatalog(int length, int minLength) {
+        CompletableFuture<GameCatalog> catalog = buildGameCatalog(length, minLength);
+        return catalog.isDone() && !catalog.isCompletedExceptionally() ? catalog.join() : null;
+    }
+
+    /**
+     * @return  The game catalog of (`length`, `minLength`), without
+     *          waiting for it to be built.
+     * @throws IllegalStateException  If it is being built (the first call
+     *         starts building it), or building it failed.
+     */
+    GameCatalog requireGameCatalog(int length, int minLength) {
+        if (!buildGameCatalog(length, minLength).isDone()) {
+            throw new IllegalStateException("Game catalog of length=[" + length + "], minLength=[" + minLength
+                    + "] is not ready yet");
+        }
+        return awaitGameCatalog(length, minLength);
+    }
+
+    /**
+     * @return  The game catalog of (`length`, `minLength`), waiting for it
+     *          to be built if needed.
+     * @throws IllegalStateException  If building it failed.
+     */
+    GameCatalog awaitGameCatalog(int length, int minLength) {
+        try {
+            return buildGameCatalog(length, minLength).join();
+        } catch (CompletionException e) {
+            throw new IllegalStateException("Failed to build game catalog of length=[" + length + "], minLength=["
+                    + minLength + "]", e.getCause());
+        }
+    }
+
+    /**
+     * Starts building the game catalog of (`length`, `minLength`) in the
+     * background, unless already started. Only for the game sizes of the
+     * dictionary source (see {@link DictionarySource#withGameSize(int, int)}),
+     * as catalogs are kept for the life of the snapshot.
+     */
+    CompletableFuture<GameCatalog> buildGameCatalog(int length, int minLength) {
+        return gameCatalogs.computeIfAbsent(GameCatalog.key(length, minLength),
+                key -> CompletableFuture.supplyAsync(() -> GameCatalog.build(this, length, minLength)));
+    }
+
+    /**
+     * @param start   The first letter index (0 to 25), or {@link SearchIndex#ANY}.
+     * @param end     The last letter index (0 to 25), or {@link SearchIndex#ANY}.
+     * @param length  The word length, or {@link SearchIndex#ANY}.
+     * @return  The word ids of {@link SearchIndex#search(int, int, int)},
+     *          computed by the first call only; not to be modified.
+     */
+    int[] searchIds(int start, int end, int length) {
+        if (length > lengthIndex.maxLength()) {
+            return new int[0];
+        }
+        long key = ((long) length << 32) | ((start + 1) * 27 + end + 1);
+        return searchIds.computeIfAbsent(key, k -> searchIndex.search(start, end, length));
+    }
+
+    /**
+     * @param pattern  A pattern compiled from `key`.
+     * @param key      The pattern, trimmed and lowercased.
+     * @return  The word ids of {@link WordPattern#search(DictionarySnapshot)},
+     *          computed once for the latest patterns; not to be modified.
+     */
+    int[] patternIds(WordPattern pattern, String key) {
+        synchronized (patternIds) {
+            int[] ids = patternIds.get(key);
+            if (ids != null) {
+                return ids;
+            }
+        }
+        // walked unlocked, two threads may walk the same pattern at once
+        int[] ids = pattern.search(this);
+        long budget = 2L * size();
+        synchronized (patternIds) {
+            if (patternIds.put(key, ids) == null) {
+                patternIdsSize += ids.length;
+            }
+            Iterator<int[]> eldest = patternIds.values().iterator();
+            while (patternIdsSize > budget && eldest.hasNext()) {
+                patternIdsSize -= eldest.next().length;
+                eldest.remove();
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Finds the words that can be formed with the letters of `word`
+     * (lowercase), of at least `minLength` letters, other than `word`.
+     *
+     * @return  The word ids, distinct and in word order.
+     */
+    int[] subWordIds(CharSequence word, int minLength) {
+        // Count frequency of each letter in the input word, by alphabet index
+        // ('a' to 'z' first); letters in no dictionary word cannot be used
+        int[] inputFreq = new int[alphabet.size()];
+        for (int ix = 0; ix < word.length(); ix++) {
+            char c = word.charAt(ix);
+            int letter = c >= 'a' && c <= 'z' ? c - 'a' : alphabet.indexOf(c);
+            if (letter != Alphabet.NOT_FOUND) {
+                inputFreq[letter]++;
+            }
+        }
+
+        IdList ids = new IdList();
+        if (AnagramIndex.countSubAnagrams(inputFreq) <= AnagramIndex.MAX_SUB_ANAGRAMS) {
+            // Few enough letter combinations, look each one up in the anagram index
+            anagramIndex.forEachSubAnagram(inputFreq, minLength, id -> {
+                if (!words.contentEquals(id, word)) {
+                    ids.add(id);
+                }
+            });
+        } else {
+            // Otherwise, check each dictionary word of suitable length, using the packed letter counts
+            long inputLow = LetterCounts.packLow(inputFreq);
+            long inputHigh = LetterCounts.packHigh(inputFreq);
+            int inputMask = LetterCounts.mask(inputFreq);
+            int maxLength = Math.min(word.length(), lengthIndex.maxLength());
+            for (int len = minLength; len <= maxLength; len++) {
+                for (int nth = 0; nth < lengthIndex.size(len); nth++) {
+                    int id = lengthIndex.get(len, nth);
+                    boolean canForm = letterCounts.isPackable(id)
+                            ? letterCounts.canForm(id, inputLow, inputHigh, inputMask)
+                            : canFormSlow(words.view(id), inputFreq);
+                    if (canForm && !words.contentEquals(id, word)) {
+                        ids.add(id);
+                    }
+                }
+            }
+        }
+
+        // in word order, without the duplicates of the word list
+        int[] sorted = ids.toArray();
+        IdSort.sort(sorted, words::compare);
+        int distinct = 0;
+        for (int ix = 0; ix < sorted.length; ix += 1) {
+            if (distinct == 0 || words.compare(sorted[distinct - 1], sorted[ix]) != 0) {
+                sorted[distinct++] = sorted[ix];
+            }
+        }
+        return distinct == sorted.length ? sorted : Arrays.copyOf(sorted, distinct);
+    }
+
+    private boolean canFormSlow(CharSequence dictWord, int[] inputFreq) {
+        int[] dictFreq = new int[inputFreq.length];
+        for (int ix = 0; ix < dictWord.length(); ix++) {
+            int letter = alphabet.indexOf(dictWord.charAt(ix));
+            if (letter == Alphabet.NOT_FOUND || ++dictFreq[letter] > inputFreq[letter]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /*
+     * Growable list of word ids.
+     */
+    static final class IdList {
+
+        private int[] ids = new int[16];
+
+        private int size;
+
+        void add(int id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(ids, size);
+        }
+
+    }
+
+    private static int[] findPalindromes(WordStore words) {
+        int[] palindromes = new int[16];
+        int count = 0;
+        for (int id = 0; id < words.size(); id += 1) {
+            int length = words.length(id);
+            // single letter word is not a palindrome
+            if (length <= 1) {
+                continue;
+            }
+            boolean isPalindrome = true;
+            for (int ix = 0; ix < length / 2; ix += 1) {
+                if (words.charAt(id, ix) != words.charAt(id, length - 1 - ix)) {
+                    isPalindrome = false;
+                    break;
+                }
+            }
+            if (isPalindrome) {
+                if (count == palindromes.length) {
+                    palindromes = Arrays.copyOf(palindromes, count * 2);
+                }
+                palindromes[count++] = id;
+            }
+        }
+        return Arrays.copyOf(palindromes, count);
+    }
+
+}
@@ -0,0 +1,293 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Objects;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Where a named word list/dictionary is (re)loaded from: a classpath
+ * resource or a file (one word per line, UTF-8), optionally with its
+ * precompiled image (see {@link JumbleEngine#compileImage(Path, Path)})
+ * and word weights (see {@link JumbleEngine#queryTopWordsMatchingPrefix(String, int)}),
+ * whether to build the infix index (see {@link JumbleEngine#wordsContaining(String)}),
+ * and its game sizes (see {@link #withGameSize(int, int)}).
+ */
+public final class DictionarySource {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DictionarySource.class);
+
+    private static final long[] DEFAULT_GAME_SIZES = {
+            GameCatalog.key(JumbleEngine.GAME_LENGTH, JumbleEngine.GAME_MIN_LENGTH) };
+
+    private final String name;
+
+    private final String resource;
+
+    private final Path file;
+
+    private final Path image;
+
+    private final Path weights;
+
+    private final boolean infixIndex;
+
+    /*
+     * The (length, minLength) of the game catalogs, by GameCatalog.key().
+     */
+    private final long[] gameSizes;
+
+    private DictionarySource(String name, String resource, Path file, Path image, Path weights, boolean infixIndex,
+            long[] gameSizes) {
+        this.name = Objects.requireNonNull(name, "name must not be null");
+        this.resource = resource;
+        this.file = file;
+        this.image = image;
+        this.weights = weights;
+        this.infixIndex = infixIndex;
+        this.gameSizes = gameSizes;
+    }
+
+    /**
+     * @param name      The dictionary name.
+     * @param resource  The word list, in classpath.
+     */
+    public static DictionarySource ofClasspath(String name, String resource) {
+        return new DictionarySource(name, Objects.requireNonNull(resource, "resource must not be null"), null, null, null, true,
+                DEFAULT_GAME_SIZES);
+    }
+
+    /**
+     * @param name  The dictionary name.
+     * @param file  The word list file, memory-mapped while loading.
+     */
+    public static DictionarySource ofFile(String name, Path file) {
+        return new DictionarySource(name, null, Objects.requireNonNull(file, "file must not be null"), null, null, true,
+                DEFAULT_GAME_SIZES);
+    }
+
+    /**
+     * @param image  The precompiled image of the word list, mapped instead
+     *               of loading the word list when its checksum matches.
+     * @return  A copy of this source, with `image`.
+     */
+    public DictionarySource withImage(Path image) {
+        return new DictionarySource(name, resource, file, Objects.requireNonNull(image, "image must not be null"), weights, infixIndex,
+                gameSizes);
+    }
+
+    /**
+     * @param weights  The word weights file: one word and its weight (e.g.
+     *                 a frequency count) per line, separated by white
+     *                 space or a comma.
+     * @return  A copy of this source, with `weights`.
+     */
+    public DictionarySource withWeights(Path weights) {
+        return new DictionarySource(name, resource, file, image, Objects.requireNonNull(weights, "weights must not be null"), infixIndex,
+                gameSizes);
+    }
+
+    /**
+     * @param infixIndex  Whether to build the suffix array of the infix
+     *                    queries at load (by default), at about 5 bytes per
+     *                    letter of the word list, or read it from the image
+     *                    if compiled into it; without it, infix queries
+     *                    scan every word.
+     * @return  A copy of this source, with or without the infix index.
+     */
+    public DictionarySource withInfixIndex(boolean infixIndex) {
+        return new DictionarySource(name, resource, file, image, weights, infixIndex, gameSizes);
+    }
+
+    /**
+     * Adds a game size, besides {@link JumbleEngine#GAME_LENGTH} and
+     * {@link JumbleEngine#GAME_MIN_LENGTH}. The game catalog of each game
+     * size is built in the background at load, and kept until reloaded;
+     * games of other sizes search their sub words, and have no difficulty.
+     *
+     * @param length     The length of the game words. Expects >= 3.
+     * @param minLength  The minimum length (inclusive) of their sub words.
+     *                   Expects positive integer, up to `length`.
+     * @return  A copy of this source, with the game size.
+     */
+    public DictionarySource withGameSize(int length, int minLength) {
+        if (length < 3) {
+            throw new IllegalArgumentException("Invalid length=[" + length + "], expect greater than or equals 3");
+        }
+        if (minLength <= 0 || minLength > length) {
+            throw new IllegalArgumentException("Invalid minLength=[" + minLength + "], expect 1 to length=["
+                    + length + "]");
+        }
+        if (isGameSize(length, minLength)) {
+            return this;
+        }
+        long[] sizes = Arrays.copyOf(gameSizes, gameSizes.length + 1);
+        sizes[gameSizes.length] = GameCatalog.key(length, minLength);
+        return new DictionarySource(name, resource, file, image, weights, infixIndex, sizes);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return  The word list file, or null if in classpath.
+     */
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * @return  The precompiled image file, or null if none.
+     */
+    public Path getImage() {
+        return image;
+    }
+
+    /**
+     * @return  The word weights file, or null if none.
+     */
+    public Path getWeights() {
+        return weights;
+    }
+
+    /**
+     * @return  Whether the infix index is built.
+     */
+    public boolean hasInfixIndex() {
+        return infixIndex;
+    }
+
+    /**
+     * @return  Whether games of (`length`, `minLength`) have a game
+     *          catalog.
+     */
+    public boolean isGameSize(int length, int minLength) {
+        long key = GameCatalog.key(length, minLength);
+        for (long gameSize : gameSizes) {
+            if (gameSize == key) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return  The game sizes, by {@link GameCatalog#key(int, int)}; not to
+     *          be modified.
+     */
+    long[] gameSizes() {
+        return gameSizes;
+    }
+
+    DictionarySnapshot load() {
+        DictionarySnapshot snapshot = loadWords();
+        if (weights != null) {
+            long start = System.nanoTime();
+            snapshot = snapshot.withWeights(weights);
+            LOG.info("Loaded dictionary {} weights [{}]: {} KB in {} ms", name, weights,
+                    snapshot.rankIndex.memoryBytes() / 1024, (System.nanoTime() - start) / 1_000_000);
+        }
+        if (!infixIndex && snapshot.infixIndex != null) {
+            // compiled into the image, but not wanted
+            snapshot = snapshot.withoutInfixIndex();
+        } else if (infixIndex && snapshot.infixIndex == null) {
+            long start = System.nanoTime();
+            snapshot = snapshot.withInfixIndex();
+            LOG.info("Built dictionary {} infix index: {} suffixes, {} KB in {} ms", name, snapshot.infixIndex.size(),
+                    snapshot.infixIndex.memoryBytes() / 1024, (System.nanoTime() - start) / 1_000_000);
+        }
+        return snapshot;
+    }
+
+    private DictionarySnapshot loadWords() {
+        if (image != null) {
+            DictionarySnapshot snapshot = loadImage();
+            if (snapshot != null) {
+                return snapshot;
+            }
+        }
+        long start = System.nanoTime();
+        DictionarySnapshot snapshot = file != null
+                ? DictionarySnapshot.fromFile(file)
+                : DictionarySnapshot.fromClasspath(resource);
+        LOG.info("Loaded dictionary {} [{}]: {} words in {} ms", name, file != null ? file : resource,
+                snapshot.size(), (System.nanoTime() - start) / 1_000_000);
+        return snapshot;
+    }
+
+    private DictionarySnapshot loadImage() {
+        long start = System.nanoTime();
+        DictionarySnapshot snapshot = null;
+        try {
+            snapshot = DictionaryImage.read(image, imageSource());
+        } catch (IllegalStateException e) {
+            LOG.warn("Ignored dictionary image [{}]: {}", image, e.getMessage());
+        }
+        if (snapshot == null) {
+            LOG.warn("Dictionary image [{}] is missing or stale, loading the word list", image);
+            return null;
+        }
+        if (snapshot.infixIndex != null) {
+            LOG.info("Mapped dictionary {} image [{}]: {} words, infix index of {} suffixes, {} KB in {} ms", name,
+                    image, snapshot.size(), snapshot.infixIndex.size(), snapshot.infixIndex.memoryBytes() / 1024,
+                    (System.nanoTime() - start) / 1_000_000);
+        } else {
+            LOG.info("Mapped dictionary {} image [{}]: {} words in {} ms", name, image, snapshot.size(),
+                    (System.nanoTime() - start) / 1_000_000);
+        }
+        return snapshot;
+    }
+
+    private DictionaryImage.Source imageSource() {
+        return file != null
+                ? DictionaryImage.Source.ofFile(file)
+                : DictionaryImage.Source.ofClasspath(resource);
+    }
+
+    /**
+     * Loads the word list and writes its image into `imageFile`.
+     *
+     * @return  The number of words compiled.
+     */
+    int compile(Path imageFile) {
+        DictionaryImage.Source source = imageSource();
+        // with the infix index, which sources without it drop when reading the image
+        DictionarySnapshot snapshot = new DictionarySource(name, resource, file, null, null, true, gameSizes).load();
+        DictionaryImage.write(snapshot, source, imageFile);
+        return snapshot.size();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("name=[").append(name).append(']');
+        if (resource != null) {
+            sb.append(", resource=[").append(resource).append(']');
+        }
+        if (file != null) {
+            sb.append(", file=[").append(file).append(']');
+        }
+        if (image != null) {
+            sb.append(", image=[").append(image).append(']');
+        }
+        if (weights != null) {
+            sb.append(", weights=[").append(weights).append(']');
+        }
+        if (!infixIndex) {
+            sb.append(", infixIndex=[false]");
+        }
+        if (gameSizes.length > 1) {
+            sb.append(", gameSizes=[");
+            for (int ix = 0; ix < gameSizes.length; ix += 1) {
+                sb.append(ix == 0 ? "" : ", ").append(GameCatalog.length(gameSizes[ix])).append('/')
+                        .append(GameCatalog.minLength(gameSizes[ix]));
+            }
+            sb.append(']');
+        }
+        return sb.toString();
+    }
+
+}
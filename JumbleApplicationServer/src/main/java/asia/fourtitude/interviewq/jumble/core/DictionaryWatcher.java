@@ -0,0 +1,149 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Watches the word list/dictionary files (and images and weights) of
+ * every named dictionary of an engine, and reloads a dictionary (see
+ * {@link JumbleEngine#reload()}) in a background thread when any of its
+ * files changes. Dictionaries from classpath are not watched.
+ *
+ * Changes are debounced: the reload starts once no change has been seen
+ * for `quietMillis`, so a file being copied or written in several steps
+ * is reloaded once, complete. A failed reload is logged, and the engine
+ * keeps serving its current dictionary.
+ */
+public class DictionaryWatcher implements Closeable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DictionaryWatcher.class);
+
+    private final Map<Path, List<JumbleEngine>> files = new HashMap<>();
+
+    private final long quietMillis;
+
+    private final WatchService watchService;
+
+    private final Thread thread;
+
+    /**
+     * @param engine       The engine, of the dictionaries to reload.
+     * @param quietMillis  How long without changes before reloading.
+     */
+    public DictionaryWatcher(JumbleEngine engine, long quietMillis) {
+        this.quietMillis = quietMillis;
+        for (String name : engine.dictionaryNames()) {
+            JumbleEngine dictionary = engine.dictionary(name);
+            for (Path file : Arrays.asList(dictionary.dictionarySource().getFile(),
+                    dictionary.dictionarySource().getImage(), dictionary.dictionarySource().getWeights())) {
+                if (file != null) {
+                    this.files.computeIfAbsent(file.toAbsolutePath().normalize(), key -> new ArrayList<>())
+                            .add(dictionary);
+                }
+            }
+        }
+        try {
+            this.watchService = FileSystems.getDefault().newWatchService();
+            Set<Path> dirs = new HashSet<>();
+            for (Path file : this.files.keySet()) {
+                if (dirs.add(file.getParent())) {
+                    file.getParent().register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                            StandardWatchEventKinds.ENTRY_MODIFY);
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Error watching dictionary files: " + this.files.keySet(), e);
+        }
+        this.thread = new Thread(this::run, "dictionary-watcher");
+        this.thread.setDaemon(true);
+    }
+
+    public DictionaryWatcher start() {
+        thread.start();
+        LOG.info("Watching dictionary files {}", files.keySet());
+        return this;
+    }
+
+    private void run() {
+        try {
+            while (true) {
+                // wait for a change, then until changes stop
+                Set<JumbleEngine> changed = new LinkedHashSet<>();
+                changed(watchService.take(), changed);
+                if (changed.isEmpty()) {
+                    continue;
+                }
+                WatchKey key;
+                while ((key = watchService.poll(quietMillis, TimeUnit.MILLISECONDS)) != null) {
+                    changed(key, changed);
+                }
+                for (JumbleEngine dictionary : changed) {
+                    try {
+                        dictionary.reload();
+                    } catch (RuntimeException e) {
+                        LOG.error("Failed to reload dictionary {}, keeping the current one",
+                                dictionary.dictionaryName(), e);
+                    }
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // closed
+        }
+    }
+
+    /*
+     * Adds the dictionaries of the watched files in the events of `key` to
+     * `changed` (all of them, if events were lost).
+     */
+    private void changed(WatchKey key, Set<JumbleEngine> changed) {
+        Path dir = (Path) key.watchable();
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                for (List<JumbleEngine> dictionaries : files.values()) {
+                    changed.addAll(dictionaries);
+                }
+            } else {
+                changed.addAll(files.getOrDefault(dir.resolve((Path) event.context()), Collections.emptyList()));
+            }
+        }
+        key.reset();
+    }
+
+    /**
+     * @return  true if any dictionary has a file to watch.
+     */
+    public boolean isWatching() {
+        return !files.isEmpty();
+    }
+
+    @Override
+    public void close() {
+        try {
+            watchService.close();
+        } catch (IOException ignore) {
+            // ignore
+        }
+        thread.interrupt();
+    }
+
+}
@@ -0,0 +1,30 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+/**
+ * Difficulty of a game board, by the length mix of its sub words: easy
+ * boards are mostly short sub words, hard boards mostly long ones. Boards
+ * with too few or too many sub words have no difficulty (see
+ * {@link JumbleEngine#createGameState(Integer, Integer, Difficulty)}).
+ */
+public enum Difficulty {
+
+    EASY, MEDIUM, HARD;
+
+    /**
+     * @param name  The difficulty name, case insensitive.
+     * @return  The difficulty, or null if `name` is null or blank.
+     * @throws IllegalArgumentException  If `name` is not a difficulty.
+     */
+    public static Difficulty of(String name) {
+        if (name == null || name.trim().isEmpty()) {
+            return null;
+        }
+        for (Difficulty difficulty : values()) {
+            if (difficulty.name().equalsIgnoreCase(name.trim())) {
+                return difficulty;
+            }
+        }
+        throw new IllegalArgumentException("Invalid difficulty=[" + name + "], expect easy, medium or hard");
+    }
+
+}
@@ -0,0 +1,217 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+/**
+ * Immutable catalog of every game board of one (length, minLength): each
+ * word of `length` (the base word), with the ids of its sub words of at
+ * least `minLength` letters.
+ *
+ * Boards only depend on the base word and `minLength`, so they are found
+ * once per dictionary snapshot, and a new game is a random pick into the
+ * catalog rather than a sub word search.
+ *
+ * Stored compactly, as word ids into the dictionary: the sub words of the
+ * `nth` board are `subWordIds[offsets[nth]]` to
+ * `subWordIds[offsets[nth + 1] - 1]`, distinct and in word order.
+ *
+ * Boards of {@link #MIN_SUB_WORDS} to {@link #MAX_SUB_WORDS} sub words are
+ * also ranked by difficulty: the share of their sub words longer than
+ * `minLength + 1` letters. The easiest third of them is {@link
+ * Difficulty#EASY}, the hardest third {@link Difficulty#HARD}. Within a
+ * difficulty, boards closer to {@link #TARGET_SUB_WORDS} sub words are
+ * picked more often, in O(1) with an {@link AliasTable}.
+ */
+final class GameCatalog {
+
+    static final int MIN_SUB_WORDS = 5;
+
+    static final int MAX_SUB_WORDS = 40;
+
+    static final int TARGET_SUB_WORDS = 15;
+
+    final int length;
+
+    final int minLength;
+
+    private final int[] baseIds;
+
+    private final int[] offsets;
+
+    private final int[] subWordIds;
+
+    /*
+     * The boards of each difficulty, by ordinal, with their alias table.
+     */
+    private final int[][] difficultyBoards;
+
+    private final AliasTable[] difficultyTables;
+
+    private GameCatalog(int length, int minLength, int[] baseIds, int[] offsets, int[] subWordIds,
+            int[][] difficultyBoards, AliasTable[] difficultyTables) {
+        this.length = length;
+        this.minLength = minLength;
+        this.baseIds = baseIds;
+        this.offsets = offsets;
+        this.subWordIds = subWordIds;
+        this.difficultyBoards = difficultyBoards;
+        this.difficultyTables = difficultyTables;
+    }
+
+    /**
+     * @return  The key of the catalog of (`length`, `minLength`).
+     */
+    static long key(int length, int minLength) {
+        return ((long) length << 32) | minLength;
+    }
+
+    static int length(long key) {
+        return (int) (key >>> 32);
+    }
+
+    static int minLength(long key) {
+        return (int) key;
+    }
+
+    /**
+     * Finds the sub words of every word of `length`, in parallel. Boards
+     * are in the order of {@link LengthIndex}, so a seeded pick stays the
+     * same word as when picked from the length index.
+     */
+    static GameCatalog build(DictionarySnapshot dict, int length, int minLength) {
+        int size = dict.lengthIndex.size(length);
+        int[] baseIds = new int[size];
+        for (int nth = 0; nth < size; nth += 1) {
+            baseIds[nth] = dict.lengthIndex.get(length, nth);
+        }
+        int[][] boards = IntStream.range(0, size).parallel()
+                .mapToObj(nth -> {
+                    CharSequence word = dict.words.view(baseIds[nth]);
+                    return Letters.isLetters(word) ? dict.subWordIds(word, minLength) : new int[0];
+                })
+                .toArray(int[][]::new);
+
+        int[] offsets = new int[size + 1];
+        for (int nth = 0; nth < size; nth += 1) {
+            offsets[nth + 1] = offsets[nth] + boards[nth].length;
+        }
+        int[] subWordIds = new int[offsets[size]];
+        for (int nth = 0; nth < size; nth += 1) {
+            System.arraycopy(boards[nth], 0, subWordIds, offsets[nth], boards[nth].length);
+        }
+
+        // rank the boards with a suitable number of sub words, by the share of long sub words
+        double[] scores = IntStream.range(0, size).parallel()
+                .mapToDouble(nth -> score(dict.words, minLength, subWordIds, offsets[nth], offsets[nth + 1]))
+                .toArray();
+        int[] ranked = IntStream.range(0, size).filter(nth -> scores[nth] >= 0).toArray();
+        IdSort.sort(ranked, (nth1, nth2) -> Double.compare(scores[nth1], scores[nth2]));
+
+        // split in thirds, and build their alias tables in parallel
+        Difficulty[] difficulties = Difficulty.values();
+        int[][] difficultyBoards = new int[difficulties.length][];
+        for (int ix = 0; ix < difficulties.length; ix += 1) {
+            difficultyBoards[ix] = Arrays.copyOfRange(ranked,
+                    (int) ((long) ranked.length * ix / difficulties.length),
+                    (int) ((long) ranked.length * (ix + 1) / difficulties.length));
+        }
+        AliasTable[] difficultyTables = IntStream.range(0, difficulties.length).parallel()
+                .mapToObj(ix -> aliasTable(difficultyBoards[ix], offsets))
+                .toArray(AliasTable[]::new);
+        return new GameCatalog(length, minLength, baseIds, offsets, subWordIds, difficultyBoards, difficultyTables);
+    }
+
+    /*
+     * The share of sub words longer than `minLength + 1`, of the board with
+     * `subWordIds[from, to)`. Or -1 if too few or too many sub words.
+     */
+    private static double score(WordStore words, int minLength, int[] subWordIds, int from, int to) {
+        int count = to - from;
+        if (count < MIN_SUB_WORDS || count > MAX_SUB_WORDS) {
+            return -1;
+        }
+        int longWords = 0;
+        for (int ix = from; ix < to; ix += 1) {
+            if (words.length(subWordIds[ix]) > minLength + 1) {
+                longWords += 1;
+            }
+        }
+        return (double) longWords / count;
+    }
+
+    private static AliasTable aliasTable(int[] boards, int[] offsets) {
+        if (boards.length == 0) {
+            return null;
+        }
+        double[] weights = new double[boards.length];
+        for (int ix = 0; ix < boards.length; ix += 1) {
+            int count = offsets[boards[ix] + 1] - offsets[boards[ix]];
+            weights[ix] = 1.0 / (1 + Math.abs(count - TARGET_SUB_WORDS));
+        }
+        return AliasTable.build(weights);
+    }
+
+    /**
+     * @return  The number of boards.
+     */
+    int size() {
+        return baseIds.length;
+    }
+
+    /**
+     * @return  The total number of sub words, of all boards.
+     */
+    int subWordsSize() {
+        return subWordIds.length;
+    }
+
+    /**
+     * @return  The number of boards of `difficulty`.
+     */
+    int size(Difficulty difficulty) {
+        return difficultyBoards[difficulty.ordinal()].length;
+    }
+
+    /**
+     * Picks a random board of `difficulty`, in O(1).
+     *
+     * @return  The board, or -1 if none of `difficulty`.
+     */
+    int pick(Difficulty difficulty, Random random) {
+        AliasTable table = difficultyTables[difficulty.ordinal()];
+        return table == null ? -1 : difficultyBoards[difficulty.ordinal()][table.sample(random)];
+    }
+
+    int baseId(int nth) {
+        return baseIds[nth];
+    }
+
+    int subWordCount(int nth) {
+        return offsets[nth + 1] - offsets[nth];
+    }
+
+    /**
+     * @param nth  The board.
+     * @param ix   Position within its sub words, from 0 to
+     *             `subWordCount(nth) - 1`.
+     * @return  The sub word id.
+     */
+    int subWordId(int nth, int ix) {
+        return subWordIds[offsets[nth] + ix];
+    }
+
+    /**
+     * @return  The approximate heap bytes used by the catalog.
+     */
+    long memoryBytes() {
+        long bytes = 4L * (baseIds.length + offsets.length + subWordIds.length);
+        for (int[] boards : difficultyBoards) {
+            // board, probability and alias
+            bytes += 16L * boards.length;
+        }
+        return bytes;
+    }
+
+}
@@ -0,0 +1,504 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Pools of ready-made game states, one per (dictionary, length, minLength,
+ * difficulty),
+ * so a new game is a dequeue rather than a game creation on the request
+ * thread.
+ *
+ * Each pool is a bounded lock-free ring, topped up by a background
+ * executor whenever a game is taken. When a pool is empty (e.g. a flash
+ * crowd drained it faster than it is refilled), the game is created
+ * synchronously instead. Games pooled before their dictionary was
+ * reloaded are dropped, so new games always use the current dictionary.
+ * A pool whose games cannot be created (e.g. no word of its length) is
+ * not refilled again until its dictionary is reloaded, so its games are
+ * created (and fail) on request only, with one warning per dictionary
+ * version. A pool whose games cannot be created yet (e.g. its game
+ * catalog is still being built) is refilled again by the next take.
+ *
+ * Only unseeded games are pooled, as a seeded game must be created from
+ * its seed. Games of any size are pooled, and of the sizes without a game
+ * catalog (see {@link DictionarySource#withGameSize(int, int)}) most of
+ * all, as creating them searches the dictionary. The pools taken from
+ * least recently are dropped beyond a maximum number of pools, so
+ * requests of ever new sizes do not grow the pools without bound.
+ */
+public class GamePool implements Closeable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(GamePool.class);
+
+    /**
+     * The default maximum number of pools.
+     */
+    public static final int DEFAULT_MAX_POOLS = 16;
+
+    private final int capacity;
+
+    private final int maxPools;
+
+    private final Executor executor;
+
+    /*
+     * The executor created by this pool, shut down on close; null if
+     * given.
+     */
+    private final ExecutorService ownExecutor;
+
+    /*
+     * Least recently taken from first, at most `maxPools` (and guarded by
+     * itself).
+     */
+    private final Map<Key, Pool> pools = new LinkedHashMap<>(16, 0.75f, true);
+
+    private volatile boolean closed;
+
+    /**
+     * @param capacity  The number of games kept ready per pool, rounded up
+     *                  to a power of two; 0 to create every game
+     *                  synchronously.
+     * @param threads   The number of background threads refilling pools.
+     */
+    public GamePool(int capacity, int threads) {
+        this(capacity, DEFAULT_MAX_POOLS, threads);
+    }
+
+    /**
+     * @param capacity  As {@link #GamePool(int, int)}.
+     * @param maxPools  The maximum number of pools, i.e. of (dictionary,
+     *                  length, minLength, difficulty) kept ready.
+     * @param threads   As {@link #GamePool(int, int)}.
+     */
+    public GamePool(int capacity, int maxPools, int threads) {
+        this(capacity, maxPools, newExecutor(capacity, threads), true);
+    }
+
+    /**
+     * @param capacity  As {@link #GamePool(int, int)}.
+     * @param executor  The executor refilling pools, e.g. a shared one, or
+     *                  `Runnable::run` to refill on the taking thread. It
+     *                  is not shut down on close.
+     */
+    public GamePool(int capacity, Executor executor) {
+        this(capacity, DEFAULT_MAX_POOLS, executor);
+    }
+
+    /**
+     * @param capacity  As {@link #GamePool(int, int)}.
+     * @param maxPools  As {@link #GamePool(int, int, int)}.
+     * @param executor  As {@link #GamePool(int, Executor)}.
+     */
+    public GamePool(int capacity, int maxPools, Executor executor) {
+        this(capacity, maxPools, Objects.requireNonNull(executor, "executor must not be null"), false);
+    }
+
+    private GamePool(int capacity, int maxPools, Executor executor, boolean ownExecutor) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Invalid capacity=[" + capacity + "], expect 0 or greater");
+        }
+        if (maxPools <= 0) {
+            throw new IllegalArgumentException("Invalid maxPools=[" + maxPools + "], expect positive integer");
+        }
+        this.capacity = capacity;
+        this.maxPools = maxPools;
+        this.executor = capacity == 0 ? null : executor;
+        this.ownExecutor = ownExecutor ? (ExecutorService) executor : null;
+    }
+
+    private static ExecutorService newExecutor(int capacity, int threads) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("Invalid threads=[" + threads + "], expect positive integer");
+        }
+        if (capacity <= 0) {
+            return null;
+        }
+        AtomicInteger count = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "game-pool-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Takes a ready-made game of the dictionary served by `engine`, or
+     * creates it synchronously if none is ready, and tops the pool up in
+     * the background.
+     *
+     * @see JumbleEngine#createGameState(Integer, Integer)
+     */
+    public GameState take(JumbleEngine engine, int length, int minLength) {
+        return take(engine, length, minLength, null);
+    }
+
+    /**
+     * Takes a ready-made game of `difficulty`, as
+     * {@link #take(JumbleEngine, int, int)}.
+     *
+     * @param difficulty  The difficulty, or null for any board.
+     * @see JumbleEngine#createGameState(Integer, Integer, Difficulty)
+     */
+    public GameState take(JumbleEngine engine, int length, int minLength, Difficulty difficulty) {
+        if (executor == null) {
+            return engine.createGameState(length, minLength, difficulty);
+        }
+        Pool pool = pool(engine, length, minLength, difficulty);
+        GameState state = pool.poll();
+        pool.refill();
+        if (state != null) {
+            pool.hits.increment();
+            return state;
+        }
+        pool.misses.increment();
+        return engine.createGameState(length, minLength, difficulty);
+    }
+
+    /**
+     * Starts filling the pool of (dictionary, length, minLength) in the
+     * background, ahead of its first game.
+     */
+    public void prefill(JumbleEngine engine, int length, int minLength) {
+        if (executor != null) {
+            pool(engine, length, minLength, null).refill();
+        }
+    }
+
+    /*
+     * The pool of the key, created if none, dropping the pool taken from
+     * least recently if then more than `maxPools`.
+     */
+    private Pool pool(JumbleEngine engine, int length, int minLength, Difficulty difficulty) {
+        Key key = new Key(engine, length, minLength, difficulty);
+        synchronized (pools) {
+            Pool pool = pools.get(key);
+            if (pool == null) {
+                pool = new Pool(key);
+                pools.put(key, pool);
+                if (pools.size() > maxPools) {
+                    Iterator<Pool> eldest = pools.values().iterator();
+                    eldest.next().dropped = true;
+                    eldest.remove();
+                }
+            }
+            return pool;
+        }
+    }
+
+    /**
+     * @return  The metrics of every pool, least recently taken from first.
+     */
+    public List<Stats> stats() {
+        List<Pool> all;
+        synchronized (pools) {
+            all = new ArrayList<>(pools.values());
+        }
+        List<Stats> stats = new ArrayList<>();
+        for (Pool pool : all) {
+            stats.add(pool.stats());
+        }
+        return stats;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        if (ownExecutor != null) {
+            ownExecutor.shutdownNow();
+        }
+        synchronized (pools) {
+            pools.clear();
+        }
+    }
+
+    private static final class Key {
+
+        final JumbleEngine engine;
+
+        final int length;
+
+        final int minLength;
+
+        final Difficulty difficulty;
+
+        Key(JumbleEngine engine, int length, int minLength, Difficulty difficulty) {
+            this.engine = Objects.requireNonNull(engine, "engine must not be null");
+            this.length = length;
+            this.minLength = minLength;
+            this.difficulty = difficulty;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return engine == other.engine && length == other.length && minLength == other.minLength
+                    && difficulty == other.difficulty;
+        }
+
+        @Override
+        public int hashCode() {
+            return ((System.identityHashCode(engine) * 31 + length) * 31 + minLength) * 31
+                    + Objects.hashCode(difficulty);
+        }
+
+    }
+
+    private final class Pool {
+
+        final Key key;
+
+        final RingBuffer<GameState> games;
+
+        /*
+         * Whether a refill is scheduled or running, so at most one runs per
+         * pool.
+         */
+        final AtomicBoolean refilling = new AtomicBoolean();
+
+        /*
+         * The dictionary version a refill failed on, -1 if none did.
+         */
+        volatile long failedVersion = -1;
+
+        /*
+         * Whether dropped beyond `maxPools`, so no longer refilled.
+         */
+        volatile boolean dropped;
+
+        final LongAdder hits = new LongAdder();
+
+        final LongAdder misses = new LongAdder();
+
+        final LongAdder stale = new LongAdder();
+
+        final LongAdder produced = new LongAdder();
+
+        final LongAdder producingNanos = new LongAdder();
+
+        Pool(Key key) {
+            this.key = key;
+            this.games = new RingBuffer<>(capacity);
+        }
+
+        /*
+         * The next game of the current dictionary, dropping the stale ones.
+         */
+        GameState poll() {
+            GameState state;
+            while ((state = games.poll()) != null) {
+                if (state.getDictionaryVersion() == key.engine.dictionaryVersion()) {
+                    return state;
+                }
+                stale.increment();
+            }
+            return null;
+        }
+
+        void refill() {
+            if (closed || dropped || games.size() == games.capacity() || failedVersion == key.engine.dictionaryVersion()
+                    || !refilling.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                executor.execute(this::run);
+            } catch (RejectedExecutionException e) {
+                // closed
+                refilling.set(false);
+            }
+        }
+
+        private void run() {
+            long version = key.engine.dictionaryVersion();
+            boolean failed = false;
+            try {
+                while (!closed && !dropped && games.size() < games.capacity()) {
+                    long start = System.nanoTime();
+                    GameState state = key.engine.createGameState(key.length, key.minLength, key.difficulty);
+                    producingNanos.add(System.nanoTime() - start);
+                    if (!games.offer(state)) {
+                        break;
+                    }
+                    produced.increment();
+                }
+            } catch (IllegalStateException e) {
+                failed = true;
+                LOG.debug("Deferred refill of game pool of dictionary {} version {} ({}/{} letters, difficulty {}): {}",
+                        key.engine.dictionaryName(), version, key.length, key.minLength, key.difficulty,
+                        e.getMessage());
+            } catch (RuntimeException e) {
+                failed = true;
+                failedVersion = version;
+                LOG.warn("Failed to refill game pool of dictionary {} version {} ({}/{} letters, difficulty {}), "
+                        + "not refilled until reloaded", key.engine.dictionaryName(), version, key.length,
+                        key.minLength, key.difficulty, e);
+            } finally {
+                refilling.set(false);
+            }
+            // a game taken while finishing did not schedule a refill
+            if (!failed) {
+                refill();
+            }
+        }
+
+        Stats stats() {
+            // depth first, so it does not count games not yet in `produced`
+            int depth = games.size();
+            long nanos = producingNanos.sum();
+            long count = produced.sum();
+            return new Stats(key.engine.dictionaryName(), key.length, key.minLength, key.difficulty, games.capacity(),
+                    depth, hits.sum(), misses.sum(), stale.sum(), count,
+                    nanos == 0 ? 0 : count * 1_000_000_000.0 / nanos);
+        }
+
+    }
+
+    /**
+     * Metrics of one pool, counted since it was created.
+     */
+    public static final class Stats {
+
+        private final String dictionary;
+
+        private final int length;
+
+        private final int minLength;
+
+        private final Difficulty difficulty;
+
+        private final int capacity;
+
+        private final int depth;
+
+        private final long hits;
+
+        private final long misses;
+
+        private final long stale;
+
+        private final long produced;
+
+        private final double refillRate;
+
+        Stats(String dictionary, int length, int minLength, Difficulty difficulty, int capacity, int depth,
+                long hits, long misses, long stale, long produced, double refillRate) {
+            this.dictionary = dictionary;
+            this.length = length;
+            this.minLength = minLength;
+            this.difficulty = difficulty;
+            this.capacity = capacity;
+            this.depth = depth;
+            this.hits = hits;
+            this.misses = misses;
+            this.stale = stale;
+            this.produced = produced;
+            this.refillRate = refillRate;
+        }
+
+        public String getDictionary() {
+            return dictionary;
+        }
+
+        public int getLength() {
+            return length;
+        }
+
+        public int getMinLength() {
+            return minLength;
+        }
+
+        /**
+         * @return  The difficulty of the games, or null for any board.
+         */
+        public Difficulty getDifficulty() {
+            return difficulty;
+        }
+
+        public int getCapacity() {
+            return capacity;
+        }
+
+        /**
+         * @return  The number of games ready now.
+         */
+        public int getDepth() {
+            return depth;
+        }
+
+        /**
+         * @return  The number of games taken from the pool.
+         */
+        public long getHits() {
+            return hits;
+        }
+
+        /**
+         * @return  The number of games created synchronously, as the pool
+         *          was empty.
+         */
+        public long getMisses() {
+            return misses;
+        }
+
+        /**
+         * @return  The number of pooled games dropped, as their dictionary
+         *          was reloaded.
+         */
+        public long getStale() {
+            return stale;
+        }
+
+        /**
+         * @return  The number of games created in the background.
+         */
+        public long getProduced() {
+            return produced;
+        }
+
+        /**
+         * @return  The games created per second of refill, by one thread.
+         */
+        public double getRefillRate() {
+            return refillRate;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder();
+            sb.append("dictionary=[").append(dictionary).append(']');
+            sb.append(", length=[").append(length).append(']');
+            sb.append(", minLength=[").append(minLength).append(']');
+            if (difficulty != null) {
+                sb.append(", difficulty=[").append(difficulty).append(']');
+            }
+            sb.append(", depth=[").append(depth).append('/').append(capacity).append(']');
+            sb.append(", hits=[").append(hits).append(']');
+            sb.append(", misses=[").append(misses).append(']');
+            sb.append(", stale=[").append(stale).append(']');
+            sb.append(", produced=[").append(produced).append(']');
+            sb.append(", refillRate=[").append(String.format("%.1f", refillRate)).append(']');
+            return sb.toString();
+        }
+
+    }
+
+}
@@ -15,10 +15,21 @@ public /* record */ class GameState {
 
     private final Map<String, Boolean> subWords;
 
+    /*
+     * The dictionary version the game was created with. The sub words are
+     * resolved at creation, so the game is unaffected by later reloads.
+     */
+    private final long dictionaryVersion;
+
     public GameState(String original, String scramble, Map<String, Boolean> subWords) {
+        this(original, scramble, subWords, 0L);
+    }
+
+    public GameState(String original, String scramble, Map<String, Boolean> subWords, long dictionaryVersion) {
         this.original = original;
         this.scramble = scramble;
         this.subWords = subWords;
+        this.dictionaryVersion = dictionaryVersion;
     }
 
     public String getOriginal() {
@@ -37,6 +48,10 @@ public /* record */ class GameState {
         return subWords;
     }
 
+    public long getDictionaryVersion() {
+        return dictionaryVersion;
+    }
+
     public String getScrambleAsDisplay() {
         List<String> list = new ArrayList<>();
         for (char ch : this.scramble.toCharArray()) {
@@ -79,6 +94,35 @@ public /* record */ class GameState {
         return false;
     }
 
+    /**
+     * "Did you mean": the sub words not guessed yet within edit distance 1
+     * of a wrong guess, i.e. one typo away. Not further, so that near
+     * misses give away as few answers as possible.
+     *
+     * The sub words were resolved when the game was created, so the
+     * suggestions come from the dictionary version the game was created
+     * with, whatever was reloaded since.
+     *
+     * @param word   The wrong guess.
+     * @param limit  The maximum number of suggestions.
+     * @return  The suggestions.
+     */
+    public List<String> suggestWords(String word, int limit) {
+        List<String> suggestions = new ArrayList<>();
+        if (word == null || word.isEmpty()) {
+            return suggestions;
+        }
+        for (Map.Entry<String, Boolean> entry : this.subWords.entrySet()) {
+            if (suggestions.size() >= limit) {
+                break;
+            }
+            if (entry.getValue() != Boolean.TRUE && Suggestions.distance(word, entry.getKey(), 1) == 1) {
+                suggestions.add(entry.getKey());
+            }
+        }
+        return suggestions;
+    }
+
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder();
@@ -91,6 +135,7 @@ public /* record */ class GameState {
         if (subWords != null) {
             sb.append(sb.length() == 0 ? "" : ", ").append("subWords.size=[").append(subWords.size()).append(']');
         }
+        sb.append(sb.length() == 0 ? "" : ", ").append("dictionaryVersion=[").append(dictionaryVersion).append(']');
         return sb.toString();
     }
 
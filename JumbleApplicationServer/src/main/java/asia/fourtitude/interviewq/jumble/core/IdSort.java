@@ -0,0 +1,63 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+/**
+ * Stable sort of primitive word ids with a custom order, without boxing
+ * them into `Integer`s (which matters for multi-million word lists).
+ */
+final class IdSort {
+
+    interface IdComparator {
+        int compare(int id1, int id2);
+    }
+
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+
+    private IdSort() {
+    }
+
+    /**
+     * Sorts `ids` in place (merge sort, so equal ids keep their order).
+     */
+    static void sort(int[] ids, IdComparator comparator) {
+        if (ids.length < 2) {
+            return;
+        }
+        int[] buffer = ids.clone();
+        mergeSort(buffer, ids, 0, ids.length, comparator);
+    }
+
+    /*
+     * Sorts `src[from, to)` into `dst[from, to)`; both start with the same content.
+     */
+    private static void mergeSort(int[] src, int[] dst, int from, int to, IdComparator comparator) {
+        if (to - from <= INSERTION_SORT_THRESHOLD) {
+            for (int ix = from + 1; ix < to; ix += 1) {
+                int id = dst[ix];
+                int jx = ix - 1;
+                while (jx >= from && comparator.compare(dst[jx], id) > 0) {
+                    dst[jx + 1] = dst[jx];
+                    jx -= 1;
+                }
+                dst[jx + 1] = id;
+            }
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        mergeSort(dst, src, from, mid, comparator);
+        mergeSort(dst, src, mid, to, comparator);
+        if (comparator.compare(src[mid - 1], src[mid]) <= 0) {
+            System.arraycopy(src, from, dst, from, to - from);
+            return;
+        }
+        int left = from;
+        int right = mid;
+        for (int ix = from; ix < to; ix += 1) {
+            if (right >= to || (left < mid && comparator.compare(src[left], src[right]) <= 0)) {
+                dst[ix] = src[left++];
+            } else {
+                dst[ix] = src[right++];
+            }
+        }
+    }
+
+}
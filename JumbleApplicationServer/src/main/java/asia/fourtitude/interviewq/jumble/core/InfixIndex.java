@@ -0,0 +1,292 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import java.io.IOException;
+
+/**
+ * Immutable infix (substring) index over the word list: a suffix array of
+ * the packed {@link WordStore} arena, with its LCP (longest common prefix)
+ * array.
+ *
+ * Every arena position starts a suffix, which ends at the end of its word
+ * (a word end sorts before any letter). The positions are sorted by their
+ * suffixes, so the occurrences of an infix are one contiguous range: found
+ * by a binary search for its first suffix, then extended while the LCP of
+ * neighbour suffixes is at least the infix length. An infix so frequent
+ * that finding the word of each occurrence costs more than checking every
+ * word (e.g. a single vowel) is searched by checking every word instead.
+ *
+ * The index costs 5 bytes per arena character (an `int` position and a
+ * `byte` LCP), see {@link #memoryBytes()}, so it is optional (see
+ * {@link DictionarySource#withInfixIndex(boolean)}). Sorting the suffixes
+ * is the slowest part of building a dictionary, so the index is compiled
+ * into the dictionary image, and read back rather than sorted again.
+ */
+final class InfixIndex {
+
+    /**
+     * The LCP is kept in a byte, so longer common prefixes are capped.
+     */
+    private static final int MAX_LCP = 0xFF;
+
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+
+    private final WordStore words;
+
+    /*
+     * Arena positions, sorted by their suffixes.
+     */
+    private final int[] suffixes;
+
+    /*
+     * `lcp[ix]` is the length of the common prefix of suffixes `ix - 1` and
+     * `ix`, at most MAX_LCP; `lcp[0]` is 0.
+     */
+    private final byte[] lcp;
+
+    private InfixIndex(WordStore words, int[] suffixes, byte[] lcp) {
+        this.words = words;
+        this.suffixes = suffixes;
+        this.lcp = lcp;
+    }
+
+    static InfixIndex build(WordStore words) {
+        int length = words.arenaLength();
+        int[] suffixes = new int[length];
+        // the end of the word of each position, while sorting
+        int[] ends = new int[length];
+        for (int id = 0; id < words.size(); id += 1) {
+            int end = words.start(id) + words.length(id);
+            for (int pos = words.start(id); pos < end; pos += 1) {
+                suffixes[pos] = pos;
+                ends[pos] = end;
+            }
+        }
+        sort(words, ends, suffixes, 0, length, 0);
+
+        byte[] lcp = new byte[length];
+        for (int ix = 1; ix < length; ix += 1) {
+            int pos1 = suffixes[ix - 1];
+            int pos2 = suffixes[ix];
+            int common = 0;
+            while (common < MAX_LCP && pos1 + common < ends[pos1] && pos2 + common < ends[pos2]
+                    && words.arenaCharAt(pos1 + common) == words.arenaCharAt(pos2 + common)) {
+                common += 1;
+            }
+            lcp[ix] = (byte) common;
+        }
+        return new InfixIndex(words, suffixes, lcp);
+    }
+
+    void write(DictionaryImage.Output out) throws IOException {
+        out.putInts(suffixes);
+        out.putBytes(lcp);
+    }
+
+    static InfixIndex read(DictionaryImage.Input in, WordStore words) {
+        int[] suffixes = in.getInts();
+        byte[] lcp = in.getBytes();
+        if (suffixes.length != words.arenaLength() || lcp.length != suffixes.length) {
+            throw new IllegalStateException("Corrupt dictionary image: infix index of " + suffixes.length
+                    + " suffixes, " + lcp.length + " LCPs for " + words.arenaLength() + " characters");
+        }
+        return new InfixIndex(words, suffixes, lcp);
+    }
+
+    /**
+     * @return  The number of suffixes, i.e. arena characters.
+     */
+    int size() {
+        return suffixes.length;
+    }
+
+    /**
+     * @return  The approximate heap bytes used by the suffix and LCP arrays.
+     */
+    long memoryBytes() {
+        return 4L * suffixes.length + lcp.length;
+    }
+
+    /**
+     * @param infix  The infix, not empty, in any letter case.
+     * @return  The ids of the words containing `infix`, distinct and in
+     *          id order.
+     */
+    int[] search(CharSequence infix) {
+        int lo = lowerBound(infix);
+        if (lo == suffixes.length || !startsWith(suffixes[lo], infix)) {
+            return new int[0];
+        }
+        int hi = end(lo, infix, suffixes.length);
+        // each occurrence is a binary search for its word: for a frequent
+        // infix (e.g. a single vowel), scanning the arena is cheaper
+        int log = 32 - Integer.numberOfLeadingZeros(words.size());
+        if ((long) (hi - lo) * log > suffixes.length) {
+            return words.idsContaining(Letters.fold(infix.toString()));
+        }
+
+        // one bit per word, so a word containing `infix` more than once is counted once
+        long[] found = new long[(words.size() + 63) >>> 6];
+        int count = 0;
+        for (int ix = lo; ix < hi; ix += 1) {
+            int id = words.idAtPosition(suffixes[ix]);
+            long bit = 1L << (id & 63);
+            if ((found[id >>> 6] & bit) == 0) {
+                found[id >>> 6] |= bit;
+                count += 1;
+            }
+        }
+        int[] ids = new int[count];
+        int at = 0;
+        for (int word = 0; word < found.length; word += 1) {
+            for (long bits = found[word]; bits != 0; bits &= bits - 1) {
+                ids[at++] = (word << 6) + Long.numberOfTrailingZeros(bits);
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * @param infix  The infix, not empty, in any letter case.
+     * @param max    The maximum number of occurrences to count.
+     * @return  The number of occurrences of `infix` (at least the number
+     *          of words containing it), at most `max`.
+     */
+    int occurrences(CharSequence infix, int max) {
+        int lo = lowerBound(infix);
+        if (lo == suffixes.length || max <= 0 || !startsWith(suffixes[lo], infix)) {
+            return 0;
+        }
+        return end(lo, infix, (int) Math.min(suffixes.length, (long) lo + max)) - lo;
+    }
+
+    /*
+     * One past the last suffix starting with `infix`, as suffix `lo` does,
+     * by the LCP; at most `limit`.
+     */
+    private int end(int lo, CharSequence infix, int limit) {
+        int hi = lo + 1;
+        while (hi < limit && sharesInfix(hi, infix)) {
+            hi += 1;
+        }
+        return hi;
+    }
+
+    /*
+     * Whether suffix `ix` starts with `infix`, as suffix `ix - 1` does: by
+     * their LCP, unless capped.
+     */
+    private boolean sharesInfix(int ix, CharSequence infix) {
+        int common = lcp[ix] & 0xFF;
+        return common >= infix.length() || (common == MAX_LCP && startsWith(suffixes[ix], infix));
+    }
+
+    /*
+     * The first suffix >= `infix`.
+     */
+    private int lowerBound(CharSequence infix) {
+        int lo = 0;
+        int hi = suffixes.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (compare(suffixes[mid], infix) < 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /*
+     * Compares the suffix at arena `pos` with `infix`, on the first
+     * `infix.length()` letters only.
+     */
+    private int compare(int pos, CharSequence infix) {
+        return compare(pos, words.idAtPosition(pos), infix);
+    }
+
+    /*
+     * Same as {@link #compare(int, CharSequence)}, `pos` being in word `id`.
+     */
+    private int compare(int pos, int id, CharSequence infix) {
+        int end = words.start(id) + words.length(id);
+        for (int ix = 0; ix < infix.length(); ix += 1) {
+            if (pos + ix == end) {
+                return -1;
+            }
+            int diff = words.arenaCharAt(pos + ix) - Letters.fold(infix.charAt(ix));
+            if (diff != 0) {
+                return diff;
+            }
+        }
+        return 0;
+    }
+
+    private boolean startsWith(int pos, CharSequence infix) {
+        return compare(pos, infix) == 0;
+    }
+
+    /*
+     * Multikey (three way radix) quicksort of the suffixes `[from, to)`,
+     * which share their first `depth` letters.
+     */
+    private static void sort(WordStore words, int[] ends, int[] suffixes, int from, int to, int depth) {
+        while (to - from > INSERTION_SORT_THRESHOLD) {
+            int pivot = key(words, ends, suffixes[(from + to) >>> 1], depth);
+            int lt = from;
+            int gt = to - 1;
+            int ix = from;
+            while (ix <= gt) {
+                int key = key(words, ends, suffixes[ix], depth);
+                if (key < pivot) {
+                    swap(suffixes, lt++, ix++);
+                } else if (key > pivot) {
+                    swap(suffixes, ix, gt--);
+                } else {
+                    ix += 1;
+                }
+            }
+            sort(words, ends, suffixes, from, lt, depth);
+            sort(words, ends, suffixes, gt + 1, to, depth);
+            if (pivot < 0) {
+                // all ended, i.e. equal
+                return;
+            }
+            from = lt;
+            to = gt + 1;
+            depth += 1;
+        }
+        for (int ix = from + 1; ix < to; ix += 1) {
+            int pos = suffixes[ix];
+            int jx = ix - 1;
+            while (jx >= from && compare(words, ends, suffixes[jx], pos, depth) > 0) {
+                suffixes[jx + 1] = suffixes[jx];
+                jx -= 1;
+            }
+            suffixes[jx + 1] = pos;
+        }
+    }
+
+    /*
+     * The letter `depth` places into the suffix at `pos`, or -1 past its end.
+     */
+    private static int key(WordStore words, int[] ends, int pos, int depth) {
+        return pos + depth < ends[pos] ? words.arenaCharAt(pos + depth) : -1;
+    }
+
+    private static int compare(WordStore words, int[] ends, int pos1, int pos2, int depth) {
+        for (;; depth += 1) {
+            int diff = key(words, ends, pos1, depth) - key(words, ends, pos2, depth);
+            if (diff != 0 || pos1 + depth >= ends[pos1]) {
+                return diff;
+            }
+        }
+    }
+
+    private static void swap(int[] suffixes, int ix1, int ix2) {
+        int pos = suffixes[ix1];
+        suffixes[ix1] = suffixes[ix2];
+        suffixes[ix2] = pos;
+    }
+
+}
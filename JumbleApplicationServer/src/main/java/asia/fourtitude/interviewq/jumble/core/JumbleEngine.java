@@ -1,11 +1,306 @@
 package asia.fourtitude.interviewq.jumble.core;
 
-import java.io.*;
+import java.nio.file.Path;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantLock;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The word engine, over one or more named word lists/dictionaries.
+ *
+ * Each named dictionary is served by its own engine instance (see
+ * {@link #dictionary(String)}), with its own indices; the instance created
+ * by a constructor serves the first (default) dictionary.
+ */
 public class JumbleEngine {
 
+    private static final Logger LOG = LoggerFactory.getLogger(JumbleEngine.class);
+
+    public static final String DEFAULT_DICTIONARY = "default";
+
+    /*
+     * The internal word list, in classpath.
+     */
+    public static final String DEFAULT_WORDS = "words.txt";
+
+    /*
+     * The game board created by the game controllers, a game size of every
+     * dictionary (see DictionarySource.withGameSize()).
+     */
+    public static final int GAME_LENGTH = 6;
+
+    public static final int GAME_MIN_LENGTH = 3;
+
+    /*
+     * The maximum number of "did you mean" suggestions shown by the
+     * controllers, of a word not found or a wrong guess.
+     */
+    public static final int MAX_SUGGESTIONS = 5;
+
+    /*
+     * The maximum number of words a pattern of the controllers may visit
+     * (see queryWordsMatchingPattern(String, int)), e.g. `s*` but not
+     * `*s` or `*e*`.
+     */
+    public static final int MAX_PATTERN_COST = 10_000;
+
+    /*
+     * All the named dictionaries, in order, shared by their engines.
+     */
+    private final Map<String, JumbleEngine> dictionaries;
+
+    /*
+     * Where the dictionary is (re)loaded from.
+     */
+    private final DictionarySource source;
+
+    /*
+     * The dictionary and its indices. A snapshot is never mutated; reload
+     * builds a new one and swaps the reference, so calls in flight finish
+     * on the snapshot they started with, without locking.
+     */
+    private volatile DictionarySnapshot snapshot;
+
+    private final ReentrantLock reloadLock = new ReentrantLock();
+
+    /**
+     * Creates the engine, with the internal word list/dictionary
+     * ("src/main/resources/words.txt") fully loaded and indexed.
+     */
+    public JumbleEngine() {
+        this(Collections.singletonList(DictionarySource.ofClasspath(DEFAULT_DICTIONARY, DEFAULT_WORDS)));
+    }
+
+    /**
+     * Creates the engine, with an external word list/dictionary (one word
+     * per line, UTF-8) fully loaded and indexed. The file is memory-mapped
+     * while loading.
+     *
+     * @param dictionaryFile  The word list file.
+     */
+    public JumbleEngine(Path dictionaryFile) {
+        this(Collections.singletonList(DictionarySource.ofFile(DEFAULT_DICTIONARY, dictionaryFile)));
+    }
+
+    /**
+     * Creates the engine from a precompiled dictionary image (see
+     * {@link #compileImage(Path, Path)}), which is memory-mapped and read
+     * without parsing or indexing the word list. If the image is missing,
+     * corrupt, of another format version, or its checksum does not match
+     * the word list, the word list is loaded and indexed instead.
+     *
+     * @param dictionaryFile  The word list file, or null for the internal
+     *                        word list/dictionary.
+     * @param imageFile       The dictionary image file.
+     */
+    public JumbleEngine(Path dictionaryFile, Path imageFile) {
+        this(Collections.singletonList(defaultSource(dictionaryFile).withImage(imageFile)));
+    }
+
+    /**
+     * Creates the engine over several named word lists/dictionaries, all
+     * fully loaded and indexed, in parallel. This engine serves the first
+     * one; the others are available through {@link #dictionary(String)}.
+     *
+     * @param sources  The dictionaries, at least one, with distinct names.
+     */
+    public JumbleEngine(List<DictionarySource> sources) {
+        if (sources.isEmpty()) {
+            throw new IllegalArgumentException("Expect at least one dictionary");
+        }
+        Map<String, JumbleEngine> engines = new LinkedHashMap<>();
+        this.dictionaries = Collections.unmodifiableMap(engines);
+        this.source = sources.get(0);
+
+        List<ForkJoinTask<DictionarySnapshot>> loads = new ArrayList<>();
+        for (DictionarySource dictionarySource : sources) {
+            if (engines.containsKey(dictionarySource.getName())) {
+                throw new IllegalArgumentException("Duplicate dictionary=[" + dictionarySource.getName() + "]");
+            }
+            engines.put(dictionarySource.getName(), null);
+            loads.add(ForkJoinTask.adapt(() -> load(dictionarySource)));
+        }
+        long start = System.nanoTime();
+        ForkJoinTask.invokeAll(loads);
+        if (sources.size() > 1) {
+            LOG.info("Loaded {} dictionaries in {} ms", sources.size(), (System.nanoTime() - start) / 1_000_000);
+        }
+
+        this.snapshot = loads.get(0).join();
+        engines.put(source.getName(), this);
+        for (int ix = 1; ix < sources.size(); ix += 1) {
+            engines.put(sources.get(ix).getName(), new JumbleEngine(this.dictionaries, sources.get(ix), loads.get(ix).join()));
+        }
+    }
+
+    private JumbleEngine(Map<String, JumbleEngine> dictionaries, DictionarySource source, DictionarySnapshot snapshot) {
+        this.dictionaries = dictionaries;
+        this.source = source;
+        this.snapshot = snapshot;
+    }
+
+    /*
+     * Loads the dictionary, and starts building the game catalogs of its
+     * game sizes in the background (new games search their sub words until
+     * built).
+     */
+    private static DictionarySnapshot load(DictionarySource source) {
+        DictionarySnapshot snapshot = source.load();
+        long start = System.nanoTime();
+        for (long gameSize : source.gameSizes()) {
+            int length = GameCatalog.length(gameSize);
+            int minLength = GameCatalog.minLength(gameSize);
+            snapshot.buildGameCatalog(length, minLength).whenComplete((catalog, e) -> {
+                if (e != null) {
+                    LOG.error("Failed to build game catalog of dictionary {} ({}/{} letters)", source.getName(),
+                            length, minLength, e);
+                } else {
+                    LOG.info("Built game catalog of dictionary {} ({}/{} letters): {} boards, {} sub words, {} KB in {} ms",
+                            source.getName(), length, minLength, catalog.size(), catalog.subWordsSize(),
+                            catalog.memoryBytes() / 1024, (System.nanoTime() - start) / 1_000_000);
+                }
+            });
+        }
+        return snapshot;
+    }
+
+    private static DictionarySource defaultSource(Path dictionaryFile) {
+        return dictionaryFile != null
+                ? DictionarySource.ofFile(DEFAULT_DICTIONARY, dictionaryFile)
+                : DictionarySource.ofClasspath(DEFAULT_DICTIONARY, DEFAULT_WORDS);
+    }
+
+    /**
+     * @param name  The dictionary name, or null for the default (first)
+     *              dictionary.
+     * @return  The engine serving the named dictionary, or null if none.
+     */
+    public JumbleEngine dictionary(String name) {
+        if (name == null) {
+            return this.dictionaries.values().iterator().next();
+        }
+        return this.dictionaries.get(name);
+    }
+
+    /**
+     * @return  The names of all dictionaries, default (first) one first.
+     */
+    public Set<String> dictionaryNames() {
+        return this.dictionaries.keySet();
+    }
+
+    /**
+     * @return  The name of the dictionary served by this engine.
+     */
+    public String dictionaryName() {
+        return this.source.getName();
+    }
+
+    /**
+     * @return  Where the dictionary served by this engine is loaded from.
+     */
+    public DictionarySource dictionarySource() {
+        return this.source;
+    }
+
+    /**
+     * Reloads the word list/dictionary from where it was loaded at
+     * creation (the internal word list, the word list file, or its image),
+     * then atomically swaps it in.
+     *
+     * The new dictionary is fully built before the swap. Calls in flight
+     * finish on the previous dictionary, and calls made after the swap see
+     * the new one. If loading fails, the previous dictionary stays in use.
+     * Concurrent reloads run one at a time. Other named dictionaries are
+     * not reloaded.
+     *
+     * @return  The version of the new dictionary.
+     */
+    public long reload() {
+        reloadLock.lock();
+        try {
+            return swap();
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    /**
+     * Same as {@link #reload()}, unless this dictionary is already being
+     * reloaded, in which case nothing is done (the reload in flight will
+     * swap in the latest word list anyway).
+     *
+     * @return  The version of the new dictionary, or -1 if a reload was
+     *          already in flight.
+     */
+    public long tryReload() {
+        if (!reloadLock.tryLock()) {
+            return -1;
+        }
+        try {
+            return swap();
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    private long swap() {
+        DictionarySnapshot previous = this.snapshot;
+        DictionarySnapshot next = load(this.source);
+        this.snapshot = next;
+        LOG.info("Swapped dictionary {} version {} ({} words) for version {} ({} words)", dictionaryName(),
+                previous.version, previous.size(), next.version, next.size());
+        return next.version;
+    }
+
+    /**
+     * @return  The version of the current word list/dictionary. Each load
+     *          or reload gets a distinct, increasing version.
+     */
+    public long dictionaryVersion() {
+        return this.snapshot.version;
+    }
+
+    /**
+     * @return  The number of words in the current word list/dictionary.
+     */
+    public int dictionarySize() {
+        return this.snapshot.size();
+    }
+
+    /**
+     * Waits for the game catalogs of the current dictionary, of each game
+     * size (see {@link DictionarySource#withGameSize(int, int)}), to be
+     * built.
+     *
+     * @throws IllegalStateException  If building one failed.
+     */
+    public void awaitGameCatalogs() {
+        DictionarySnapshot dict = this.snapshot;
+        for (long gameSize : this.source.gameSizes()) {
+            dict.awaitGameCatalog(GameCatalog.length(gameSize), GameCatalog.minLength(gameSize));
+        }
+    }
+
+    /**
+     * Compiles a word list into a dictionary image: the word list is
+     * loaded and indexed, and the result written to `imageFile` along with
+     * the checksum of the word list.
+     *
+     * @param dictionaryFile  The word list file, or null for the internal
+     *                        word list/dictionary.
+     * @param imageFile       The dictionary image file to (over)write.
+     * @return  The number of words compiled.
+     */
+    public static int compileImage(Path dictionaryFile, Path imageFile) {
+        Objects.requireNonNull(imageFile, "imageFile must not be null");
+        return defaultSource(dictionaryFile).compile(imageFile);
+    }
+
     /**
      * From the input `word`, produces/generates a copy which has the same
      * letters, but in different ordering.
@@ -20,13 +315,28 @@ public class JumbleEngine {
      * @return  The scrambled output/letters.
      */
     public String scramble(String word) {
+        return scramble(word, ThreadLocalRandom.current());
+    }
+
+    /**
+     * Same as {@link #scramble(String)}, but reproducible: the same `word`
+     * and `seed` always produce the same scrambled letters.
+     *
+     * @param word  The input word to scramble the letters.
+     * @param seed  The seed of the random shuffle.
+     * @return  The scrambled output/letters.
+     */
+    public String scramble(String word, long seed) {
+        return scramble(word, new Random(seed));
+    }
+
+    private String scramble(String word, Random random) {
         if (word == null || word.isEmpty()) {
             return word;
         }
         
         // Convert string to char array for manipulation
         char[] letters = word.toCharArray();
-        Random random = new Random();
         
         // Keep shuffling until we get a different arrangement
         String scrambled;
@@ -53,6 +363,9 @@ public class JumbleEngine {
      *
      * Examples: "eye", "deed", "level".
      *
+     * The palindromes are found once, when the word list is loaded. The
+     * returned collection is shared and unmodifiable.
+     *
      * Evaluation/Grading:
      * a) able to access/use resource from classpath
      * b) using inbuilt Collections
@@ -63,54 +376,7 @@ public class JumbleEngine {
      * @see https://www.google.com/search?q=palindrome+meaning
      */
     public Collection<String> retrievePalindromeWords() {
-        Collection<String> palindromes = new ArrayList<>();
-        
-        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
-                getClass().getClassLoader().getResourceAsStream("words.txt")))) {
-                
-            String line;
-            while ((line = reader.readLine()) != null) {
-                String word = line.trim().toLowerCase();
-                // Skip single letter words
-                if (word.length() <= 1) {
-                    continue;
-                }
-                
-                // Check if word is palindrome
-                boolean isPalindrome = true;
-                for (int i = 0; i < word.length() / 2; i++) {
-                    if (word.charAt(i) != word.charAt(word.length() - 1 - i)) {
-                        isPalindrome = false;
-                        break;
-                    }
-                }
-                
-                if (isPalindrome) {
-                    palindromes.add(word);
-                }
-            }
-        } catch (IOException e) {
-            throw new RuntimeException("Error reading words file", e);
-        }
-        
-        return palindromes;
-    }
-
-    private List<String> wordList = null;
-
-    private void loadWords() {
-        if (wordList == null) {
-            wordList = new ArrayList<>();
-            try (BufferedReader reader = new BufferedReader(new InputStreamReader(
-                    getClass().getClassLoader().getResourceAsStream("words.txt")))) {
-                String line;
-                while ((line = reader.readLine()) != null) {
-                    wordList.add(line.trim().toLowerCase());
-                }
-            } catch (IOException e) {
-                throw new RuntimeException("Error reading words file", e);
-            }
-        }
+        return this.snapshot.palindromes;
     }
 
     /**
@@ -126,23 +392,22 @@ public class JumbleEngine {
      *          Or null if none matching.
      */
     public String pickOneRandomWord(Integer length) {
-        loadWords();
-        
+        return pickOneRandomWord(this.snapshot, length, ThreadLocalRandom.current());
+    }
+
+    private static String pickOneRandomWord(DictionarySnapshot dict, Integer length, Random random) {
         // If no length specified, return any random word
         if (length == null) {
-            return wordList.get(new Random().nextInt(wordList.size()));
+            return dict.words.get(random.nextInt(dict.words.size()));
         }
         
-        // Filter words by length
-        List<String> matchingWords = wordList.stream()
-            .filter(word -> word.length() == length)
-            .collect(Collectors.toList());
-        
-        if (matchingWords.isEmpty()) {
+        // Pick from the pre-built bucket of words with this length
+        int size = dict.lengthIndex.size(length);
+        if (size == 0) {
             return null;
         }
         
-        return matchingWords.get(new Random().nextInt(matchingWords.size()));
+        return dict.words.get(dict.lengthIndex.get(length, random.nextInt(size)));
     }
 
     /**
@@ -162,8 +427,34 @@ public class JumbleEngine {
             return false;
         }
         
-        loadWords();
-        return wordList.contains(word.toLowerCase());
+        DictionarySnapshot dict = this.snapshot;
+        return dict.wordSet.contains(word);
+    }
+
+    /**
+     * "Did you mean": finds the words closest to a misspelt `word`, within
+     * edit (Levenshtein) distance 1 (up to 5 letters) or 2 (beyond), by
+     * walking only the prefixes within reach of `word` rather than scanning
+     * the word list, up to a fixed budget per call.
+     *
+     * @param word   The misspelt word, in any letter case.
+     * @param limit  The maximum number of suggestions.
+     * @return  The suggestions, closest first, ties in dictionary order;
+     *          `word` itself first if it exists.
+     */
+    public List<String> suggestWords(String word, int limit) {
+        if (word == null || word.trim().isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+        
+        DictionarySnapshot dict = this.snapshot;
+        word = word.trim();
+        int[] ids = Suggestions.search(dict, word, Suggestions.maxDistance(word.length()), limit);
+        List<String> words = new ArrayList<>(ids.length);
+        for (int id : ids) {
+            words.add(dict.words.get(id));
+        }
+        return words;
     }
 
     /**
@@ -183,16 +474,203 @@ public class JumbleEngine {
      * @return  The list of words matching the prefix.
      */
     public Collection<String> wordsMatchingPrefix(String prefix) {
-        if (prefix == null || prefix.trim().isEmpty() || !prefix.matches("[a-zA-Z]+")) {
-            return Collections.emptyList();
+        return queryWordsMatchingPrefix(prefix).toList(0, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Same as {@link #wordsMatchingPrefix(String)}, but lazy: the words
+     * are resolved only when (and as far as) the result is consumed.
+     *
+     * @param prefix  The prefix to match.
+     * @return  The words matching the prefix.
+     */
+    public WordResults queryWordsMatchingPrefix(String prefix) {
+        DictionarySnapshot dict = this.snapshot;
+        if (prefix == null || prefix.trim().isEmpty() || !Letters.isLetters(prefix)) {
+            return WordResults.empty(dict);
         }
         
-        loadWords();
-        String lowercasePrefix = prefix.toLowerCase();
-        
-        return wordList.stream()
-            .filter(word -> word.startsWith(lowercasePrefix))
-            .collect(Collectors.toList());
+        return WordResults.of(dict, dict.prefixIndex.prefixRange(prefix)).forQuery("prefix", prefix);
+    }
+
+    /**
+     * Finds all the words from internal word list which end with the input
+     * `suffix`.
+     * Matching is case insensitive.
+     *
+     * Invalid `suffix` (null, empty string, blank string, non letter) will
+     * return empty list.
+     *
+     * The words ending with `suffix` are one range of the suffix index (the
+     * words sorted by their reversed letters), so the cost is the length of
+     * `suffix` (times log of the dictionary size), plus the words returned.
+     *
+     * @param suffix  The suffix to match.
+     * @return  The list of words matching the suffix, in the order of
+     *          their reversed letters (so words of the same ending are
+     *          together).
+     */
+    public Collection<String> wordsMatchingSuffix(String suffix) {
+        return queryWordsMatchingSuffix(suffix).toList(0, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Same as {@link #wordsMatchingSuffix(String)}, but lazy: the words
+     * are resolved only when (and as far as) the result is consumed.
+     *
+     * @param suffix  The suffix to match.
+     * @return  The words matching the suffix.
+     */
+    public WordResults queryWordsMatchingSuffix(String suffix) {
+        DictionarySnapshot dict = this.snapshot;
+        if (suffix == null || suffix.trim().isEmpty() || !Letters.isLetters(suffix)) {
+            return WordResults.empty(dict);
+        }
+
+        return WordResults.ofSuffix(dict, dict.suffixIndex.suffixRange(suffix)).forQuery("suffix", suffix);
+    }
+
+    /**
+     * Finds all the words from internal word list which contain the input
+     * `infix`, anywhere.
+     * Matching is case insensitive.
+     *
+     * Invalid `infix` (null, empty string, blank string, non letter) will
+     * return empty list.
+     *
+     * The occurrences of `infix` are one range of the suffix array of the
+     * dictionary (see {@link DictionarySource#withInfixIndex(boolean)}), so
+     * the cost is the length of `infix` (times log of the dictionary size),
+     * plus the occurrences. Without the suffix array, every word is scanned.
+     *
+     * @param infix  The infix to match.
+     * @return  The list of words containing the infix, in dictionary order.
+     */
+    public Collection<String> wordsContaining(String infix) {
+        return queryWordsContaining(infix).toList(0, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Same as {@link #wordsContaining(String)}, but lazy: the words are
+     * resolved only when (and as far as) the result is consumed.
+     *
+     * @param infix  The infix to match.
+     * @return  The words containing the infix.
+     */
+    public WordResults queryWordsContaining(String infix) {
+        DictionarySnapshot dict = this.snapshot;
+        if (infix == null || infix.trim().isEmpty() || !Letters.isLetters(infix)) {
+            return WordResults.empty(dict);
+        }
+
+        int[] ids = dict.infixIndex != null ? dict.infixIndex.search(infix)
+                : dict.words.idsContaining(Letters.fold(infix));
+        return WordResults.of(dict, ids, ids.length).forQuery("infix", infix);
+    }
+
+    /**
+     * Ranked auto complete: finds the `k` highest weighted words which
+     * begin with the input `prefix`, by the word weights of the dictionary
+     * (see {@link DictionarySource#withWeights(Path)}). Words of the same
+     * weight, and all words of a dictionary without weights, are ranked in
+     * dictionary order.
+     *
+     * The cost is proportional to `k` (times log of the dictionary size),
+     * not to the number of words matching the prefix.
+     *
+     * @param prefix  The prefix to match.
+     * @param k       The maximum number of words, 0 or greater.
+     * @return  The (at most) `k` words matching the prefix, highest
+     *          weighted first.
+     */
+    public WordResults queryTopWordsMatchingPrefix(String prefix, int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("Invalid k=[" + k + "], expect 0 or greater");
+        }
+        DictionarySnapshot dict = this.snapshot;
+        if (prefix == null || prefix.trim().isEmpty() || !Letters.isLetters(prefix)) {
+            return WordResults.empty(dict);
+        }
+
+        long range = dict.prefixIndex.prefixRange(prefix);
+        if (dict.rankIndex == null) {
+            return WordResults.of(dict, PrefixIndex.range(PrefixIndex.lo(range),
+                    PrefixIndex.lo(range) + Math.min(k, PrefixIndex.size(range)))).forQuery("top", prefix, k);
+        }
+        int[] ids = dict.rankIndex.top(range, k);
+        return WordResults.of(dict, ids, ids.length).forQuery("top", prefix, k);
+    }
+
+    /**
+     * Finds all the words from internal word list which match the
+     * crossword-style `pattern`: letters, `?` (or `.`) for any one letter,
+     * `*` for any letters (or none), and character classes such as `[aeiou]`,
+     * `[a-e]` or `[^aeiou]` for one letter. For example `a?p?e`, `*ing` or
+     * `ca*`. Matching is case insensitive.
+     *
+     * The pattern is compiled to an automaton, walked along the prefix trie
+     * (or the suffix trie, for patterns such as `*ing`), so only the words
+     * sharing the fixed letters of the pattern are visited.
+     *
+     * Null or blank `pattern` will return empty list.
+     *
+     * @param pattern  The pattern to match.
+     * @return  The list of words matching the pattern, in dictionary order.
+     * @throws IllegalArgumentException  If `pattern` is malformed.
+     */
+    public Collection<String> wordsMatchingPattern(String pattern) {
+        return queryWordsMatchingPattern(pattern).toList(0, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Same as {@link #wordsMatchingPattern(String)}, but lazy: the words
+     * are resolved only when (and as far as) the result is consumed.
+     *
+     * @param pattern  The pattern to match.
+     * @return  The words matching the pattern.
+     * @throws IllegalArgumentException  If `pattern` is malformed.
+     */
+    public WordResults queryWordsMatchingPattern(String pattern) {
+        DictionarySnapshot dict = this.snapshot;
+        if (pattern == null || pattern.trim().isEmpty()) {
+            return WordResults.empty(dict);
+        }
+
+        // walked once per snapshot (for the latest patterns), so the next pages cost their own words only
+        String key = Letters.fold(pattern.trim());
+        int[] ids = dict.patternIds(WordPattern.compile(key), key);
+        return WordResults.of(dict, ids, ids.length).forQuery("pattern", key);
+    }
+
+    /**
+     * Same as {@link #queryWordsMatchingPattern(String)}, but only for a
+     * pattern bounded enough to serve untrusted input: with at least one
+     * letter (outside of `[]`), and visiting at most `maxCost` words, so
+     * neither `*` nor `*e*` walks the whole dictionary.
+     *
+     * @param pattern  The pattern to match.
+     * @param maxCost  The maximum number of words visited.
+     * @return  The words matching the pattern.
+     * @throws IllegalArgumentException  If `pattern` is malformed, has no
+     *         letter, or would visit more than `maxCost` words.
+     */
+    public WordResults queryWordsMatchingPattern(String pattern, int maxCost) {
+        DictionarySnapshot dict = this.snapshot;
+        if (pattern == null || pattern.trim().isEmpty()) {
+            return WordResults.empty(dict);
+        }
+
+        String key = Letters.fold(pattern.trim());
+        WordPattern compiled = WordPattern.compile(key);
+        if (!compiled.hasLetter()) {
+            throw new IllegalArgumentException("Invalid pattern=[" + pattern.trim() + "], expect at least one letter");
+        }
+        if (compiled.cost(dict) > maxCost) {
+            throw new IllegalArgumentException("Invalid pattern=[" + pattern.trim()
+                    + "], matches too many words, expect more letters at its start or end");
+        }
+        int[] ids = dict.patternIds(compiled, key);
+        return WordResults.of(dict, ids, ids.length).forQuery("pattern", key);
     }
 
     /**
@@ -220,33 +698,147 @@ public class JumbleEngine {
      * @return  The list of words matching the searching criteria.
      */
     public Collection<String> searchWords(Character startChar, Character endChar, Integer length) {
+        return querySearchWords(startChar, endChar, length).toList(0, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Same as {@link #searchWords(Character, Character, Integer)}, but
+     * lazy: the words are resolved only when (and as far as) the result is
+     * consumed.
+     *
+     * @param startChar  The first character of the word to search for.
+     * @param endChar    The last character of the word to match with.
+     * @param length     The length of the word to match.
+     * @return  The words matching the searching criteria.
+     */
+    public WordResults querySearchWords(Character startChar, Character endChar, Integer length) {
+        return searchWords(this.snapshot, startChar, endChar, length).forQuery("search", startChar, endChar, length);
+    }
+
+    private static WordResults searchWords(DictionarySnapshot dict, Character startChar, Character endChar,
+            Integer length) {
         // Validate at least one criteria is provided
         if (startChar == null && endChar == null && length == null) {
-            return Collections.emptyList();
+            return WordResults.empty(dict);
         }
         
         // Validate character inputs are letters
         if ((startChar != null && !Character.isLetter(startChar)) || 
             (endChar != null && !Character.isLetter(endChar))) {
-            return Collections.emptyList();
+            return WordResults.empty(dict);
         }
         
         // Validate length is positive
         if (length != null && length <= 0) {
-            return Collections.emptyList();
+            return WordResults.empty(dict);
         }
         
-        loadWords();
+        // Length only, the length bucket is already in dictionary order
+        if (startChar == null && endChar == null) {
+            return WordResults.ofLength(dict, length);
+        }
         
-        String startCharLower = startChar != null ? Character.toLowerCase(startChar) + "" : null;
-        String endCharLower = endChar != null ? Character.toLowerCase(endChar) + "" : null;
+        int start = startChar != null ? SearchIndex.letterIndex(startChar) : SearchIndex.ANY;
+        int end = endChar != null ? SearchIndex.letterIndex(endChar) : SearchIndex.ANY;
+        if ((startChar != null && start == SearchIndex.ANY) || (endChar != null && end == SearchIndex.ANY)) {
+            // letters outside of 'a' to 'z' are not in the search index
+            return searchWordsSlow(dict, startChar, endChar, length);
+        }
         
-        return wordList.stream()
-            .filter(word -> 
-                (startCharLower == null || word.startsWith(startCharLower)) &&
-                (endCharLower == null || word.endsWith(endCharLower)) &&
-                (length == null || word.length() == length))
-            .collect(Collectors.toList());
+        // merged once per snapshot, so the next pages cost their own words only
+        int[] ids = dict.searchIds(start, end, length != null ? length : SearchIndex.ANY);
+        return WordResults.of(dict, ids, ids.length);
+    }
+
+    /**
+     * Finds all the words from internal word list meeting all the criteria
+     * of `query`: prefix, suffix, infix, length range, required and
+     * excluded letters, first and last letters. Matching is case
+     * insensitive.
+     *
+     * The query is planned by cost: of the prefix and suffix tries, the
+     * (first letter, last letter, length) buckets, the length buckets, the
+     * infix suffix array and the letter presence bitmaps, only the one
+     * yielding the fewest candidates is read, and its candidates are
+     * filtered on the other criteria. So the cost is about the smallest
+     * candidate list, not the dictionary size.
+     *
+     * A null or empty query will return empty list.
+     *
+     * @param query  The criteria.
+     * @return  The list of words matching the criteria, in dictionary
+     *          order.
+     */
+    public Collection<String> searchWords(WordQuery query) {
+        return querySearchWords(query).toList(0, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Same as {@link #searchWords(WordQuery)}, but lazy: the words are
+     * resolved only when (and as far as) the result is consumed.
+     *
+     * @param query  The criteria.
+     * @return  The words matching the criteria.
+     */
+    public WordResults querySearchWords(WordQuery query) {
+        DictionarySnapshot dict = this.snapshot;
+        if (query == null || query.isEmpty()) {
+            return WordResults.empty(dict);
+        }
+
+        QueryPlan plan = QueryPlan.plan(dict, query);
+        int[] ids = plan.execute();
+        LOG.debug("Searched words {}: {} words by {}", query, ids.length, plan);
+        return WordResults.of(dict, ids, ids.length).forQuery("query", query);
+    }
+
+    /*
+     * Searches words by the prefix index (when `startChar` is given), the
+     * suffix index (when `endChar` is given) or the length buckets,
+     * filtering the other criteria.
+     */
+    private static WordResults searchWordsSlow(DictionarySnapshot dict, Character startChar, Character endChar,
+            Integer length) {
+        char end = endChar != null ? Letters.fold(endChar) : 0;
+        int[] ids;
+        int count = 0;
+        if (startChar != null) {
+            long range = dict.prefixIndex.prefixRange(String.valueOf(startChar));
+            ids = new int[PrefixIndex.size(range)];
+            for (int pos = PrefixIndex.lo(range); pos < PrefixIndex.hi(range); pos++) {
+                ids[count++] = dict.prefixIndex.idAt(pos);
+            }
+        } else if (endChar != null) {
+            long range = dict.suffixIndex.suffixRange(String.valueOf(endChar));
+            ids = new int[PrefixIndex.size(range)];
+            for (int pos = PrefixIndex.lo(range); pos < PrefixIndex.hi(range); pos++) {
+                ids[count++] = dict.suffixIndex.idAt(pos);
+            }
+        } else {
+            int from = length != null ? length : 1;
+            int to = length != null ? length : dict.lengthIndex.maxLength();
+            int size = 0;
+            for (int len = from; len <= to; len++) {
+                size += dict.lengthIndex.size(len);
+            }
+            ids = new int[size];
+            for (int len = from; len <= to; len++) {
+                for (int nth = 0; nth < dict.lengthIndex.size(len); nth++) {
+                    ids[count++] = dict.lengthIndex.get(len, nth);
+                }
+            }
+        }
+        int matched = 0;
+        for (int ix = 0; ix < count; ix++) {
+            int id = ids[ix];
+            if ((length == null || dict.words.length(id) == length)
+                    && (endChar == null || dict.words.lastChar(id) == end)) {
+                ids[matched++] = id;
+            }
+        }
+        // in dictionary order
+        Arrays.sort(ids, 0, matched);
+        return WordResults.of(dict, ids, matched);
     }
 
     /**
@@ -273,9 +865,25 @@ public class JumbleEngine {
      * @return  The list of sub words constructed from input `word`.
      */
     public Collection<String> generateSubWords(String word, Integer minLength) {
+        return queryGenerateSubWords(word, minLength).toList(0, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Same as {@link #generateSubWords(String, Integer)}, but lazy: the
+     * words are resolved only when (and as far as) the result is consumed.
+     *
+     * @param word       The input word to use as base/seed.
+     * @param minLength  The minimum length (inclusive) of sub words.
+     * @return  The sub words constructed from input `word`.
+     */
+    public WordResults queryGenerateSubWords(String word, Integer minLength) {
+        return generateSubWords(this.snapshot, word, minLength).forQuery("subWords", word, minLength);
+    }
+
+    private static WordResults generateSubWords(DictionarySnapshot dict, String word, Integer minLength) {
         // Handle invalid inputs
-        if (word == null || word.trim().isEmpty() || !word.matches("[a-zA-Z]+")) {
-            return Collections.emptyList();
+        if (word == null || word.trim().isEmpty() || !Letters.isLetters(word)) {
+            return WordResults.empty(dict);
         }
         
         // Set default minLength to 3 if null
@@ -285,47 +893,14 @@ public class JumbleEngine {
         
         // Return empty list if minLength is 0 or greater than word length
         if (minLength <= 0 || minLength > word.length()) {
-            return Collections.emptyList();
+            return WordResults.empty(dict);
         }
         
         // Convert word to lowercase
         word = word.toLowerCase();
         
-        loadWords();
-        Set<String> subWords = new TreeSet<>();
-        
-        // Count frequency of each letter in the input word
-        int[] inputFreq = new int[26];
-        for (char c : word.toCharArray()) {
-            inputFreq[c - 'a']++;
-        }
-        
-        // Check each dictionary word
-        for (String dictWord : wordList) {
-            if (dictWord.length() >= minLength && dictWord.length() <= word.length()) {
-                // Count frequency of each letter in the dictionary word
-                int[] dictFreq = new int[26];
-                for (char c : dictWord.toCharArray()) {
-                    dictFreq[c - 'a']++;
-                }
-                
-                // Check if dictionary word can be formed from input word letters
-                boolean canForm = true;
-                for (int i = 0; i < 26; i++) {
-                    if (dictFreq[i] > inputFreq[i]) {
-                        canForm = false;
-                        break;
-                    }
-                }
-                
-                // Add word if it can be formed and is not the same as input word
-                if (canForm && !dictWord.equals(word)) {
-                    subWords.add(dictWord);
-                }
-            }
-        }
-        
-        return subWords;
+        int[] ids = dict.subWordIds(word, minLength);
+        return WordResults.of(dict, ids, ids.length);
     }
 
     /**
@@ -343,6 +918,57 @@ public class JumbleEngine {
      * @return  The game state.
      */
     public GameState createGameState(Integer length, Integer minLength) {
+        return createGameState(length, minLength, null, ThreadLocalRandom.current());
+    }
+
+    /**
+     * Same as {@link #createGameState(Integer, Integer)}, but reproducible:
+     * the same `seed` always picks the same word with the same scrambled
+     * letters (for the same word list).
+     *
+     * @param length     The length of selected word.
+     *                   Expects >= 3.
+     * @param minLength  The minimum length (inclusive) of sub words.
+     *                   Expects positive integer.
+     *                   Default is 3.
+     * @param seed       The seed of the random word pick and scramble.
+     * @return  The game state.
+     */
+    public GameState createGameState(Integer length, Integer minLength, long seed) {
+        return createGameState(length, minLength, null, new Random(seed));
+    }
+
+    /**
+     * Same as {@link #createGameState(Integer, Integer)}, but of a board of
+     * `difficulty`: only boards of 5 to 40 sub words are ranked, from
+     * mostly short (easy) to mostly long (hard) sub words, and boards closer
+     * to 15 sub words are picked more often.
+     *
+     * Difficulties are only known for the game sizes of the dictionary
+     * (see {@link DictionarySource#withGameSize(int, int)}), once their game
+     * catalog is built in the background, after each load and reload (see
+     * {@link #awaitGameCatalogs()}). Until then, this fails rather than
+     * waits.
+     *
+     * @param difficulty  The difficulty, or null for any board.
+     * @throws IllegalArgumentException  If no board of `difficulty`, or
+     *         (`length`, `minLength`) is not a game size.
+     * @throws IllegalStateException  If the game catalog is not built yet,
+     *         or building it failed.
+     */
+    public GameState createGameState(Integer length, Integer minLength, Difficulty difficulty) {
+        return createGameState(length, minLength, difficulty, ThreadLocalRandom.current());
+    }
+
+    /**
+     * Same as {@link #createGameState(Integer, Integer, Difficulty)}, but
+     * reproducible, as {@link #createGameState(Integer, Integer, long)}.
+     */
+    public GameState createGameState(Integer length, Integer minLength, Difficulty difficulty, long seed) {
+        return createGameState(length, minLength, difficulty, new Random(seed));
+    }
+
+    private GameState createGameState(Integer length, Integer minLength, Difficulty difficulty, Random random) {
         Objects.requireNonNull(length, "length must not be null");
         if (minLength == null) {
             minLength = 3;
@@ -355,16 +981,46 @@ public class JumbleEngine {
         if (minLength > length) {
             throw new IllegalArgumentException("Expect minLength=[" + minLength + "] greater than length=[" + length + "]");
         }
-        String original = this.pickOneRandomWord(length);
-        if (original == null) {
-            throw new IllegalArgumentException("Cannot find valid word to create game state");
+        // one snapshot for the whole game, even if reloaded meanwhile
+        DictionarySnapshot dict = this.snapshot;
+        boolean cataloged = this.source.isGameSize(length, minLength);
+        GameCatalog catalog;
+        int nth;
+        if (difficulty != null) {
+            // a board of the difficulty, only known by the catalog
+            if (!cataloged) {
+                throw new IllegalArgumentException("Invalid length=[" + length + "], minLength=[" + minLength
+                        + "] of difficulty=[" + difficulty + "], expect a game size of dictionary=["
+                        + dictionaryName() + "]");
+            }
+            catalog = dict.requireGameCatalog(length, minLength);
+            nth = catalog.pick(difficulty, random);
+            if (nth < 0) {
+                throw new IllegalArgumentException("Cannot find valid word of difficulty=[" + difficulty
+                        + "] to create game state");
+            }
+        } else {
+            // a random board of the catalog, or a random word while it is being built (or of another size)
+            catalog = cataloged ? dict.gameCatalog(length, minLength) : null;
+            int size = catalog != null ? catalog.size() : dict.lengthIndex.size(length);
+            if (size == 0) {
+                throw new IllegalArgumentException("Cannot find valid word to create game state");
+            }
+            nth = random.nextInt(size);
         }
-        String scramble = this.scramble(original);
+        String original = dict.words.get(catalog != null ? catalog.baseId(nth) : dict.lengthIndex.get(length, nth));
+        String scramble = this.scramble(original, random);
         Map<String, Boolean> subWords = new TreeMap<>();
-        for (String subWord : this.generateSubWords(original, minLength)) {
-            subWords.put(subWord, Boolean.FALSE);
+        if (catalog != null) {
+            for (int ix = 0; ix < catalog.subWordCount(nth); ix++) {
+                subWords.put(dict.words.get(catalog.subWordId(nth, ix)), Boolean.FALSE);
+            }
+        } else {
+            for (String subWord : generateSubWords(dict, original, minLength)) {
+                subWords.put(subWord, Boolean.FALSE);
+            }
         }
-        return new GameState(original, scramble, subWords);
+        return new GameState(original, scramble, subWords, dict.version);
     }
 
 }
@@ -0,0 +1,79 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import java.io.IOException;
+
+/**
+ * Immutable index of word ids grouped by word length.
+ *
+ * All buckets share a single `int[]` of word ids (offsets into the word
+ * store), laid out length by length. `starts[len]` is the position of the
+ * first id of length `len`, and `starts[len + 1]` is one past its last id.
+ * Within a bucket, ids keep the dictionary order.
+ */
+final class LengthIndex {
+
+    private final int[] ids;
+
+    private final int[] starts;
+
+    private LengthIndex(int[] ids, int[] starts) {
+        this.ids = ids;
+        this.starts = starts;
+    }
+
+    static LengthIndex build(WordStore words) {
+        int maxLength = 0;
+        for (int id = 0; id < words.size(); id += 1) {
+            maxLength = Math.max(maxLength, words.length(id));
+        }
+
+        int[] starts = new int[maxLength + 2];
+        for (int id = 0; id < words.size(); id += 1) {
+            starts[words.length(id) + 1] += 1;
+        }
+        for (int len = 1; len < starts.length; len += 1) {
+            starts[len] += starts[len - 1];
+        }
+
+        int[] ids = new int[words.size()];
+        int[] fill = starts.clone();
+        for (int id = 0; id < words.size(); id += 1) {
+            ids[fill[words.length(id)]++] = id;
+        }
+        return new LengthIndex(ids, starts);
+    }
+
+    void write(DictionaryImage.Output out) throws IOException {
+        out.putInts(ids);
+        out.putInts(starts);
+    }
+
+    static LengthIndex read(DictionaryImage.Input in) {
+        return new LengthIndex(in.getInts(), in.getInts());
+    }
+
+    int maxLength() {
+        return starts.length - 2;
+    }
+
+    /**
+     * @param length  The word length.
+     * @return  The number of words of `length`, 0 if out of range.
+     */
+    int size(int length) {
+        if (length < 0 || length > maxLength()) {
+            return 0;
+        }
+        return starts[length + 1] - starts[length];
+    }
+
+    /**
+     * @param length  The word length, must have {@link #size(int)} > 0.
+     * @param nth     Position within the bucket, from 0 to `size(length) - 1`.
+     * @return  The word id.
+     */
+    int get(int length, int nth) {
+        return ids[starts[length] + nth];
+    }
+
+}
@@ -0,0 +1,119 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Immutable letter presence bitmaps: for each letter 'a' to 'z', one bit
+ * per word id, set if the word has the letter.
+ *
+ * The words having (or not having) any set of letters are the AND (or AND
+ * NOT) of their bitmaps, 64 words per `long`, so the cost is the number
+ * of letters times the dictionary size / 64, whatever the result size.
+ * The 26 bitmaps share one `long[]`, `stride` longs each.
+ */
+final class LetterBitmaps {
+
+    private final long[] bits;
+
+    private final int stride;
+
+    private LetterBitmaps(long[] bits, int stride) {
+        this.bits = bits;
+        this.stride = stride;
+    }
+
+    static LetterBitmaps build(WordStore words) {
+        int stride = (words.size() + 63) >>> 6;
+        long[] bits = new long[26 * stride];
+        for (int id = 0; id < words.size(); id += 1) {
+            for (int ix = 0; ix < words.length(id); ix += 1) {
+                char ch = words.charAt(id, ix);
+                if (ch >= 'a' && ch <= 'z') {
+                    bits[(ch - 'a') * stride + (id >>> 6)] |= 1L << (id & 63);
+                }
+            }
+        }
+        return new LetterBitmaps(bits, stride);
+    }
+
+    void write(DictionaryImage.Output out) throws IOException {
+        out.putLongs(bits);
+        out.putInt(stride);
+    }
+
+    static LetterBitmaps read(DictionaryImage.Input in) {
+        return new LetterBitmaps(in.getLongs(), in.getInt());
+    }
+
+    /**
+     * @return  The number of `long`s to AND per letter.
+     */
+    int stride() {
+        return stride;
+    }
+
+    /**
+     * @param required  The letters the words have, as a mask of 'a' (bit 0)
+     *                  to 'z' (bit 25).
+     * @param excluded  The letters the words do not have, as a mask.
+     * @return  The bitmap of the words having all `required` letters and
+     *          none of the `excluded` letters, `stride` longs; bits beyond
+     *          the last word are set if `required` is empty.
+     */
+    long[] matching(int required, int excluded) {
+        long[] result = new long[stride];
+        Arrays.fill(result, -1L);
+        for (int letter = 0; letter < 26; letter += 1) {
+            int bit = 1 << letter;
+            if ((required & bit) != 0) {
+                for (int ix = 0, at = letter * stride; ix < stride; ix += 1, at += 1) {
+                    result[ix] &= bits[at];
+                }
+            } else if ((excluded & bit) != 0) {
+                for (int ix = 0, at = letter * stride; ix < stride; ix += 1, at += 1) {
+                    result[ix] &= ~bits[at];
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @param bitmap  A bitmap of {@link #matching(int, int)}.
+     * @param size    The number of words.
+     * @return  The number of words set in `bitmap`.
+     */
+    static int count(long[] bitmap, int size) {
+        int count = 0;
+        for (int ix = 0; ix < bitmap.length; ix += 1) {
+            count += Long.bitCount(bitmap[ix] & validBits(ix, size));
+        }
+        return count;
+    }
+
+    /**
+     * @param bitmap  A bitmap of {@link #matching(int, int)}.
+     * @param size    The number of words.
+     * @return  The ids of the words set in `bitmap`, in id order.
+     */
+    static int[] ids(long[] bitmap, int size) {
+        int[] ids = new int[count(bitmap, size)];
+        int at = 0;
+        for (int ix = 0; ix < bitmap.length; ix += 1) {
+            for (long word = bitmap[ix] & validBits(ix, size); word != 0; word &= word - 1) {
+                ids[at++] = (ix << 6) + Long.numberOfTrailingZeros(word);
+            }
+        }
+        return ids;
+    }
+
+    /*
+     * The bits of `bitmap[ix]` which are words.
+     */
+    private static long validBits(int ix, int size) {
+        int remaining = size - (ix << 6);
+        return remaining >= 64 ? -1L : (1L << remaining) - 1;
+    }
+
+}
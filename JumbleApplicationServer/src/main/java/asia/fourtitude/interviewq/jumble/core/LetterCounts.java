@@ -0,0 +1,153 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Immutable, packed letter counts of every word, for allocation free
+ * "can word B be formed from the letters of word A" checks.
+ *
+ * Each word has its 26 letter counts packed as 4-bit lanes in two `long`s
+ * (letters 'a' to 'p' in `low`, 'q' to 'z' in `high`), plus a 26-bit
+ * presence mask. The containment test first rejects on the mask, then
+ * compares all lanes at once (SWAR): even and odd nibbles are spread into
+ * byte lanes with a guard bit, and a lane borrows its guard bit exactly
+ * when the count of B exceeds the count of A.
+ *
+ * Counts saturate at 15. Words with a letter repeated more than 15 times,
+ * or with letters outside 'a' to 'z', are flagged as not packable and
+ * must be checked the slow way.
+ */
+final class LetterCounts {
+
+    private static final long NIBBLES = 0x0F0F0F0F0F0F0F0FL;
+
+    private static final long GUARDS = 0x1010101010101010L;
+
+    private static final int MAX_COUNT = 15;
+
+    static final int NOT_PACKABLE = -1;
+
+    private final long[] low;
+
+    private final long[] high;
+
+    private final int[] masks;
+
+    private LetterCounts(long[] low, long[] high, int[] masks) {
+        this.low = low;
+        this.high = high;
+        this.masks = masks;
+    }
+
+    static LetterCounts build(WordStore words) {
+        long[] low = new long[words.size()];
+        long[] high = new long[words.size()];
+        int[] masks = new int[words.size()];
+        int[] counts = new int[26];
+        for (int id = 0; id < words.size(); id += 1) {
+            if (!count(words.view(id), counts)) {
+                masks[id] = NOT_PACKABLE;
+                continue;
+            }
+            boolean packable = true;
+            for (int count : counts) {
+                packable &= count <= MAX_COUNT;
+            }
+            if (!packable) {
+                masks[id] = NOT_PACKABLE;
+                continue;
+            }
+            low[id] = packLow(counts);
+            high[id] = packHigh(counts);
+            masks[id] = mask(counts);
+        }
+        return new LetterCounts(low, high, masks);
+    }
+
+    void write(DictionaryImage.Output out) throws IOException {
+        out.putLongs(low);
+        out.putLongs(high);
+        out.putInts(masks);
+    }
+
+    static LetterCounts read(DictionaryImage.Input in) {
+        return new LetterCounts(in.getLongs(), in.getLongs(), in.getInts());
+    }
+
+    /**
+     * Counts the letters of `word` into `counts`.
+     *
+     * @return  false if `word` has letters outside 'a' to 'z'.
+     */
+    static boolean count(CharSequence word, int[] counts) {
+        Arrays.fill(counts, 0);
+        for (int ix = 0; ix < word.length(); ix += 1) {
+            char ch = word.charAt(ix);
+            if (ch < 'a' || ch > 'z') {
+                return false;
+            }
+            counts[ch - 'a'] += 1;
+        }
+        return true;
+    }
+
+    static long packLow(int[] counts) {
+        long packed = 0;
+        for (int ix = 0; ix < 16; ix += 1) {
+            packed |= (long) Math.min(counts[ix], MAX_COUNT) << (ix * 4);
+        }
+        return packed;
+    }
+
+    static long packHigh(int[] counts) {
+        long packed = 0;
+        for (int ix = 16; ix < 26; ix += 1) {
+            packed |= (long) Math.min(counts[ix], MAX_COUNT) << ((ix - 16) * 4);
+        }
+        return packed;
+    }
+
+    static int mask(int[] counts) {
+        int mask = 0;
+        for (int ix = 0; ix < 26; ix += 1) {
+            if (counts[ix] > 0) {
+                mask |= 1 << ix;
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * @return  true if every 4-bit lane of `sub` is <= the lane of `all`.
+     */
+    static boolean lanesFit(long all, long sub) {
+        long even = ((all & NIBBLES) | GUARDS) - (sub & NIBBLES);
+        long odd = (((all >>> 4) & NIBBLES) | GUARDS) - ((sub >>> 4) & NIBBLES);
+        return (even & odd & GUARDS) == GUARDS;
+    }
+
+    boolean isPackable(int id) {
+        return masks[id] != NOT_PACKABLE;
+    }
+
+    /**
+     * @return  The letters of word `id`, as a mask of 'a' (bit 0) to 'z'
+     *          (bit 25); the word must be {@link #isPackable}.
+     */
+    int letterMask(int id) {
+        return masks[id];
+    }
+
+    /**
+     * Checks if word `id` can be formed from the input letters. The input
+     * must be packed with {@link #packLow}, {@link #packHigh} and
+     * {@link #mask}; the word must be {@link #isPackable}.
+     */
+    boolean canForm(int id, long inputLow, long inputHigh, int inputMask) {
+        return (masks[id] & ~inputMask) == 0
+                && lanesFit(inputLow, low[id])
+                && lanesFit(inputHigh, high[id]);
+    }
+
+}
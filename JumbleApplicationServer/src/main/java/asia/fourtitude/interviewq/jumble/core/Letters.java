@@ -0,0 +1,44 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+/**
+ * Letter helpers shared by the word indices.
+ */
+final class Letters {
+
+    private Letters() {
+    }
+
+    /**
+     * Folds `ch` to lowercase, with a fast path for ASCII.
+     */
+    static char fold(char ch) {
+        if (ch >= 'A' && ch <= 'Z') {
+            return (char) (ch + ('a' - 'A'));
+        }
+        return ch < 0x80 ? ch : Character.toLowerCase(ch);
+    }
+
+    /**
+     * Same as {@link #fold(char)}, for every character of `text`.
+     */
+    static String fold(String text) {
+        StringBuilder folded = new StringBuilder(text.length());
+        for (int ix = 0; ix < text.length(); ix++) {
+            folded.append(fold(text.charAt(ix)));
+        }
+        return folded.toString();
+    }
+
+    /**
+     * @return  true if every character of `text` is a letter.
+     */
+    static boolean isLetters(CharSequence text) {
+        for (int ix = 0; ix < text.length(); ix++) {
+            if (!Character.isLetter(text.charAt(ix))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+}
@@ -0,0 +1,179 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Immutable prefix index over the word list, as a sorted array of word ids.
+ *
+ * All words sharing a prefix occupy one contiguous range `[lo, hi)` of the
+ * sorted array, so the array behaves as an implicit trie: a node is the
+ * range of words sharing the first `depth` letters, and its child for
+ * letter `ch` is the sub range whose letter at `depth` is `ch`. Descending
+ * to a child is a binary search within the parent range only.
+ *
+ * Ranges are packed into a `long` (`lo << 32 | hi`) so walking the trie
+ * does not allocate.
+ */
+final class PrefixIndex {
+
+    static final long EMPTY = 0L;
+
+    private final WordStore words;
+
+    private final int[] sorted;
+
+    /*
+     * Whether the word ids are in word order (the word list was sorted),
+     * i.e. `sorted[pos] == pos`.
+     */
+    private final boolean idsInOrder;
+
+    private PrefixIndex(WordStore words, int[] sorted) {
+        this.words = words;
+        this.sorted = sorted;
+        boolean inOrder = true;
+        for (int pos = 0; pos < sorted.length && inOrder; pos += 1) {
+            inOrder = sorted[pos] == pos;
+        }
+        this.idsInOrder = inOrder;
+    }
+
+    static PrefixIndex build(WordStore words) {
+        int[] sorted = new int[words.size()];
+        boolean inOrder = true;
+        for (int id = 0; id < sorted.length; id += 1) {
+            sorted[id] = id;
+            if (id > 0 && words.compare(id - 1, id) > 0) {
+                inOrder = false;
+            }
+        }
+        if (!inOrder) {
+            IdSort.sort(sorted, words::compare);
+        }
+        return new PrefixIndex(words, sorted);
+    }
+
+    void write(DictionaryImage.Output out) throws IOException {
+        out.putInts(sorted);
+    }
+
+    static PrefixIndex read(DictionaryImage.Input in, WordStore words) {
+        return new PrefixIndex(words, in.getInts());
+    }
+
+    static long range(int lo, int hi) {
+        return lo >= hi ? EMPTY : ((long) lo << 32) | hi;
+    }
+
+    static int lo(long range) {
+        return (int) (range >>> 32);
+    }
+
+    static int hi(long range) {
+        return (int) range;
+    }
+
+    static int size(long range) {
+        return hi(range) - lo(range);
+    }
+
+    /**
+     * @return  The range of all words, i.e. the root of the implicit trie.
+     */
+    long all() {
+        return range(0, sorted.length);
+    }
+
+    /**
+     * @param pos  Position in the sorted array.
+     * @return  The word id at `pos`.
+     */
+    int idAt(int pos) {
+        return sorted[pos];
+    }
+
+    String wordAt(int pos) {
+        return words.get(sorted[pos]);
+    }
+
+    /**
+     * Sorts word ids in place into word order: by id if the word list was
+     * sorted, else by comparing the words.
+     */
+    void sortIds(int[] ids) {
+        if (idsInOrder) {
+            Arrays.sort(ids);
+        } else {
+            IdSort.sort(ids, words::compare);
+        }
+    }
+
+    /**
+     * Descends from a trie node to its child.
+     *
+     * @param range  The node: words sharing the same first `depth` letters.
+     * @param depth  The length of the shared prefix.
+     * @param ch     The next letter (lowercase).
+     * @return  The range of words continuing with `ch`, or {@link #EMPTY}.
+     */
+    long child(long range, int depth, char ch) {
+        int lo = lowerBound(lo(range), hi(range), depth, ch);
+        int hi = lowerBound(lo, hi(range), depth, (char) (ch + 1));
+        return range(lo, hi);
+    }
+
+    /**
+     * Same as the end of {@link #child(long, int, char)}, but from a word
+     * rather than a letter, by galloping from `pos` then binary search, as
+     * most children are small (to enumerate the children of a node).
+     *
+     * @param pos    The position of a word with a letter at `depth`.
+     * @param hi     The end of its node.
+     * @param depth  The length of the prefix the node shares.
+     * @return  The end of the child of the node holding `pos`.
+     */
+    int childEnd(int pos, int hi, int depth) {
+        char ch = words.charAt(sorted[pos], depth);
+        int lo = pos + 1;
+        int step = 1;
+        while (lo < hi && words.charAt(sorted[lo], depth) == ch) {
+            pos = lo;
+            lo += step;
+            step <<= 1;
+        }
+        // the end is in (pos, min(lo, hi)]
+        return lowerBound(pos + 1, Math.min(lo, hi), depth, (char) (ch + 1));
+    }
+
+    /**
+     * @param prefix  The prefix, in any letter case.
+     * @return  The range of words starting with `prefix`, or {@link #EMPTY}.
+     */
+    long prefixRange(CharSequence prefix) {
+        long range = all();
+        for (int depth = 0; depth < prefix.length() && range != EMPTY; depth += 1) {
+            range = child(range, depth, Letters.fold(prefix.charAt(depth)));
+        }
+        return range;
+    }
+
+    /**
+     * First position in `[lo, hi)` whose letter at `depth` is >= `ch`.
+     * Words in the range share the first `depth` letters, and a word with
+     * no letter at `depth` (it is the prefix itself) sorts first.
+     */
+    private int lowerBound(int lo, int hi, int depth, char ch) {
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            int id = sorted[mid];
+            if (words.length(id) <= depth || words.charAt(id, depth) < ch) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+}
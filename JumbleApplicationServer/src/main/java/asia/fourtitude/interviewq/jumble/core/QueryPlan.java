@@ -0,0 +1,343 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import java.util.Arrays;
+
+/**
+ * Cost based execution plan of a {@link WordQuery}.
+ *
+ * Each index able to narrow the query tells how many candidate words it
+ * would yield, from its ranges or bucket bounds, without fetching them:
+ * the prefix trie, the suffix trie, the (first letter, last letter,
+ * length) buckets, the length buckets, the infix suffix array, and the
+ * letter presence bitmaps. The plan fetches the candidates of the most
+ * selective one only, then filters them on all the criteria, cheapest
+ * first: the length, the letter masks (which letters each word has, one
+ * `int`), then the letters themselves. So a query costs about its
+ * smallest candidate list, not the dictionary size.
+ */
+final class QueryPlan {
+
+    /**
+     * Where the candidates come from, in order of preference on a tie.
+     */
+    enum Source {
+        /** The query matches no word. */
+        NONE,
+        PREFIX,
+        SUFFIX,
+        BUCKETS,
+        LENGTHS,
+        INFIX,
+        LETTERS,
+        /** Every word. */
+        ALL
+    }
+
+    private final DictionarySnapshot dict;
+
+    /*
+     * The prefix and suffix, with the first and last letters.
+     */
+    private final String prefix;
+
+    private final String suffix;
+
+    private final String contains;
+
+    private final int minLength;
+
+    private final int maxLength;
+
+    /*
+     * The required and excluded letters 'a' to 'z', as masks, and beyond.
+     */
+    private final int requiredMask;
+
+    private final int excludedMask;
+
+    private final String otherRequired;
+
+    private final String otherExcluded;
+
+    private Source source;
+
+    private int cost;
+
+    /*
+     * The bitmap of the LETTERS source, if computed.
+     */
+    private long[] letterBitmap;
+
+    private QueryPlan(DictionarySnapshot dict, WordQuery query) {
+        this.dict = dict;
+        this.contains = query.getContains();
+        String prefix = query.getPrefix();
+        String suffix = query.getSuffix();
+        boolean none = false;
+        if (query.getStartChar() != null) {
+            char ch = query.getStartChar();
+            none |= prefix != null && prefix.charAt(0) != ch;
+            prefix = prefix != null ? prefix : String.valueOf(ch);
+        }
+        if (query.getEndChar() != null) {
+            char ch = query.getEndChar();
+            none |= suffix != null && suffix.charAt(suffix.length() - 1) != ch;
+            suffix = suffix != null ? suffix : String.valueOf(ch);
+        }
+        this.prefix = prefix;
+        this.suffix = suffix;
+
+        int required = 0;
+        int excluded = 0;
+        StringBuilder otherRequired = new StringBuilder();
+        StringBuilder otherExcluded = new StringBuilder();
+        String requiredLetters = query.getRequiredLetters() != null ? query.getRequiredLetters() : "";
+        String excludedLetters = query.getExcludedLetters() != null ? query.getExcludedLetters() : "";
+        for (int ix = 0; ix < requiredLetters.length(); ix += 1) {
+            char ch = requiredLetters.charAt(ix);
+            if (ch >= 'a' && ch <= 'z') {
+                required |= 1 << (ch - 'a');
+            } else {
+                otherRequired.append(ch);
+            }
+        }
+        for (int ix = 0; ix < excludedLetters.length(); ix += 1) {
+            char ch = excludedLetters.charAt(ix);
+            if (ch >= 'a' && ch <= 'z') {
+                excluded |= 1 << (ch - 'a');
+            } else {
+                otherExcluded.append(ch);
+            }
+            // a letter both required and excluded, or excluded from the fixed letters
+            none |= requiredLetters.indexOf(ch) >= 0 || indexOf(prefix, ch) >= 0 || indexOf(suffix, ch) >= 0
+                    || indexOf(contains, ch) >= 0;
+        }
+        this.requiredMask = required;
+        this.excludedMask = excluded;
+        this.otherRequired = otherRequired.toString();
+        this.otherExcluded = otherExcluded.toString();
+
+        // a word holds its prefix, its suffix, its infix and its distinct required letters
+        int minLength = query.getMinLength() != null ? query.getMinLength() : 1;
+        minLength = Math.max(minLength, Math.max(length(prefix), length(suffix)));
+        minLength = Math.max(minLength, Math.max(length(contains), requiredLetters.length()));
+        this.minLength = minLength;
+        this.maxLength = Math.min(query.getMaxLength() != null ? query.getMaxLength() : Integer.MAX_VALUE,
+                dict.lengthIndex.maxLength());
+        none |= this.minLength > this.maxLength;
+
+        if (none) {
+            this.source = Source.NONE;
+            this.cost = 0;
+        } else {
+            choose();
+        }
+    }
+
+    /**
+     * Plans `query` over `dict`: picks the source of the fewest candidates.
+     */
+    static QueryPlan plan(DictionarySnapshot dict, WordQuery query) {
+        return new QueryPlan(dict, query);
+    }
+
+    Source source() {
+        return source;
+    }
+
+    /**
+     * @return  The number of candidates (or, for the suffix array, of
+     *          occurrences) of the source.
+     */
+    int cost() {
+        return cost;
+    }
+
+    /**
+     * @return  The ids of the words matching the query, in dictionary
+     *          order.
+     */
+    int[] execute() {
+        int[] candidates = candidates();
+        int count = 0;
+        for (int ix = 0; ix < candidates.length; ix += 1) {
+            if (matches(candidates[ix])) {
+                candidates[count++] = candidates[ix];
+            }
+        }
+        int[] ids = Arrays.copyOf(candidates, count);
+        Arrays.sort(ids);
+        return ids;
+    }
+
+    @Override
+    public String toString() {
+        return source + " (" + cost + " candidates)";
+    }
+
+    /*
+     * Estimates the candidates of every source able to narrow the query,
+     * the cheapest first, and keeps the fewest.
+     */
+    private void choose() {
+        source = Source.ALL;
+        cost = dict.size();
+        if (prefix != null) {
+            consider(Source.PREFIX, PrefixIndex.size(dict.prefixIndex.prefixRange(prefix)));
+        }
+        if (suffix != null) {
+            consider(Source.SUFFIX, PrefixIndex.size(dict.suffixIndex.suffixRange(suffix)));
+        }
+        // only words from 'a' to 'z' to 'a' to 'z' are in the buckets
+        int start = prefix != null ? SearchIndex.letterIndex(prefix.charAt(0)) : SearchIndex.ANY;
+        int end = suffix != null ? SearchIndex.letterIndex(suffix.charAt(suffix.length() - 1)) : SearchIndex.ANY;
+        if (start != SearchIndex.ANY && end != SearchIndex.ANY) {
+            consider(Source.BUCKETS, dict.searchIndex.count(start, end, minLength, maxLength));
+        }
+        if (minLength > 1 || maxLength < dict.lengthIndex.maxLength()) {
+            int size = 0;
+            for (int length = minLength; length <= maxLength && size < cost; length += 1) {
+                size += dict.lengthIndex.size(length);
+            }
+            consider(Source.LENGTHS, size);
+        }
+        if (contains != null && dict.infixIndex != null) {
+            consider(Source.INFIX, dict.infixIndex.occurrences(contains, cost));
+        }
+        // the bitmaps cost their size, however few the words
+        int letters = Integer.bitCount(requiredMask | excludedMask);
+        long bitmapCost = (long) letters * dict.letterBitmaps.stride();
+        if (letters > 0 && bitmapCost < cost) {
+            long[] bitmap = dict.letterBitmaps.matching(requiredMask, excludedMask);
+            if (consider(Source.LETTERS, (int) Math.min(Integer.MAX_VALUE,
+                    bitmapCost + LetterBitmaps.count(bitmap, dict.size())))) {
+                letterBitmap = bitmap;
+            }
+        }
+    }
+
+    private boolean consider(Source candidate, int candidateCost) {
+        if (candidateCost < cost) {
+            source = candidate;
+            cost = candidateCost;
+            return true;
+        }
+        return false;
+    }
+
+    private int[] candidates() {
+        switch (source) {
+        case NONE:
+            return new int[0];
+        case PREFIX:
+            return idsOf(dict.prefixIndex.prefixRange(prefix), false);
+        case SUFFIX:
+            return idsOf(dict.suffixIndex.suffixRange(suffix), true);
+        case BUCKETS:
+            return dict.searchIndex.search(SearchIndex.letterIndex(prefix.charAt(0)),
+                    SearchIndex.letterIndex(suffix.charAt(suffix.length() - 1)), minLength, maxLength);
+        case LENGTHS: {
+            int size = 0;
+            for (int length = minLength; length <= maxLength; length += 1) {
+                size += dict.lengthIndex.size(length);
+            }
+            int[] ids = new int[size];
+            int pos = 0;
+            for (int length = minLength; length <= maxLength; length += 1) {
+                for (int nth = 0; nth < dict.lengthIndex.size(length); nth += 1) {
+                    ids[pos++] = dict.lengthIndex.get(length, nth);
+                }
+            }
+            return ids;
+        }
+        case INFIX:
+            return dict.infixIndex.search(contains);
+        case LETTERS:
+            return LetterBitmaps.ids(letterBitmap, dict.size());
+        default: {
+            int[] ids = new int[dict.size()];
+            for (int id = 0; id < ids.length; id += 1) {
+                ids[id] = id;
+            }
+            return ids;
+        }
+        }
+    }
+
+    private int[] idsOf(long range, boolean suffixes) {
+        int[] ids = new int[PrefixIndex.size(range)];
+        int lo = PrefixIndex.lo(range);
+        for (int ix = 0; ix < ids.length; ix += 1) {
+            ids[ix] = suffixes ? dict.suffixIndex.idAt(lo + ix) : dict.prefixIndex.idAt(lo + ix);
+        }
+        return ids;
+    }
+
+    /*
+     * Whether word `id` meets all the criteria, cheapest first.
+     */
+    private boolean matches(int id) {
+        WordStore words = dict.words;
+        int length = words.length(id);
+        if (length < minLength || length > maxLength) {
+            return false;
+        }
+        if ((requiredMask | excludedMask) != 0) {
+            int mask = dict.letterCounts.isPackable(id) ? dict.letterCounts.letterMask(id) : letterMask(words, id);
+            if ((mask & requiredMask) != requiredMask || (mask & excludedMask) != 0) {
+                return false;
+            }
+        }
+        for (int ix = 0; ix < otherRequired.length(); ix += 1) {
+            if (indexOf(words, id, otherRequired.charAt(ix)) < 0) {
+                return false;
+            }
+        }
+        for (int ix = 0; ix < otherExcluded.length(); ix += 1) {
+            if (indexOf(words, id, otherExcluded.charAt(ix)) >= 0) {
+                return false;
+            }
+        }
+        return (prefix == null || regionMatches(words, id, 0, prefix))
+                && (suffix == null || regionMatches(words, id, length - suffix.length(), suffix))
+                && (contains == null || words.contains(id, contains));
+    }
+
+    private static int letterMask(WordStore words, int id) {
+        int mask = 0;
+        for (int ix = 0; ix < words.length(id); ix += 1) {
+            char ch = words.charAt(id, ix);
+            if (ch >= 'a' && ch <= 'z') {
+                mask |= 1 << (ch - 'a');
+            }
+        }
+        return mask;
+    }
+
+    private static int indexOf(WordStore words, int id, char ch) {
+        for (int ix = 0; ix < words.length(id); ix += 1) {
+            if (words.charAt(id, ix) == ch) {
+                return ix;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean regionMatches(WordStore words, int id, int from, String letters) {
+        for (int ix = 0; ix < letters.length(); ix += 1) {
+            if (words.charAt(id, from + ix) != letters.charAt(ix)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int indexOf(String letters, char ch) {
+        return letters != null ? letters.indexOf(ch) : -1;
+    }
+
+    private static int length(String letters) {
+        return letters != null ? letters.length() : 0;
+    }
+
+}
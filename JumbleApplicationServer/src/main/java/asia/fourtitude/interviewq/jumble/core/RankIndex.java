@@ -0,0 +1,178 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.PriorityQueue;
+
+/**
+ * Immutable index of the highest weighted words of any prefix range of the
+ * {@link PrefixIndex}.
+ *
+ * A max segment tree over the sorted positions keeps, for every node, the
+ * position of its highest weighted word (ties to the first position, i.e.
+ * the dictionary order). The top `k` words of a range are found by a best
+ * first search: the best word of the range is taken, and the two ranges
+ * either side of it become candidates. So a query costs O(k log n),
+ * however many words share the prefix, in `2n` ints of tree.
+ */
+final class RankIndex {
+
+    private final PrefixIndex prefixIndex;
+
+    /*
+     * Weights by word id.
+     */
+    private final long[] weights;
+
+    /*
+     * Node `ix` has children `2ix` and `2ix + 1`; the `n` leaves are at
+     * `n + pos`. Each node is the position of its best word.
+     */
+    private final int[] tree;
+
+    private RankIndex(PrefixIndex prefixIndex, long[] weights, int[] tree) {
+        this.prefixIndex = prefixIndex;
+        this.weights = weights;
+        this.tree = tree;
+    }
+
+    /**
+     * @param weights  The weights by word id.
+     */
+    static RankIndex build(PrefixIndex prefixIndex, long[] weights) {
+        int size = weights.length;
+        int[] tree = new int[2 * size];
+        RankIndex index = new RankIndex(prefixIndex, weights, tree);
+        for (int pos = 0; pos < size; pos += 1) {
+            tree[size + pos] = pos;
+        }
+        for (int ix = size - 1; ix > 0; ix -= 1) {
+            tree[ix] = index.better(tree[2 * ix], tree[2 * ix + 1]);
+        }
+        return index;
+    }
+
+    /**
+     * Reads the weights of `words` from a file of one word and its weight
+     * (a non-negative integer, e.g. a frequency count) per line, separated
+     * by white space or a comma. Words not in the dictionary are ignored,
+     * and words not in the file weigh 0.
+     *
+     * @return  The weights by word id.
+     */
+    static long[] readWeights(Path file, WordStore words, WordHashSet wordSet) {
+        long[] weights = new long[words.size()];
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            int lineNo = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNo += 1;
+                line = line.trim();
+                if (line.isEmpty()) {
+                    continue;
+                }
+                int split = 0;
+                while (split < line.length() && line.charAt(split) != ',' && !Character.isWhitespace(line.charAt(split))) {
+                    split += 1;
+                }
+                long weight;
+                try {
+                    weight = Long.parseLong(line.substring(split).replace(',', ' ').trim());
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Invalid weight at line " + lineNo + " of " + file + ": " + line, e);
+                }
+                if (weight < 0) {
+                    throw new IllegalArgumentException("Invalid weight at line " + lineNo + " of " + file + ": " + line);
+                }
+                int id = wordSet.indexOf(line.substring(0, split));
+                if (id >= 0) {
+                    weights[id] = Math.max(weights[id], weight);
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Error reading weights file: " + file, e);
+        }
+        return weights;
+    }
+
+    /**
+     * @param id  The word id.
+     * @return  The weight of the word.
+     */
+    long weight(int id) {
+        return weights[id];
+    }
+
+    /**
+     * @param range  A range of the prefix index.
+     * @param k      The maximum number of words.
+     * @return  The ids of the (at most) `k` highest weighted words of
+     *          `range`, highest first, ties in dictionary order.
+     */
+    int[] top(long range, int k) {
+        int count = Math.min(k, PrefixIndex.size(range));
+        int[] ids = new int[count];
+        if (count == 0) {
+            return ids;
+        }
+        // candidate ranges {lo, hi, best}, best first
+        PriorityQueue<int[]> candidates = new PriorityQueue<>(2 * count + 1,
+                (a, b) -> a[2] == b[2] ? 0 : (better(a[2], b[2]) == a[2] ? -1 : 1));
+        offer(candidates, PrefixIndex.lo(range), PrefixIndex.hi(range));
+        for (int ix = 0; ix < count; ix += 1) {
+            int[] candidate = candidates.poll();
+            int best = candidate[2];
+            ids[ix] = prefixIndex.idAt(best);
+            offer(candidates, candidate[0], best);
+            offer(candidates, best + 1, candidate[1]);
+        }
+        return ids;
+    }
+
+    private void offer(PriorityQueue<int[]> candidates, int lo, int hi) {
+        if (lo < hi) {
+            candidates.add(new int[] { lo, hi, best(lo, hi) });
+        }
+    }
+
+    /*
+     * The position of the best word of `[lo, hi)`.
+     */
+    private int best(int lo, int hi) {
+        int size = weights.length;
+        int best = -1;
+        for (int l = lo + size, r = hi + size; l < r; l >>= 1, r >>= 1) {
+            if ((l & 1) == 1) {
+                best = better(best, tree[l++]);
+            }
+            if ((r & 1) == 1) {
+                best = better(best, tree[--r]);
+            }
+        }
+        return best;
+    }
+
+    /*
+     * The position of the higher weighted word, or the first one if they
+     * weigh the same; -1 is no position.
+     */
+    private int better(int pos1, int pos2) {
+        if (pos1 < 0) {
+            return pos2;
+        }
+        long weight1 = weights[prefixIndex.idAt(pos1)];
+        long weight2 = weights[prefixIndex.idAt(pos2)];
+        if (weight1 != weight2) {
+            return weight1 > weight2 ? pos1 : pos2;
+        }
+        return Math.min(pos1, pos2);
+    }
+
+    long memoryBytes() {
+        return 8L * weights.length + 4L * tree.length;
+    }
+
+}
@@ -0,0 +1,112 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded, lock-free, multi-producer multi-consumer queue over a ring of
+ * slots (D. Vyukov's bounded MPMC queue).
+ *
+ * Each slot has a sequence number telling whether it is free for the
+ * producer at `tail`, or filled for the consumer at `head`. Producers and
+ * consumers claim positions with a CAS on `tail` and `head`, and never
+ * block: {@link #offer} fails when full, {@link #poll} when empty.
+ */
+final class RingBuffer<E> {
+
+    private final int mask;
+
+    private final AtomicReferenceArray<E> elements;
+
+    private final AtomicLongArray sequences;
+
+    private final AtomicLong head = new AtomicLong();
+
+    private final AtomicLong tail = new AtomicLong();
+
+    /**
+     * @param capacity  The number of elements, rounded up to a power of two.
+     */
+    RingBuffer(int capacity) {
+        if (capacity <= 0 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Invalid capacity=[" + capacity + "], expect 1 to 2^30");
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        this.mask = size - 1;
+        this.elements = new AtomicReferenceArray<>(size);
+        this.sequences = new AtomicLongArray(size);
+        for (int ix = 0; ix < size; ix += 1) {
+            sequences.set(ix, ix);
+        }
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+
+    /**
+     * @return  false if full.
+     */
+    boolean offer(E element) {
+        long pos = tail.get();
+        while (true) {
+            int ix = (int) pos & mask;
+            long diff = sequences.get(ix) - pos;
+            if (diff == 0) {
+                // slot free, claim it
+                if (tail.compareAndSet(pos, pos + 1)) {
+                    elements.set(ix, element);
+                    sequences.set(ix, pos + 1);
+                    return true;
+                }
+                pos = tail.get();
+            } else if (diff < 0) {
+                // slot still holds the element of one lap before
+                return false;
+            } else {
+                // another producer claimed it
+                pos = tail.get();
+            }
+        }
+    }
+
+    /**
+     * @return  The oldest element, or null if empty.
+     */
+    E poll() {
+        long pos = head.get();
+        while (true) {
+            int ix = (int) pos & mask;
+            long diff = sequences.get(ix) - (pos + 1);
+            if (diff == 0) {
+                // slot filled, claim it
+                if (head.compareAndSet(pos, pos + 1)) {
+                    E element = elements.get(ix);
+                    elements.set(ix, null);
+                    sequences.set(ix, pos + mask + 1);
+                    return element;
+                }
+                pos = head.get();
+            } else if (diff < 0) {
+                // slot not filled yet
+                return null;
+            } else {
+                // another consumer claimed it
+                pos = head.get();
+            }
+        }
+    }
+
+    /**
+     * @return  The number of elements, approximate while being changed.
+     */
+    int size() {
+        long size = tail.get() - head.get();
+        return (int) Math.max(0, Math.min(size, capacity()));
+    }
+
+}
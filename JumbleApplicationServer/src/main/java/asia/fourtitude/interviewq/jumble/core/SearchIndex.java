@@ -0,0 +1,155 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Immutable index of word ids by (first letter, last letter, length).
+ *
+ * The 26 x 26 x (maxLength + 1) buckets share one `int[]` of word ids, and
+ * `starts[bucket]` is the position of the first id of the bucket. Within a
+ * bucket, ids keep the dictionary order. Only words beginning and ending
+ * with 'a' to 'z' are indexed.
+ *
+ * A search with any combination of the three criteria concatenates the
+ * buckets it covers, so the cost is proportional to the result size (plus
+ * the number of buckets visited), not the dictionary size.
+ */
+final class SearchIndex {
+
+    static final int ANY = -1;
+
+    private final int[] ids;
+
+    private final int[] starts;
+
+    private final int maxLength;
+
+    private SearchIndex(int[] ids, int[] starts, int maxLength) {
+        this.ids = ids;
+        this.starts = starts;
+        this.maxLength = maxLength;
+    }
+
+    static int letterIndex(char ch) {
+        ch = Letters.fold(ch);
+        return (ch >= 'a' && ch <= 'z') ? ch - 'a' : ANY;
+    }
+
+    private static int bucket(int start, int end, int length, int maxLength) {
+        return (start * 26 + end) * (maxLength + 1) + length;
+    }
+
+    static SearchIndex build(WordStore words) {
+        int maxLength = 0;
+        for (int id = 0; id < words.size(); id += 1) {
+            maxLength = Math.max(maxLength, words.length(id));
+        }
+
+        int[] buckets = new int[words.size()];
+        int[] starts = new int[26 * 26 * (maxLength + 1) + 1];
+        int count = 0;
+        for (int id = 0; id < words.size(); id += 1) {
+            int length = words.length(id);
+            int start = length == 0 ? ANY : letterIndex(words.charAt(id, 0));
+            int end = length == 0 ? ANY : letterIndex(words.lastChar(id));
+            if (start == ANY || end == ANY) {
+                buckets[id] = ANY;
+                continue;
+            }
+            buckets[id] = bucket(start, end, length, maxLength);
+            starts[buckets[id] + 1] += 1;
+            count += 1;
+        }
+        for (int ix = 1; ix < starts.length; ix += 1) {
+            starts[ix] += starts[ix - 1];
+        }
+
+        int[] ids = new int[count];
+        int[] fill = Arrays.copyOf(starts, starts.length - 1);
+        for (int id = 0; id < words.size(); id += 1) {
+            if (buckets[id] != ANY) {
+                ids[fill[buckets[id]]++] = id;
+            }
+        }
+        return new SearchIndex(ids, starts, maxLength);
+    }
+
+    void write(DictionaryImage.Output out) throws IOException {
+        out.putInts(ids);
+        out.putInts(starts);
+        out.putInt(maxLength);
+    }
+
+    static SearchIndex read(DictionaryImage.Input in) {
+        return new SearchIndex(in.getInts(), in.getInts(), in.getInt());
+    }
+
+    /**
+     * @param start   The first letter index (0 to 25), or {@link #ANY}.
+     * @param end     The last letter index (0 to 25), or {@link #ANY}.
+     * @param length  The word length, or {@link #ANY}.
+     * @return  The matching word ids, in dictionary order.
+     */
+    int[] search(int start, int end, int length) {
+        return length == ANY ? search(start, end, 0, maxLength) : search(start, end, length, length);
+    }
+
+    /**
+     * @return  The number of word ids of {@link #search(int, int, int, int)},
+     *          counted by the bucket bounds only.
+     */
+    int count(int start, int end, int minLength, int maxLength) {
+        int lengthTo = Math.min(maxLength, this.maxLength);
+        if (minLength > lengthTo) {
+            return 0;
+        }
+        int size = 0;
+        for (int s = from(start); s <= to(start); s += 1) {
+            for (int e = from(end); e <= to(end); e += 1) {
+                // lengths of the same (start, end) are adjacent buckets
+                size += starts[bucket(s, e, lengthTo, this.maxLength) + 1]
+                        - starts[bucket(s, e, minLength, this.maxLength)];
+            }
+        }
+        return size;
+    }
+
+    /**
+     * @param start      The first letter index (0 to 25), or {@link #ANY}.
+     * @param end        The last letter index (0 to 25), or {@link #ANY}.
+     * @param minLength  The minimum word length, 0 or greater.
+     * @param maxLength  The maximum word length.
+     * @return  The matching word ids, in dictionary order.
+     */
+    int[] search(int start, int end, int minLength, int maxLength) {
+        int lengthTo = Math.min(maxLength, this.maxLength);
+        int[] result = new int[count(start, end, minLength, maxLength)];
+        if (result.length == 0) {
+            return result;
+        }
+        int pos = 0;
+        for (int s = from(start); s <= to(start); s += 1) {
+            for (int e = from(end); e <= to(end); e += 1) {
+                int from = starts[bucket(s, e, minLength, this.maxLength)];
+                int to = starts[bucket(s, e, lengthTo, this.maxLength) + 1];
+                System.arraycopy(ids, from, result, pos, to - from);
+                pos += to - from;
+            }
+        }
+        if (minLength != lengthTo || start == ANY || end == ANY) {
+            // more than one bucket, restore the dictionary order
+            Arrays.sort(result);
+        }
+        return result;
+    }
+
+    private static int from(int letter) {
+        return letter == ANY ? 0 : letter;
+    }
+
+    private static int to(int letter) {
+        return letter == ANY ? 25 : letter;
+    }
+
+}
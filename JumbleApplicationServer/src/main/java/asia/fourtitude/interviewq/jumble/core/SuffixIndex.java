@@ -0,0 +1,146 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import java.io.IOException;
+
+/**
+ * Immutable suffix index over the word list: the mirror of the
+ * {@link PrefixIndex}, as an array of word ids sorted by their reversed
+ * words.
+ *
+ * All words sharing a suffix occupy one contiguous range `[lo, hi)`, so the
+ * array behaves as an implicit trie of the reversed words: a node is the
+ * range of words sharing the last `depth` letters, and its child for
+ * letter `ch` is the sub range whose letter `depth` places from the end
+ * is `ch`. Ranges are packed as {@link PrefixIndex#range(int, int)}.
+ */
+final class SuffixIndex {
+
+    private final WordStore words;
+
+    private final int[] sorted;
+
+    private SuffixIndex(WordStore words, int[] sorted) {
+        this.words = words;
+        this.sorted = sorted;
+    }
+
+    static SuffixIndex build(WordStore words) {
+        int[] sorted = new int[words.size()];
+        for (int id = 0; id < sorted.length; id += 1) {
+            sorted[id] = id;
+        }
+        IdSort.sort(sorted, (id1, id2) -> compareReversed(words, id1, id2));
+        return new SuffixIndex(words, sorted);
+    }
+
+    void write(DictionaryImage.Output out) throws IOException {
+        out.putInts(sorted);
+    }
+
+    static SuffixIndex read(DictionaryImage.Input in, WordStore words) {
+        return new SuffixIndex(words, in.getInts());
+    }
+
+    /**
+     * @return  The range of all words, i.e. the root of the implicit trie.
+     */
+    long all() {
+        return PrefixIndex.range(0, sorted.length);
+    }
+
+    /**
+     * @param pos  Position in the sorted array.
+     * @return  The word id at `pos`.
+     */
+    int idAt(int pos) {
+        return sorted[pos];
+    }
+
+    /**
+     * Descends from a trie node to its child.
+     *
+     * @param range  The node: words sharing the same last `depth` letters.
+     * @param depth  The length of the shared suffix.
+     * @param ch     The letter before the suffix (lowercase).
+     * @return  The range of words continuing with `ch`, or
+     *          {@link PrefixIndex#EMPTY}.
+     */
+    long child(long range, int depth, char ch) {
+        int lo = lowerBound(PrefixIndex.lo(range), PrefixIndex.hi(range), depth, ch);
+        int hi = lowerBound(lo, PrefixIndex.hi(range), depth, (char) (ch + 1));
+        return PrefixIndex.range(lo, hi);
+    }
+
+    /**
+     * Same as {@link PrefixIndex#childEnd(int, int, int)}, but of the
+     * suffix trie.
+     */
+    int childEnd(int pos, int hi, int depth) {
+        char ch = charAt(sorted[pos], depth);
+        int lo = pos + 1;
+        int step = 1;
+        while (lo < hi && charAt(sorted[lo], depth) == ch) {
+            pos = lo;
+            lo += step;
+            step <<= 1;
+        }
+        // the end is in (pos, min(lo, hi)]
+        return lowerBound(pos + 1, Math.min(lo, hi), depth, (char) (ch + 1));
+    }
+
+    /**
+     * @param suffix  The suffix, in any letter case.
+     * @return  The range of words ending with `suffix`, or
+     *          {@link PrefixIndex#EMPTY}.
+     */
+    long suffixRange(CharSequence suffix) {
+        long range = all();
+        for (int depth = 0; depth < suffix.length() && range != PrefixIndex.EMPTY; depth += 1) {
+            range = child(range, depth, Letters.fold(suffix.charAt(suffix.length() - 1 - depth)));
+        }
+        return range;
+    }
+
+    /**
+     * @return  The letter of word `id`, `depth` places from its end (0 is
+     *          the last letter).
+     */
+    char charAt(int id, int depth) {
+        return words.charAt(id, words.length(id) - 1 - depth);
+    }
+
+    /**
+     * First position in `[lo, hi)` whose letter `depth` places from the
+     * end is >= `ch`. Words in the range share the last `depth` letters,
+     * and a word with no such letter (it is the suffix itself) sorts first.
+     */
+    private int lowerBound(int lo, int hi, int depth, char ch) {
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            int id = sorted[mid];
+            if (words.length(id) <= depth || charAt(id, depth) < ch) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /*
+     * Compares two words by their reversed letters.
+     */
+    private static int compareReversed(WordStore words, int id1, int id2) {
+        int len1 = words.length(id1);
+        int len2 = words.length(id2);
+        int len = Math.min(len1, len2);
+        for (int ix = 1; ix <= len; ix += 1) {
+            int diff = words.charAt(id1, len1 - ix) - words.charAt(id2, len2 - ix);
+            if (diff != 0) {
+                return diff;
+            }
+        }
+        return len1 - len2;
+    }
+
+}
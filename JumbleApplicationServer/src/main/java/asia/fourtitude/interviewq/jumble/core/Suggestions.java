@@ -0,0 +1,218 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import java.util.Arrays;
+
+/**
+ * "Did you mean" lookups: the words within a small edit (Levenshtein)
+ * distance of a misspelt word.
+ *
+ * The dictionary is searched by walking the implicit trie of the
+ * {@link PrefixIndex} with one row of the edit distance matrix per trie
+ * level (a Levenshtein automaton, simulated), pruning every branch whose
+ * row exceeds the distance. So only the prefixes within reach of the word
+ * are visited, not the whole dictionary, and a query visits at most
+ * {@link #BUDGET} trie nodes. A word longer than the longest dictionary
+ * word plus the distance is not searched at all, so the rows (one int per
+ * letter) stay bounded by the dictionary, not the input.
+ */
+final class Suggestions {
+
+    /**
+     * The maximum number of trie nodes visited per query, beyond which
+     * the suggestions found so far are returned.
+     */
+    static final int BUDGET = 20_000;
+
+    private Suggestions() {
+    }
+
+    /**
+     * @param length  The length of the misspelt word.
+     * @return  The edit distance tolerated: 1 up to 5 letters, 2 beyond.
+     */
+    static int maxDistance(int length) {
+        return length <= 5 ? 1 : 2;
+    }
+
+    /**
+     * @return  The edit distance of `word1` and `word2` (in any letter
+     *          case), or `max + 1` if more than `max`.
+     */
+    static int distance(CharSequence word1, CharSequence word2, int max) {
+        if (Math.abs(word1.length() - word2.length()) > max) {
+            return max + 1;
+        }
+        int[] row = new int[word2.length() + 1];
+        int[] next = new int[word2.length() + 1];
+        for (int ix = 0; ix < row.length; ix += 1) {
+            row[ix] = ix;
+        }
+        for (int ix1 = 0; ix1 < word1.length(); ix1 += 1) {
+            if (nextRow(row, next, ix1 + 1, Letters.fold(word1.charAt(ix1)), word2, max) > max) {
+                return max + 1;
+            }
+            int[] swap = row;
+            row = next;
+            next = swap;
+        }
+        return Math.min(row[word2.length()], max + 1);
+    }
+
+    /**
+     * @param word         The misspelt word.
+     * @param maxDistance  The maximum edit distance.
+     * @param limit        The maximum number of suggestions.
+     * @return  The ids of the (at most) `limit` words within `maxDistance`
+     *          of `word`, closest first, ties in dictionary order.
+     */
+    static int[] search(DictionarySnapshot dict, CharSequence word, int maxDistance, int limit) {
+        if (word.length() > dict.lengthIndex.maxLength() + maxDistance) {
+            // longer than any word within reach, so not worth a row per trie level
+            return new int[0];
+        }
+        Search search = new Search(dict.prefixIndex, dict.words, word, maxDistance);
+        int[] row = search.rows[0];
+        for (int ix = 0; ix < row.length; ix += 1) {
+            row[ix] = ix;
+        }
+        search.visit(dict.prefixIndex.all(), 0);
+
+        // stable by distance, so ties keep the (dictionary) order of the walk
+        int count = Math.min(limit, search.count);
+        int[] ids = new int[count];
+        int found = 0;
+        for (int distance = 0; distance <= maxDistance && found < count; distance += 1) {
+            for (int ix = 0; ix < search.count && found < count; ix += 1) {
+                if (search.distances[ix] == distance) {
+                    ids[found++] = search.ids[ix];
+                }
+            }
+        }
+        return ids;
+    }
+
+    /*
+     * Fills `next`, the edit distances of (prefix + `ch`) to each prefix of
+     * `word`, from `row`, those of the prefix, `length` being the length of
+     * (prefix + `ch`).
+     *
+     * Only the band of cells within `max` of the diagonal can be `max` or
+     * less, so only those are computed, and the cells either side of the
+     * band are set to `max + 1` (Ukkonen's cut-off).
+     *
+     * @return  The minimum of the band.
+     */
+    private static int nextRow(int[] row, int[] next, int length, char ch, CharSequence word, int max) {
+        int from = Math.max(0, length - max);
+        int to = Math.min(next.length - 1, length + max);
+        if (from > to) {
+            return max + 1;
+        }
+        if (from > 0) {
+            next[from - 1] = max + 1;
+        }
+        if (to + 1 < next.length) {
+            next[to + 1] = max + 1;
+        }
+        int min = max + 1;
+        for (int ix = from; ix <= to; ix += 1) {
+            int value;
+            if (ix == 0) {
+                value = row[0] + 1;
+            } else {
+                int cost = Letters.fold(word.charAt(ix - 1)) == ch ? 0 : 1;
+                value = Math.min(Math.min(next[ix - 1] + 1, row[ix] + 1), row[ix - 1] + cost);
+            }
+            next[ix] = value;
+            min = Math.min(min, value);
+        }
+        return min;
+    }
+
+    private static final class Search {
+
+        final PrefixIndex prefixIndex;
+
+        final WordStore words;
+
+        final CharSequence word;
+
+        final int maxDistance;
+
+        /*
+         * The edit distance row of each trie depth.
+         */
+        int[][] rows = new int[16][];
+
+        int[] ids = new int[16];
+
+        int[] distances = new int[16];
+
+        int count;
+
+        int budget = BUDGET;
+
+        Search(PrefixIndex prefixIndex, WordStore words, CharSequence word, int maxDistance) {
+            this.prefixIndex = prefixIndex;
+            this.words = words;
+            this.word = word;
+            this.maxDistance = maxDistance;
+            this.rows[0] = new int[word.length() + 1];
+        }
+
+        /*
+         * Visits the children of the trie node `range` (words sharing the
+         * first `depth` letters), whose edit distance row is `rows[depth]`.
+         */
+        void visit(long range, int depth) {
+            if (depth + 1 == rows.length) {
+                rows = Arrays.copyOf(rows, rows.length * 2);
+            }
+            if (rows[depth + 1] == null) {
+                rows[depth + 1] = new int[word.length() + 1];
+            }
+            int[] row = rows[depth];
+            int[] next = rows[depth + 1];
+            int pos = PrefixIndex.lo(range);
+            int hi = PrefixIndex.hi(range);
+            // the words ending at this node sort first, and were matched by the parent
+            while (pos < hi && words.length(prefixIndex.idAt(pos)) == depth) {
+                pos += 1;
+            }
+            while (pos < hi && budget > 0) {
+                budget -= 1;
+                char ch = words.charAt(prefixIndex.idAt(pos), depth);
+                long child = PrefixIndex.range(pos, prefixIndex.childEnd(pos, hi, depth));
+                pos = PrefixIndex.hi(child);
+                int min = nextRow(row, next, depth + 1, ch, word, maxDistance);
+                if (min > maxDistance) {
+                    continue;
+                }
+                // the last cell is stale when outside the band, i.e. too far
+                if (word.length() - (depth + 1) <= maxDistance && next[word.length()] <= maxDistance) {
+                    int distance = next[word.length()];
+                    for (int at = PrefixIndex.lo(child); at < PrefixIndex.hi(child)
+                            && words.length(prefixIndex.idAt(at)) == depth + 1; at += 1) {
+                        add(prefixIndex.idAt(at), distance);
+                    }
+                }
+                visit(child, depth + 1);
+                // the recursion may have grown `rows`, and reuses the deeper rows
+                row = rows[depth];
+                next = rows[depth + 1];
+            }
+        }
+
+        private void add(int id, int distance) {
+            if (count == ids.length) {
+                ids = Arrays.copyOf(ids, count * 2);
+                distances = Arrays.copyOf(distances, count * 2);
+            }
+            ids[count] = id;
+            distances[count] = distance;
+            count += 1;
+        }
+
+    }
+
+}
@@ -0,0 +1,103 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import java.io.IOException;
+
+/**
+ * Immutable open-addressing hash set of word ids, for membership lookup.
+ *
+ * Slots hold `id + 1` (0 marks an empty slot), with linear probing over a
+ * power-of-two table kept at most half full. The hash of each word is
+ * stored alongside its slot, so most probe misses are rejected without
+ * touching the word characters.
+ *
+ * Lookup is case insensitive: letters are folded to lowercase while hashing
+ * and comparing, so callers do not need to allocate a lowercased copy.
+ * The stored words are expected to be lowercase already.
+ */
+final class WordHashSet {
+
+    private final WordStore words;
+
+    private final int[] slots;
+
+    private final int[] hashes;
+
+    private final int mask;
+
+    private WordHashSet(WordStore words, int[] slots, int[] hashes) {
+        this.words = words;
+        this.slots = slots;
+        this.hashes = hashes;
+        this.mask = slots.length - 1;
+    }
+
+    static WordHashSet build(WordStore words) {
+        int capacity = Integer.highestOneBit(Math.max(2, words.size()) * 2 - 1) << 1;
+        int[] slots = new int[capacity];
+        int[] hashes = new int[capacity];
+        int mask = capacity - 1;
+        for (int id = 0; id < words.size(); id += 1) {
+            int hash = hash(words.view(id));
+            int pos = hash & mask;
+            while (slots[pos] != 0) {
+                pos = (pos + 1) & mask;
+            }
+            slots[pos] = id + 1;
+            hashes[pos] = hash;
+        }
+        return new WordHashSet(words, slots, hashes);
+    }
+
+    void write(DictionaryImage.Output out) throws IOException {
+        out.putInts(slots);
+        out.putInts(hashes);
+    }
+
+    static WordHashSet read(DictionaryImage.Input in, WordStore words) {
+        return new WordHashSet(words, in.getInts(), in.getInts());
+    }
+
+    /**
+     * @param word  The word to look up, in any letter case.
+     * @return  The word id, or -1 if not found.
+     */
+    int indexOf(CharSequence word) {
+        int hash = hash(word);
+        int pos = hash & mask;
+        int slot;
+        while ((slot = slots[pos]) != 0) {
+            if (hashes[pos] == hash && equalsFolded(slot - 1, word)) {
+                return slot - 1;
+            }
+            pos = (pos + 1) & mask;
+        }
+        return -1;
+    }
+
+    boolean contains(CharSequence word) {
+        return indexOf(word) >= 0;
+    }
+
+    private static int hash(CharSequence word) {
+        int h = 0;
+        for (int ix = 0; ix < word.length(); ix += 1) {
+            h = 31 * h + Letters.fold(word.charAt(ix));
+        }
+        // spread the higher bits, as the table index only uses the lower bits
+        return h ^ (h >>> 16);
+    }
+
+    private boolean equalsFolded(int id, CharSequence word) {
+        int len = words.length(id);
+        if (len != word.length()) {
+            return false;
+        }
+        for (int ix = 0; ix < len; ix += 1) {
+            if (words.charAt(id, ix) != Letters.fold(word.charAt(ix))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+}
@@ -0,0 +1,126 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Loads a word list (one word per line, UTF-8) into a {@link WordStore}.
+ *
+ * Lines are parsed directly over the bytes: ASCII words are trimmed,
+ * lowercased and copied into the arena without creating any `String`.
+ * Only lines with non ASCII bytes are decoded through a `String`.
+ * Blank lines are skipped.
+ *
+ * Files are memory-mapped, in windows of at most {@link #MAP_WINDOW}
+ * bytes, so very large word lists are neither copied into the heap as a
+ * whole, nor limited to 2 GB.
+ */
+final class WordListLoader {
+
+    static final int MAP_WINDOW = 1 << 30;
+
+    private WordListLoader() {
+    }
+
+    static WordStore fromClasspath(String resource) {
+        try (InputStream in = WordListLoader.class.getClassLoader().getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IllegalArgumentException("Word list not found in classpath: " + resource);
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream(1 << 20);
+            byte[] buffer = new byte[1 << 16];
+            int read;
+            while ((read = in.read(buffer)) > 0) {
+                out.write(buffer, 0, read);
+            }
+            WordStore.Builder builder = new WordStore.Builder();
+            ByteBuffer bytes = ByteBuffer.wrap(out.toByteArray());
+            parse(bytes, 0, bytes.limit(), true, builder);
+            return builder.build();
+        } catch (IOException e) {
+            throw new RuntimeException("Error reading words file", e);
+        }
+    }
+
+    static WordStore fromFile(Path path) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            WordStore.Builder builder = new WordStore.Builder();
+            long size = channel.size();
+            long position = 0;
+            while (position < size) {
+                int length = (int) Math.min(MAP_WINDOW, size - position);
+                boolean last = position + length == size;
+                MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                int consumed = parse(mapped, 0, length, last, builder);
+                if (consumed == 0) {
+                    throw new IllegalArgumentException("Line too long in word list: " + path);
+                }
+                position += consumed;
+            }
+            return builder.build();
+        } catch (IOException e) {
+            throw new RuntimeException("Error reading words file: " + path, e);
+        }
+    }
+
+    /**
+     * Adds every line of `bytes[from, to)` into `builder`.
+     *
+     * @param last  If `to` is the end of input, the last line does not
+     *              need a line break.
+     * @return  The number of bytes consumed, up to the last line break
+     *          (or `to`, if `last`).
+     */
+    static int parse(ByteBuffer bytes, int from, int to, boolean last, WordStore.Builder builder) {
+        int start = from;
+        boolean ascii = true;
+        for (int pos = from; pos < to; pos += 1) {
+            byte b = bytes.get(pos);
+            if (b == '\n') {
+                addLine(bytes, start, pos, ascii, builder);
+                start = pos + 1;
+                ascii = true;
+            } else if (b < 0) {
+                ascii = false;
+            }
+        }
+        if (last && start < to) {
+            addLine(bytes, start, to, ascii, builder);
+            start = to;
+        }
+        return start - from;
+    }
+
+    private static void addLine(ByteBuffer bytes, int start, int end, boolean ascii, WordStore.Builder builder) {
+        // trim, as String.trim(), also drops the '\r' of "\r\n"
+        while (start < end && (bytes.get(start) & 0xFF) <= ' ') {
+            start += 1;
+        }
+        while (end > start && (bytes.get(end - 1) & 0xFF) <= ' ') {
+            end -= 1;
+        }
+        if (start == end) {
+            return;
+        }
+        if (ascii) {
+            builder.addLowerAscii(bytes, start, end);
+        } else {
+            byte[] line = new byte[end - start];
+            for (int ix = start; ix < end; ix += 1) {
+                line[ix - start] = bytes.get(ix);
+            }
+            String word = new String(line, StandardCharsets.UTF_8).trim().toLowerCase();
+            if (!word.isEmpty()) {
+                builder.add(word);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,115 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * One page of {@link WordResults}, with the opaque cursor of the next page.
+ *
+ * A cursor encodes the position of the next word, the version of the
+ * dictionary snapshot queried and the fingerprint of the query criteria,
+ * so a page costs O(page size), and a cursor is rejected once the
+ * dictionary is reloaded, or when passed to another query, rather than
+ * silently skip or repeat words.
+ */
+public final class WordPage {
+
+    private static final int CURSOR_BYTES = Long.BYTES + Integer.BYTES + Integer.BYTES;
+
+    private final List<String> words;
+
+    private final int offset;
+
+    private final int total;
+
+    private final String nextCursor;
+
+    private WordPage(List<String> words, int offset, int total, String nextCursor) {
+        this.words = words;
+        this.offset = offset;
+        this.total = total;
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * @param results  The query results.
+     * @param cursor   The cursor of a previous page of the same query, or
+     *                 null for the first page.
+     * @param limit    The maximum number of words, positive.
+     * @throws IllegalArgumentException  If `cursor` is malformed, of
+     *         another query, or of another dictionary snapshot.
+     */
+    static WordPage of(WordResults results, String cursor, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Invalid limit=[" + limit + "], expect positive integer");
+        }
+        int offset = cursor == null ? 0 : decode(cursor, results);
+        List<String> words = results.toList(offset, limit);
+        int next = offset + words.size();
+        return new WordPage(words, offset, results.size(),
+                next < results.size() ? encode(results, next) : null);
+    }
+
+    private static String encode(WordResults results, int position) {
+        ByteBuffer bytes = ByteBuffer.allocate(CURSOR_BYTES);
+        bytes.putLong(results.getDictionaryVersion()).putInt(results.getQueryFingerprint()).putInt(position);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.array());
+    }
+
+    private static int decode(String cursor, WordResults results) {
+        byte[] decoded;
+        try {
+            decoded = Base64.getUrlDecoder().decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor=[" + cursor + "]", e);
+        }
+        if (decoded.length != CURSOR_BYTES) {
+            throw new IllegalArgumentException("Invalid cursor=[" + cursor + "]");
+        }
+        ByteBuffer bytes = ByteBuffer.wrap(decoded);
+        long version = bytes.getLong();
+        int queryFingerprint = bytes.getInt();
+        int position = bytes.getInt();
+        if (version != results.getDictionaryVersion()) {
+            throw new IllegalArgumentException("Expired cursor=[" + cursor + "], the dictionary was reloaded");
+        }
+        if (queryFingerprint != results.getQueryFingerprint()) {
+            throw new IllegalArgumentException("Invalid cursor=[" + cursor + "], of another query");
+        }
+        if (position < 0 || position > results.size()) {
+            throw new IllegalArgumentException("Invalid cursor=[" + cursor + "]");
+        }
+        return position;
+    }
+
+    /**
+     * @return  The words of the page.
+     */
+    public List<String> getWords() {
+        return words;
+    }
+
+    /**
+     * @return  The position of the first word of the page in the results.
+     */
+    public int getOffset() {
+        return offset;
+    }
+
+    /**
+     * @return  The number of words of the whole results.
+     */
+    public int getTotal() {
+        return total;
+    }
+
+    /**
+     * @return  The cursor of the next page, or null if this is the last
+     *          page.
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+}
@@ -0,0 +1,445 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Compiled crossword-style word pattern, matched letter by letter.
+ *
+ * Syntax (case insensitive):
+ * <pre>
+ *   a        the letter `a`
+ *   ? or .   any one letter
+ *   [abc]    one of the letters `a`, `b` or `c`; ranges as in `[a-e]`
+ *   [^abc]   any one letter but `a`, `b` or `c`
+ *   *        any letters, or none
+ * </pre>
+ * For example `a?p?e`, `*ing`, `ca*` or `[^aeiou]*[aeiou][aeiou]`.
+ *
+ * The pattern is compiled to a non-deterministic automaton of one state
+ * per token (plus the accept state), and a set of states is the bits of a
+ * `long`. So a step is a few bit operations (shift-and): the tokens
+ * matching the letter advance, and the `*` tokens stay. The automaton is
+ * stepped along the implicit trie of the {@link PrefixIndex}, or of the
+ * {@link SuffixIndex} with the reversed pattern, pruning every branch
+ * where no state is left.
+ */
+final class WordPattern {
+
+    /**
+     * The maximum number of tokens, as a state set is the bits of a `long`
+     * (with the accept state).
+     */
+    static final int MAX_TOKENS = 63;
+
+    private static final CharClass ANY = new CharClass(new char[0], true);
+
+    /*
+     * One class per token, null for `*`.
+     */
+    private final CharClass[] tokens;
+
+    /*
+     * Bit `ix` is set if token `ix` matches letter `'a' + letter`.
+     */
+    private final long[] letterMasks = new long[26];
+
+    /*
+     * Bit `ix` is set if token `ix` is `*`.
+     */
+    private final long starMask;
+
+    private WordPattern(CharClass[] tokens) {
+        this.tokens = tokens;
+        long stars = 0;
+        for (int ix = 0; ix < tokens.length; ix += 1) {
+            if (tokens[ix] == null) {
+                stars |= 1L << ix;
+                continue;
+            }
+            for (int letter = 0; letter < 26; letter += 1) {
+                if (tokens[ix].matches((char) ('a' + letter))) {
+                    letterMasks[letter] |= 1L << ix;
+                }
+            }
+        }
+        this.starMask = stars;
+    }
+
+    /**
+     * @param pattern  The pattern, in any letter case.
+     * @return  The compiled pattern.
+     * @throws IllegalArgumentException  If `pattern` is blank, malformed,
+     *         or longer than {@link #MAX_TOKENS} tokens.
+     */
+    static WordPattern compile(String pattern) {
+        if (pattern == null || pattern.trim().isEmpty()) {
+            throw new IllegalArgumentException("Invalid pattern=[" + pattern + "], expect letters and wildcards");
+        }
+        pattern = pattern.trim();
+        List<CharClass> tokens = new ArrayList<>();
+        for (int ix = 0; ix < pattern.length(); ix += 1) {
+            char ch = pattern.charAt(ix);
+            if (ch == '*') {
+                // `**` is `*`
+                if (tokens.isEmpty() || tokens.get(tokens.size() - 1) != null) {
+                    tokens.add(null);
+                }
+            } else if (ch == '?' || ch == '.') {
+                tokens.add(ANY);
+            } else if (ch == '[') {
+                int end = pattern.indexOf(']', ix + 1);
+                if (end < 0) {
+                    throw new IllegalArgumentException("Invalid pattern=[" + pattern + "], unclosed '[' at " + ix);
+                }
+                tokens.add(CharClass.parse(pattern, ix + 1, end));
+                ix = end;
+            } else if (Character.isLetter(ch)) {
+                tokens.add(new CharClass(new char[] { Letters.fold(ch), Letters.fold(ch) }, false));
+            } else {
+                throw new IllegalArgumentException("Invalid pattern=[" + pattern + "], unexpected '" + ch + "' at " + ix);
+            }
+        }
+        if (tokens.size() > MAX_TOKENS) {
+            throw new IllegalArgumentException("Invalid pattern=[" + pattern + "], expect at most " + MAX_TOKENS + " letters and wildcards");
+        }
+        return new WordPattern(tokens.toArray(new CharClass[0]));
+    }
+
+    /**
+     * @return  The pattern matching the reversed words.
+     */
+    WordPattern reverse() {
+        CharClass[] reversed = new CharClass[tokens.length];
+        for (int ix = 0; ix < tokens.length; ix += 1) {
+            reversed[ix] = tokens[tokens.length - 1 - ix];
+        }
+        return new WordPattern(reversed);
+    }
+
+    /**
+     * @return  The state set before any letter.
+     */
+    long start() {
+        return closure(1L);
+    }
+
+    /**
+     * @param states  A state set, not empty.
+     * @param ch      The next letter (lowercase).
+     * @return  The state set after `ch`, empty (0) if no state is left.
+     */
+    long step(long states, char ch) {
+        long matched;
+        if (ch >= 'a' && ch <= 'z') {
+            matched = letterMasks[ch - 'a'];
+        } else {
+            matched = 0;
+            for (int ix = 0; ix < tokens.length; ix += 1) {
+                if (tokens[ix] != null && tokens[ix].matches(ch)) {
+                    matched |= 1L << ix;
+                }
+            }
+        }
+        return closure(((states & matched) << 1) | (states & starMask));
+    }
+
+    /**
+     * @return  true if a word ending in `states` matches.
+     */
+    boolean accepts(long states) {
+        return (states >>> tokens.length & 1L) != 0;
+    }
+
+    /**
+     * @return  true if every word continuing from `states` matches, i.e.
+     *          the pattern is left with a trailing `*` only.
+     */
+    boolean acceptsAll(long states) {
+        int last = tokens.length - 1;
+        return last >= 0 && tokens[last] == null && (states >>> last & 1L) != 0;
+    }
+
+    /**
+     * @return  The letters the matching words start with: the leading
+     *          tokens which are a single letter.
+     */
+    String leadingLetters() {
+        StringBuilder letters = new StringBuilder();
+        for (int ix = 0; ix < tokens.length && tokens[ix] != null && tokens[ix].isLetter(); ix += 1) {
+            letters.append(tokens[ix].ranges[0]);
+        }
+        return letters.toString();
+    }
+
+    /**
+     * @return  The letters the matching words end with: the trailing
+     *          tokens which are a single letter.
+     */
+    String trailingLetters() {
+        StringBuilder letters = new StringBuilder();
+        for (int ix = tokens.length - 1; ix >= 0 && tokens[ix] != null && tokens[ix].isLetter(); ix -= 1) {
+            letters.append(tokens[ix].ranges[0]);
+        }
+        return letters.reverse().toString();
+    }
+
+    /**
+     * @return  true if a token is a single letter, outside of a class.
+     */
+    boolean hasLetter() {
+        for (CharClass token : tokens) {
+            if (token != null && token.isLetter()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return  The length of the matching words, or -1 if they may be of
+     *          any length (the pattern has a `*`).
+     */
+    int fixedLength() {
+        return starMask == 0 ? tokens.length : -1;
+    }
+
+    /**
+     * Finds the matching words by the cheapest of: walking the trie of the
+     * {@link PrefixIndex} (visiting at most the words starting with the
+     * leading letters), the trie of the {@link SuffixIndex} with the
+     * reversed pattern (the words ending with the trailing letters, e.g.
+     * for `*ing`), or checking each word of the length bucket (for a
+     * pattern without `*`, e.g. `??????`).
+     *
+     * @return  The ids of the words matching this pattern, in dictionary
+     *          order.
+     */
+    int[] search(DictionarySnapshot dict) {
+        int prefixCost = walkCost(dict, false);
+        int suffixCost = walkCost(dict, true);
+        int length = fixedLength();
+        int lengthSize = lengthCost(dict);
+
+        int[] ids;
+        if (lengthSize <= prefixCost && lengthSize <= suffixCost) {
+            ids = new int[lengthSize];
+            int count = 0;
+            for (int nth = 0; nth < lengthSize; nth += 1) {
+                int id = dict.lengthIndex.get(length, nth);
+                if (matches(dict.words, id)) {
+                    ids[count++] = id;
+                }
+            }
+            ids = Arrays.copyOf(ids, count);
+        } else if (suffixCost < prefixCost) {
+            Walk walk = new Walk(dict.words, null, dict.suffixIndex, reverse());
+            walk.visit(dict.suffixIndex.all(), 0, walk.pattern.start());
+            ids = Arrays.copyOf(walk.ids, walk.count);
+        } else {
+            Walk walk = new Walk(dict.words, dict.prefixIndex, null, this);
+            walk.visit(dict.prefixIndex.all(), 0, start());
+            // already in word order
+            return Arrays.copyOf(walk.ids, walk.count);
+        }
+        dict.prefixIndex.sortIds(ids);
+        return ids;
+    }
+
+    /**
+     * @return  At most how many words {@link #search(DictionarySnapshot)}
+     *          visits, i.e. at least the number of matching words.
+     */
+    int cost(DictionarySnapshot dict) {
+        return Math.min(lengthCost(dict), Math.min(walkCost(dict, false), walkCost(dict, true)));
+    }
+
+    /*
+     * The number of words of the length bucket, if the pattern has no `*`.
+     */
+    private int lengthCost(DictionarySnapshot dict) {
+        int length = fixedLength();
+        return length >= 0 ? dict.lengthIndex.size(length) : Integer.MAX_VALUE;
+    }
+
+    /*
+     * At most how many words a walk of the prefix trie (or of the suffix
+     * trie, if `reversed`) visits: those starting (ending) with the leading
+     * (trailing) letters, and with a letter of the class after them, if
+     * any. Letters beyond 'a' to 'z' are not counted.
+     */
+    private int walkCost(DictionarySnapshot dict, boolean reversed) {
+        String letters = reversed ? trailingLetters() : leadingLetters();
+        int depth = letters.length();
+        long range = reversed ? dict.suffixIndex.suffixRange(letters) : dict.prefixIndex.prefixRange(letters);
+        CharClass next = depth < tokens.length ? tokens[reversed ? tokens.length - 1 - depth : depth] : null;
+        if (range == PrefixIndex.EMPTY || next == null || next == ANY) {
+            return PrefixIndex.size(range);
+        }
+        int cost = 0;
+        for (char ch = 'a'; ch <= 'z'; ch += 1) {
+            if (next.matches(ch)) {
+                cost += PrefixIndex.size(reversed ? dict.suffixIndex.child(range, depth, ch)
+                        : dict.prefixIndex.child(range, depth, ch));
+            }
+        }
+        return cost;
+    }
+
+    /*
+     * Whether word `id` matches, letter by letter.
+     */
+    private boolean matches(WordStore words, int id) {
+        long states = start();
+        for (int ix = 0; ix < words.length(id) && states != 0; ix += 1) {
+            states = step(states, words.charAt(id, ix));
+        }
+        return accepts(states);
+    }
+
+    /*
+     * Adds the states reached without a letter: the token after a `*`
+     * (which may be none). There are no two `*` in a row.
+     */
+    private long closure(long states) {
+        return states | ((states & starMask) << 1);
+    }
+
+    /*
+     * Depth first walk of the prefix trie, or of the suffix trie (if set).
+     */
+    private static final class Walk {
+
+        final WordStore words;
+
+        final PrefixIndex prefixIndex;
+
+        final SuffixIndex suffixIndex;
+
+        final WordPattern pattern;
+
+        int[] ids = new int[16];
+
+        int count;
+
+        Walk(WordStore words, PrefixIndex prefixIndex, SuffixIndex suffixIndex, WordPattern pattern) {
+            this.words = words;
+            this.prefixIndex = prefixIndex;
+            this.suffixIndex = suffixIndex;
+            this.pattern = pattern;
+        }
+
+        /*
+         * Visits the trie node `range` (words sharing `depth` letters), where
+         * the pattern is in `states`.
+         */
+        void visit(long range, int depth, long states) {
+            int pos = PrefixIndex.lo(range);
+            int hi = PrefixIndex.hi(range);
+            if (pattern.acceptsAll(states)) {
+                while (pos < hi) {
+                    add(idAt(pos++));
+                }
+                return;
+            }
+            // the words ending at this node sort first
+            while (pos < hi && words.length(idAt(pos)) == depth) {
+                if (pattern.accepts(states)) {
+                    add(idAt(pos));
+                }
+                pos += 1;
+            }
+            while (pos < hi) {
+                int end = childEnd(pos, hi, depth);
+                long next = pattern.step(states, charAt(idAt(pos), depth));
+                if (next != 0) {
+                    visit(PrefixIndex.range(pos, end), depth + 1, next);
+                }
+                pos = end;
+            }
+        }
+
+        private int idAt(int pos) {
+            return suffixIndex != null ? suffixIndex.idAt(pos) : prefixIndex.idAt(pos);
+        }
+
+        private char charAt(int id, int depth) {
+            return suffixIndex != null ? suffixIndex.charAt(id, depth) : words.charAt(id, depth);
+        }
+
+        private int childEnd(int pos, int hi, int depth) {
+            return suffixIndex != null ? suffixIndex.childEnd(pos, hi, depth) : prefixIndex.childEnd(pos, hi, depth);
+        }
+
+        private void add(int id) {
+            if (count == ids.length) {
+                ids = Arrays.copyOf(ids, count * 2);
+            }
+            ids[count++] = id;
+        }
+
+    }
+
+    /*
+     * A set of letters, as sorted `[from, to]` ranges, or its complement.
+     */
+    private static final class CharClass {
+
+        private final char[] ranges;
+
+        private final boolean negated;
+
+        CharClass(char[] ranges, boolean negated) {
+            this.ranges = ranges;
+            this.negated = negated;
+        }
+
+        /*
+         * Parses the class between `[` and `]`, `pattern[from, to)`.
+         */
+        static CharClass parse(String pattern, int from, int to) {
+            boolean negated = from < to && pattern.charAt(from) == '^';
+            int ix = negated ? from + 1 : from;
+            if (ix == to) {
+                throw new IllegalArgumentException("Invalid pattern=[" + pattern + "], empty '[]' at " + (from - 1));
+            }
+            char[] ranges = new char[2 * (to - ix)];
+            int count = 0;
+            while (ix < to) {
+                char lo = pattern.charAt(ix);
+                char hi = lo;
+                if (ix + 2 < to && pattern.charAt(ix + 1) == '-') {
+                    hi = pattern.charAt(ix + 2);
+                    ix += 3;
+                } else {
+                    ix += 1;
+                }
+                if (!Character.isLetter(lo) || !Character.isLetter(hi) || Letters.fold(lo) > Letters.fold(hi)) {
+                    throw new IllegalArgumentException("Invalid pattern=[" + pattern + "], invalid letters in '[]' at " + (from - 1));
+                }
+                ranges[count++] = Letters.fold(lo);
+                ranges[count++] = Letters.fold(hi);
+            }
+            return new CharClass(Arrays.copyOf(ranges, count), negated);
+        }
+
+        /*
+         * Whether this is a single letter, `ranges[0]`.
+         */
+        boolean isLetter() {
+            return !negated && ranges.length == 2 && ranges[0] == ranges[1];
+        }
+
+        boolean matches(char ch) {
+            for (int ix = 0; ix < ranges.length; ix += 2) {
+                if (ch >= ranges[ix] && ch <= ranges[ix + 1]) {
+                    return !negated;
+                }
+            }
+            return negated;
+        }
+
+    }
+
+}
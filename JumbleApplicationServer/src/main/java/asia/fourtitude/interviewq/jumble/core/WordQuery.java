@@ -0,0 +1,299 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+/**
+ * Immutable word query: any combination of criteria, all of which a word
+ * must meet (see {@link JumbleEngine#querySearchWords(WordQuery)}).
+ *
+ * Criteria are the prefix, suffix, an infix the word contains, the
+ * length range, letters the word must (or must not) have, and the first
+ * and last letters. Matching is case insensitive.
+ *
+ * Queries are created by {@link #builder()}, for example
+ * <pre>
+ *   WordQuery.builder().prefix("re").contains("ti").maxLength(7).excludedLetters("s").build()
+ * </pre>
+ */
+public final class WordQuery {
+
+    private final String prefix;
+
+    private final String suffix;
+
+    private final String contains;
+
+    private final Integer minLength;
+
+    private final Integer maxLength;
+
+    private final String requiredLetters;
+
+    private final String excludedLetters;
+
+    private final Character startChar;
+
+    private final Character endChar;
+
+    private WordQuery(Builder builder) {
+        this.prefix = builder.prefix;
+        this.suffix = builder.suffix;
+        this.contains = builder.contains;
+        this.minLength = builder.minLength;
+        this.maxLength = builder.maxLength;
+        this.requiredLetters = builder.requiredLetters;
+        this.excludedLetters = builder.excludedLetters;
+        this.startChar = builder.startChar;
+        this.endChar = builder.endChar;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return  The prefix (lowercase), or null if any.
+     */
+    public String getPrefix() {
+        return prefix;
+    }
+
+    /**
+     * @return  The suffix (lowercase), or null if any.
+     */
+    public String getSuffix() {
+        return suffix;
+    }
+
+    /**
+     * @return  The infix the word contains (lowercase), or null if any.
+     */
+    public String getContains() {
+        return contains;
+    }
+
+    /**
+     * @return  The minimum word length, or null if any.
+     */
+    public Integer getMinLength() {
+        return minLength;
+    }
+
+    /**
+     * @return  The maximum word length, or null if any.
+     */
+    public Integer getMaxLength() {
+        return maxLength;
+    }
+
+    /**
+     * @return  The letters the word has, each at least once (lowercase,
+     *          distinct), or null if any.
+     */
+    public String getRequiredLetters() {
+        return requiredLetters;
+    }
+
+    /**
+     * @return  The letters the word does not have (lowercase, distinct),
+     *          or null if any.
+     */
+    public String getExcludedLetters() {
+        return excludedLetters;
+    }
+
+    /**
+     * @return  The first letter (lowercase), or null if any.
+     */
+    public Character getStartChar() {
+        return startChar;
+    }
+
+    /**
+     * @return  The last letter (lowercase), or null if any.
+     */
+    public Character getEndChar() {
+        return endChar;
+    }
+
+    /**
+     * @return  true if the query has no criteria.
+     */
+    public boolean isEmpty() {
+        return prefix == null && suffix == null && contains == null && minLength == null && maxLength == null
+                && requiredLetters == null && excludedLetters == null && startChar == null && endChar == null;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        append(sb, "prefix", prefix);
+        append(sb, "suffix", suffix);
+        append(sb, "contains", contains);
+        append(sb, "minLength", minLength);
+        append(sb, "maxLength", maxLength);
+        append(sb, "requiredLetters", requiredLetters);
+        append(sb, "excludedLetters", excludedLetters);
+        append(sb, "startChar", startChar);
+        append(sb, "endChar", endChar);
+        return sb.toString();
+    }
+
+    private static void append(StringBuilder sb, String name, Object value) {
+        if (value != null) {
+            sb.append(sb.length() == 0 ? "" : ", ").append(name).append("=[").append(value).append(']');
+        }
+    }
+
+    /**
+     * Collects the criteria of a query. Null or blank criteria are
+     * ignored, i.e. match any word.
+     */
+    public static final class Builder {
+
+        private String prefix;
+
+        private String suffix;
+
+        private String contains;
+
+        private Integer minLength;
+
+        private Integer maxLength;
+
+        private String requiredLetters;
+
+        private String excludedLetters;
+
+        private Character startChar;
+
+        private Character endChar;
+
+        private Builder() {
+        }
+
+        /**
+         * @throws IllegalArgumentException  If `prefix` has non letters.
+         */
+        public Builder prefix(String prefix) {
+            this.prefix = letters("prefix", prefix);
+            return this;
+        }
+
+        /**
+         * @throws IllegalArgumentException  If `suffix` has non letters.
+         */
+        public Builder suffix(String suffix) {
+            this.suffix = letters("suffix", suffix);
+            return this;
+        }
+
+        /**
+         * @throws IllegalArgumentException  If `infix` has non letters.
+         */
+        public Builder contains(String infix) {
+            this.contains = letters("contains", infix);
+            return this;
+        }
+
+        /**
+         * @throws IllegalArgumentException  If `minLength` is less than 1.
+         */
+        public Builder minLength(Integer minLength) {
+            this.minLength = length("minLength", minLength);
+            return this;
+        }
+
+        /**
+         * @throws IllegalArgumentException  If `maxLength` is less than 1.
+         */
+        public Builder maxLength(Integer maxLength) {
+            this.maxLength = length("maxLength", maxLength);
+            return this;
+        }
+
+        /**
+         * Same as both `minLength(length)` and `maxLength(length)`.
+         */
+        public Builder length(Integer length) {
+            return minLength(length).maxLength(length);
+        }
+
+        /**
+         * @throws IllegalArgumentException  If `letters` has non letters.
+         */
+        public Builder requiredLetters(String letters) {
+            this.requiredLetters = distinct(letters("requiredLetters", letters));
+            return this;
+        }
+
+        /**
+         * @throws IllegalArgumentException  If `letters` has non letters.
+         */
+        public Builder excludedLetters(String letters) {
+            this.excludedLetters = distinct(letters("excludedLetters", letters));
+            return this;
+        }
+
+        /**
+         * @throws IllegalArgumentException  If `startChar` is not a letter.
+         */
+        public Builder startChar(Character startChar) {
+            this.startChar = letter("startChar", startChar);
+            return this;
+        }
+
+        /**
+         * @throws IllegalArgumentException  If `endChar` is not a letter.
+         */
+        public Builder endChar(Character endChar) {
+            this.endChar = letter("endChar", endChar);
+            return this;
+        }
+
+        public WordQuery build() {
+            return new WordQuery(this);
+        }
+
+        private static String letters(String name, String value) {
+            if (value == null || value.trim().isEmpty()) {
+                return null;
+            }
+            value = value.trim();
+            if (!Letters.isLetters(value)) {
+                throw new IllegalArgumentException("Invalid " + name + "=[" + value + "], expect letters only");
+            }
+            return Letters.fold(value);
+        }
+
+        private static Character letter(String name, Character value) {
+            if (value == null) {
+                return null;
+            }
+            if (!Character.isLetter(value)) {
+                throw new IllegalArgumentException("Invalid " + name + "=[" + value + "], expect a letter");
+            }
+            return Letters.fold(value);
+        }
+
+        private static Integer length(String name, Integer value) {
+            if (value != null && value < 1) {
+                throw new IllegalArgumentException("Invalid " + name + "=[" + value + "], expect 1 or greater");
+            }
+            return value;
+        }
+
+        private static String distinct(String letters) {
+            if (letters == null) {
+                return null;
+            }
+            StringBuilder distinct = new StringBuilder();
+            for (int ix = 0; ix < letters.length(); ix += 1) {
+                if (distinct.indexOf(String.valueOf(letters.charAt(ix))) < 0) {
+                    distinct.append(letters.charAt(ix));
+                }
+            }
+            return distinct.toString();
+        }
+
+    }
+
+}
@@ -0,0 +1,228 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.IntUnaryOperator;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Lazy result of a word query: a cursor over index positions `0` to
+ * `size() - 1`, each resolved to a word only when consumed.
+ *
+ * A query costs its index lookup only (a prefix range, or the ids of a
+ * search), and a page of `limit` words costs `limit` word copies, however
+ * large the whole result is.
+ *
+ * Results are bound to the dictionary snapshot of the query, so they stay
+ * consistent while the dictionary is reloaded, and to the fingerprint of
+ * the query criteria, so a cursor of one query cannot page another.
+ */
+public final class WordResults implements Iterable<String> {
+
+    private final WordStore words;
+
+    private final long dictionaryVersion;
+
+    private final int size;
+
+    /*
+     * Position to word id.
+     */
+    private final IntUnaryOperator idAt;
+
+    /*
+     * Hash of the query name and its normalized criteria, 0 if unbound.
+     */
+    private final int queryFingerprint;
+
+    private WordResults(WordStore words, long dictionaryVersion, int size, IntUnaryOperator idAt) {
+        this(words, dictionaryVersion, size, idAt, 0);
+    }
+
+    private WordResults(WordStore words, long dictionaryVersion, int size, IntUnaryOperator idAt,
+            int queryFingerprint) {
+        this.words = words;
+        this.dictionaryVersion = dictionaryVersion;
+        this.size = size;
+        this.idAt = idAt;
+        this.queryFingerprint = queryFingerprint;
+    }
+
+    static WordResults empty(DictionarySnapshot dict) {
+        return new WordResults(dict.words, dict.version, 0, pos -> {
+            throw new IndexOutOfBoundsException("pos=" + pos);
+        });
+    }
+
+    /**
+     * @param ids   Word ids, in result order; not copied.
+     * @param size  The number of leading ids of the result.
+     */
+    static WordResults of(DictionarySnapshot dict, int[] ids, int size) {
+        return new WordResults(dict.words, dict.version, size, pos -> ids[pos]);
+    }
+
+    /**
+     * @param range  A range of the prefix index.
+     */
+    static WordResults of(DictionarySnapshot dict, long range) {
+        PrefixIndex prefixIndex = dict.prefixIndex;
+        int lo = PrefixIndex.lo(range);
+        return new WordResults(dict.words, dict.version, PrefixIndex.size(range),
+                pos -> prefixIndex.idAt(lo + pos));
+    }
+
+    /**
+     * @param range  A range of the suffix index.
+     */
+    static WordResults ofSuffix(DictionarySnapshot dict, long range) {
+        SuffixIndex suffixIndex = dict.suffixIndex;
+        int lo = PrefixIndex.lo(range);
+        return new WordResults(dict.words, dict.version, PrefixIndex.size(range),
+                pos -> suffixIndex.idAt(lo + pos));
+    }
+
+    /**
+     * @param length  A word length, with words in the length index.
+     */
+    static WordResults ofLength(DictionarySnapshot dict, int length) {
+        LengthIndex lengthIndex = dict.lengthIndex;
+        return new WordResults(dict.words, dict.version, lengthIndex.size(length),
+                pos -> lengthIndex.get(length, pos));
+    }
+
+    /**
+     * @param name      The query, such as "prefix".
+     * @param criteria  Its criteria, compared case insensitively; null for
+     *                  a default criterion.
+     * @return  These results, whose cursors page the same query (same
+     *          name and criteria) only.
+     */
+    WordResults forQuery(String name, Object... criteria) {
+        StringBuilder query = new StringBuilder(name);
+        for (Object criterion : criteria) {
+            query.append('\0').append(criterion != null ? Letters.fold(criterion.toString()) : "");
+        }
+        return new WordResults(words, dictionaryVersion, size, idAt, query.toString().hashCode());
+    }
+
+    /**
+     * @return  The number of words of the whole result.
+     */
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @return  The version of the dictionary snapshot queried.
+     * @see JumbleEngine#dictionaryVersion()
+     */
+    public long getDictionaryVersion() {
+        return dictionaryVersion;
+    }
+
+    /**
+     * @return  The fingerprint of the query criteria, encoded in cursors.
+     */
+    int getQueryFingerprint() {
+        return queryFingerprint;
+    }
+
+    /**
+     * @param pos  The position, from 0 to `size() - 1`.
+     * @return  The word at `pos`.
+     */
+    public String get(int pos) {
+        if (pos < 0 || pos >= size) {
+            throw new IndexOutOfBoundsException("pos=" + pos + ", size=" + size);
+        }
+        return words.get(idAt.applyAsInt(pos));
+    }
+
+    /**
+     * @return  All the words, resolved as consumed.
+     */
+    public Stream<String> stream() {
+        return stream(0, size);
+    }
+
+    /**
+     * Same as `stream().skip(offset).limit(limit)`, but the skipped words
+     * are not resolved.
+     *
+     * @param offset  The number of words to skip, 0 or greater.
+     * @param limit   The maximum number of words, 0 or greater.
+     * @return  The words from position `offset`, resolved as consumed.
+     */
+    public Stream<String> stream(int offset, int limit) {
+        checkPage(offset, limit);
+        int from = Math.min(offset, size);
+        int to = from + Math.min(limit, size - from);
+        return IntStream.range(from, to).mapToObj(pos -> words.get(idAt.applyAsInt(pos)));
+    }
+
+    /**
+     * Same as {@link #stream(int, int)}, but copied into a list.
+     */
+    public List<String> toList(int offset, int limit) {
+        checkPage(offset, limit);
+        int from = Math.min(offset, size);
+        int to = from + Math.min(limit, size - from);
+        List<String> page = new ArrayList<>(to - from);
+        for (int pos = from; pos < to; pos += 1) {
+            page.add(words.get(idAt.applyAsInt(pos)));
+        }
+        return page;
+    }
+
+    /**
+     * @param cursor  The {@link WordPage#getNextCursor()} of the previous
+     *                page, or null for the first page.
+     * @param limit   The maximum number of words, positive.
+     * @return  The page of words at `cursor`.
+     * @throws IllegalArgumentException  If `cursor` is malformed, of
+     *         another query, or the dictionary was reloaded since.
+     */
+    public WordPage page(String cursor, int limit) {
+        return WordPage.of(this, cursor, limit);
+    }
+
+    @Override
+    public Iterator<String> iterator() {
+        return new Iterator<String>() {
+
+            private int pos;
+
+            @Override
+            public boolean hasNext() {
+                return pos < size;
+            }
+
+            @Override
+            public String next() {
+                if (pos >= size) {
+                    throw new NoSuchElementException();
+                }
+                return words.get(idAt.applyAsInt(pos++));
+            }
+
+        };
+    }
+
+    private static void checkPage(int offset, int limit) {
+        if (offset < 0) {
+            throw new IllegalArgumentException("Invalid offset=[" + offset + "], expect 0 or greater");
+        }
+        if (limit < 0) {
+            throw new IllegalArgumentException("Invalid limit=[" + limit + "], expect 0 or greater");
+        }
+    }
+
+}
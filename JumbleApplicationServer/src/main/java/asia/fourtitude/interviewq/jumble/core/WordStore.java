@@ -0,0 +1,334 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Immutable word list packed into one contiguous arena, referenced by
+ * int word ids.
+ *
+ * Words are stored back to back, one byte per character (ISO-8859-1),
+ * and `offsets[id]` to `offsets[id + 1]` delimits word `id`. A word list
+ * with characters beyond ISO-8859-1 falls back to a `char[]` arena. This
+ * replaces one `String` (plus its `byte[]`) per word with two arrays for
+ * the whole list.
+ *
+ * Words are exposed as `CharSequence` views, or copied to `String` on
+ * demand when returned to callers.
+ */
+final class WordStore {
+
+    private final byte[] latin1;
+
+    private final char[] chars;
+
+    private final int[] offsets;
+
+    private WordStore(byte[] latin1, char[] chars, int[] offsets) {
+        this.latin1 = latin1;
+        this.chars = chars;
+        this.offsets = offsets;
+    }
+
+    int size() {
+        return offsets.length - 1;
+    }
+
+    int length(int id) {
+        return offsets[id + 1] - offsets[id];
+    }
+
+    char charAt(int id, int index) {
+        int pos = offsets[id] + index;
+        return latin1 != null ? (char) (latin1[pos] & 0xFF) : chars[pos];
+    }
+
+    char lastChar(int id) {
+        return charAt(id, length(id) - 1);
+    }
+
+    /**
+     * @return  The number of characters of the arena, all words.
+     */
+    int arenaLength() {
+        return offsets[size()];
+    }
+
+    /**
+     * @return  The arena position of the first character of word `id`.
+     */
+    int start(int id) {
+        return offsets[id];
+    }
+
+    /**
+     * @return  The character at arena `position`.
+     */
+    char arenaCharAt(int position) {
+        return latin1 != null ? (char) (latin1[position] & 0xFF) : chars[position];
+    }
+
+    /**
+     * @param position  An arena position, from 0 to `arenaLength() - 1`.
+     * @return  The id of the word holding the character at `position`.
+     */
+    int idAtPosition(int position) {
+        // the first word ending after `position`
+        int lo = 0;
+        int hi = size();
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (offsets[mid + 1] <= position) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * @return  A copy of word `id`.
+     */
+    String get(int id) {
+        if (latin1 != null) {
+            return new String(latin1, offsets[id], length(id), StandardCharsets.ISO_8859_1);
+        }
+        return new String(chars, offsets[id], length(id));
+    }
+
+    /**
+     * @return  A view of word `id`, without copying.
+     */
+    CharSequence view(int id) {
+        return new WordView(id, 0, length(id));
+    }
+
+    /**
+     * Compares two words, like `String.compareTo`.
+     */
+    int compare(int id1, int id2) {
+        int len1 = length(id1);
+        int len2 = length(id2);
+        int len = Math.min(len1, len2);
+        for (int ix = 0; ix < len; ix += 1) {
+            int diff = charAt(id1, ix) - charAt(id2, ix);
+            if (diff != 0) {
+                return diff;
+            }
+        }
+        return len1 - len2;
+    }
+
+    boolean contentEquals(int id, CharSequence word) {
+        int len = length(id);
+        if (len != word.length()) {
+            return false;
+        }
+        for (int ix = 0; ix < len; ix += 1) {
+            if (charAt(id, ix) != word.charAt(ix)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return  true if word `id` contains `infix` (already folded), in
+     *          place in the arena, without copying the word.
+     */
+    boolean contains(int id, CharSequence infix) {
+        int last = offsets[id + 1] - infix.length();
+        for (int pos = offsets[id]; pos <= last; pos += 1) {
+            int ix = 0;
+            while (ix < infix.length() && arenaCharAt(pos + ix) == infix.charAt(ix)) {
+                ix += 1;
+            }
+            if (ix == infix.length()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return  The ids of the words containing `infix` (already folded),
+     *          by checking every word.
+     */
+    int[] idsContaining(CharSequence infix) {
+        DictionarySnapshot.IdList ids = new DictionarySnapshot.IdList();
+        for (int id = 0; id < size(); id += 1) {
+            if (contains(id, infix)) {
+                ids.add(id);
+            }
+        }
+        return ids.toArray();
+    }
+
+    /**
+     * @return  The approximate heap bytes used by the arena and offsets.
+     */
+    long memoryBytes() {
+        long arena = latin1 != null ? latin1.length : 2L * chars.length;
+        return arena + 4L * offsets.length;
+    }
+
+    void write(DictionaryImage.Output out) throws IOException {
+        if (latin1 != null) {
+            out.putInt(0);
+            out.putBytes(latin1);
+        } else {
+            out.putInt(1);
+            out.putChars(chars);
+        }
+        out.putInts(offsets);
+    }
+
+    static WordStore read(DictionaryImage.Input in) {
+        boolean wide = in.getInt() != 0;
+        byte[] latin1 = wide ? null : in.getBytes();
+        char[] chars = wide ? in.getChars() : null;
+        return new WordStore(latin1, chars, in.getInts());
+    }
+
+    private final class WordView implements CharSequence {
+
+        private final int id;
+
+        private final int start;
+
+        private final int end;
+
+        WordView(int id, int start, int end) {
+            this.id = id;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        public int length() {
+            return end - start;
+        }
+
+        @Override
+        public char charAt(int index) {
+            return WordStore.this.charAt(id, start + index);
+        }
+
+        @Override
+        public CharSequence subSequence(int from, int to) {
+            return new WordView(id, start + from, start + to);
+        }
+
+        @Override
+        public String toString() {
+            if (start == 0 && end == WordStore.this.length(id)) {
+                return get(id);
+            }
+            return get(id).substring(start, end);
+        }
+
+    }
+
+    /**
+     * Appends words into a growing arena. The arena is kept one byte per
+     * character, until a character beyond ISO-8859-1 is added.
+     */
+    static final class Builder {
+
+        private byte[] latin1 = new byte[1 << 16];
+
+        private char[] chars = null;
+
+        private int[] offsets = new int[1 << 12];
+
+        private int size = 0;
+
+        private int used = 0;
+
+        int size() {
+            return size;
+        }
+
+        Builder add(CharSequence word) {
+            return add(word, 0, word.length());
+        }
+
+        Builder add(CharSequence text, int start, int end) {
+            ensureCapacity(end - start);
+            for (int ix = start; ix < end; ix += 1) {
+                char ch = text.charAt(ix);
+                if (ch > 0xFF && chars == null) {
+                    widen();
+                }
+                if (chars != null) {
+                    chars[used++] = ch;
+                } else {
+                    latin1[used++] = (byte) ch;
+                }
+            }
+            return endWord();
+        }
+
+        /**
+         * Adds the ISO-8859-1 (or ASCII) bytes `[start, end)` of `buffer`
+         * as one word, lowercasing 'A' to 'Z' on the way.
+         */
+        Builder addLowerAscii(ByteBuffer buffer, int start, int end) {
+            ensureCapacity(end - start);
+            for (int ix = start; ix < end; ix += 1) {
+                byte b = buffer.get(ix);
+                if (b >= 'A' && b <= 'Z') {
+                    b += 'a' - 'A';
+                }
+                if (chars != null) {
+                    chars[used++] = (char) (b & 0xFF);
+                } else {
+                    latin1[used++] = b;
+                }
+            }
+            return endWord();
+        }
+
+        private void ensureCapacity(int len) {
+            int capacity = chars != null ? chars.length : latin1.length;
+            if (used + len > capacity) {
+                int grown = Math.max(capacity * 2, used + len);
+                if (chars != null) {
+                    chars = Arrays.copyOf(chars, grown);
+                } else {
+                    latin1 = Arrays.copyOf(latin1, grown);
+                }
+            }
+            if (size + 2 > offsets.length) {
+                offsets = Arrays.copyOf(offsets, offsets.length * 2);
+            }
+        }
+
+        private void widen() {
+            chars = new char[latin1.length];
+            for (int ix = 0; ix < used; ix += 1) {
+                chars[ix] = (char) (latin1[ix] & 0xFF);
+            }
+            latin1 = null;
+        }
+
+        private Builder endWord() {
+            size += 1;
+            offsets[size] = used;
+            return this;
+        }
+
+        WordStore build() {
+            int[] packedOffsets = Arrays.copyOf(offsets, size + 1);
+            if (chars != null) {
+                return new WordStore(null, Arrays.copyOf(chars, used), packedOffsets);
+            }
+            return new WordStore(Arrays.copyOf(latin1, used), null, packedOffsets);
+        }
+
+    }
+
+}
@@ -0,0 +1,104 @@
+package asia.fourtitude.interviewq.jumble.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.media.Schema.RequiredMode;
+
+@JsonInclude(Include.NON_NULL)
+public class DictionaryOutput {
+
+    @Schema(
+            title = "Result",
+            description = "Result message.",
+            example = "AnyOf[\"Current dictionary.\", \"Reloaded dictionary.\", \"Failed to reload dictionary.\", \"Dictionary not found.\"]",
+            requiredMode = RequiredMode.AUTO)
+    private String result;
+
+    @Schema(
+            description = "The dictionary name.",
+            example = "default",
+            requiredMode = RequiredMode.AUTO)
+    private String dictionary;
+
+    @Schema(
+            description = "The version of the dictionary in use. Each load or reload gets a distinct, increasing version.",
+            example = "2",
+            requiredMode = RequiredMode.AUTO)
+    @JsonProperty(value = "version")
+    private long version;
+
+    @Schema(
+            description = "The number of words in the dictionary in use.",
+            example = "64662",
+            requiredMode = RequiredMode.AUTO)
+    @JsonProperty(value = "total_words")
+    private int totalWords;
+
+    @Schema(
+            description = "The time taken to reload, in milliseconds, if reloaded.",
+            example = "180",
+            requiredMode = RequiredMode.AUTO)
+    @JsonProperty(value = "elapsed_millis")
+    private Long elapsedMillis;
+
+    public String getResult() {
+        return result;
+    }
+
+    public void setResult(String result) {
+        this.result = result;
+    }
+
+    public String getDictionary() {
+        return dictionary;
+    }
+
+    public void setDictionary(String dictionary) {
+        this.dictionary = dictionary;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    public int getTotalWords() {
+        return totalWords;
+    }
+
+    public void setTotalWords(int totalWords) {
+        this.totalWords = totalWords;
+    }
+
+    public Long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public void setElapsedMillis(Long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        if (result != null) {
+            sb.append(sb.length() == 0 ? "" : ", ").append("result=[").append(result).append(']');
+        }
+        if (dictionary != null) {
+            sb.append(sb.length() == 0 ? "" : ", ").append("dictionary=[").append(dictionary).append(']');
+        }
+        sb.append(sb.length() == 0 ? "" : ", ").append("version=[").append(version).append(']');
+        sb.append(sb.length() == 0 ? "" : ", ").append("totalWords=[").append(totalWords).append(']');
+        if (elapsedMillis != null) {
+            sb.append(sb.length() == 0 ? "" : ", ").append("elapsedMillis=[").append(elapsedMillis).append(']');
+        }
+        return sb.toString();
+    }
+
+}
@@ -1,11 +1,17 @@
 package asia.fourtitude.interviewq.jumble.model;
 
+import java.util.List;
+
 public class ExistsForm {
 
     private String word;
 
     private Boolean exists;
 
+    private List<String> suggestions;
+
+    private String dictionary;
+
     public String getWord() {
         return word;
     }
@@ -22,6 +28,22 @@ public class ExistsForm {
         this.exists = exists;
     }
 
+    public List<String> getSuggestions() {
+        return suggestions;
+    }
+
+    public void setSuggestions(List<String> suggestions) {
+        this.suggestions = suggestions;
+    }
+
+    public String getDictionary() {
+        return dictionary;
+    }
+
+    public void setDictionary(String dictionary) {
+        this.dictionary = dictionary;
+    }
+
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder();
@@ -31,6 +53,12 @@ public class ExistsForm {
         if (exists != null) {
             sb.append(sb.length() == 0 ? "" : ", ").append("exists=[").append(exists).append(']');
         }
+        if (suggestions != null) {
+            sb.append(sb.length() == 0 ? "" : ", ").append("suggestions=[").append(suggestions).append(']');
+        }
+        if (dictionary != null) {
+            sb.append(sb.length() == 0 ? "" : ", ").append("dictionary=[").append(dictionary).append(']');
+        }
         return sb.toString();
     }
 
@@ -8,6 +8,8 @@ public class GameGuessModel {
 
     private String id;
 
+    private String dictionary;
+
     private Date createdAt;
 
     private Date modifiedAt;
@@ -22,6 +24,14 @@ public class GameGuessModel {
         this.id = id;
     }
 
+    public String getDictionary() {
+        return dictionary;
+    }
+
+    public void setDictionary(String dictionary) {
+        this.dictionary = dictionary;
+    }
+
     public Date getCreatedAt() {
         return createdAt;
     }
@@ -52,6 +62,9 @@ public class GameGuessModel {
         if (id != null) {
             sb.append(sb.length() == 0 ? "" : ", ").append("id=[").append(id).append(']');
         }
+        if (dictionary != null) {
+            sb.append(sb.length() == 0 ? "" : ", ").append("dictionary=[").append(dictionary).append(']');
+        }
         if (createdAt != null) {
             sb.append(sb.length() == 0 ? "" : ", ").append("createdAt=[").append(createdAt.toInstant()).append(']');
         }
@@ -29,6 +29,12 @@ public class GameGuessOutput {
             requiredMode = RequiredMode.AUTO)
     private String id;
 
+    @Schema(
+            description = "Name of the dictionary the game is played with.",
+            example = "default",
+            requiredMode = RequiredMode.AUTO)
+    private String dictionary;
+
     @Schema(
             description = "Original word in game.",
             example = "tomato",
@@ -82,6 +88,12 @@ public class GameGuessOutput {
     @JsonProperty(value = "guessed_words")
     private List<String> guessedWords;
 
+    @Schema(
+            description = "The closest words not guessed yet, when guessed incorrectly (\"did you mean\"), if any.",
+            example = "[\"rank\"]",
+            requiredMode = RequiredMode.AUTO)
+    private List<String> suggestions;
+
     public String getId() {
         return id;
     }
@@ -90,6 +102,14 @@ public class GameGuessOutput {
         this.id = id;
     }
 
+    public String getDictionary() {
+        return dictionary;
+    }
+
+    public void setDictionary(String dictionary) {
+        this.dictionary = dictionary;
+    }
+
     public String getResult() {
         return result;
     }
@@ -149,12 +169,23 @@ public class GameGuessOutput {
         this.guessedWords = guessedWords;
     }
 
+    public List<String> getSuggestions() {
+        return suggestions;
+    }
+
+    public void setSuggestions(List<String> suggestions) {
+        this.suggestions = suggestions;
+    }
+
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder();
         if (id != null) {
             sb.append(sb.length() == 0 ? "" : ", ").append("id=[").append(id).append(']');
         }
+        if (dictionary != null) {
+            sb.append(sb.length() == 0 ? "" : ", ").append("dictionary=[").append(dictionary).append(']');
+        }
         if (result != null) {
             sb.append(sb.length() == 0 ? "" : ", ").append("result=[").append(result).append(']');
         }
@@ -172,6 +203,9 @@ public class GameGuessOutput {
         if (guessedWords != null) {
             sb.append(sb.length() == 0 ? "" : ", ").append("guessedWords.size=[").append(guessedWords.size()).append(']');
         }
+        if (suggestions != null) {
+            sb.append(sb.length() == 0 ? "" : ", ").append("suggestions=[").append(suggestions).append(']');
+        }
         return sb.toString();
     }
 
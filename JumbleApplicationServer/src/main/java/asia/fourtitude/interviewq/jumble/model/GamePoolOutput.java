@@ -0,0 +1,189 @@
+package asia.fourtitude.interviewq.jumble.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.media.Schema.RequiredMode;
+
+@JsonInclude(Include.NON_NULL)
+public class GamePoolOutput {
+
+    @Schema(
+            description = "The dictionary name.",
+            example = "default",
+            requiredMode = RequiredMode.AUTO)
+    private String dictionary;
+
+    @Schema(
+            description = "The length of the words of the games.",
+            example = "6",
+            requiredMode = RequiredMode.AUTO)
+    private int length;
+
+    @Schema(
+            description = "The minimum length of the sub words of the games.",
+            example = "3",
+            requiredMode = RequiredMode.AUTO)
+    @JsonProperty(value = "min_length")
+    private int minLength;
+
+    @Schema(
+            description = "The difficulty of the games, absent for any board.",
+            example = "easy",
+            requiredMode = RequiredMode.AUTO)
+    private String difficulty;
+
+    @Schema(
+            description = "The number of games kept ready.",
+            example = "64",
+            requiredMode = RequiredMode.AUTO)
+    private int capacity;
+
+    @Schema(
+            description = "The number of games ready now.",
+            example = "61",
+            requiredMode = RequiredMode.AUTO)
+    private int depth;
+
+    @Schema(
+            description = "The number of games taken from the pool.",
+            example = "1520",
+            requiredMode = RequiredMode.AUTO)
+    private long hits;
+
+    @Schema(
+            description = "The number of games created on request, as the pool was empty.",
+            example = "3",
+            requiredMode = RequiredMode.AUTO)
+    private long misses;
+
+    @Schema(
+            description = "The number of pooled games dropped, as their dictionary was reloaded.",
+            example = "0",
+            requiredMode = RequiredMode.AUTO)
+    private long stale;
+
+    @Schema(
+            description = "The number of games created in the background.",
+            example = "1584",
+            requiredMode = RequiredMode.AUTO)
+    private long produced;
+
+    @Schema(
+            description = "The games created per second of refill, by one thread.",
+            example = "41250.5",
+            requiredMode = RequiredMode.AUTO)
+    @JsonProperty(value = "refill_rate")
+    private double refillRate;
+
+    public String getDictionary() {
+        return dictionary;
+    }
+
+    public void setDictionary(String dictionary) {
+        this.dictionary = dictionary;
+    }
+
+    public int getLength() {
+        return length;
+    }
+
+    public void setLength(int length) {
+        this.length = length;
+    }
+
+    public int getMinLength() {
+        return minLength;
+    }
+
+    public void setMinLength(int minLength) {
+        this.minLength = minLength;
+    }
+
+    public String getDifficulty() {
+        return difficulty;
+    }
+
+    public void setDifficulty(String difficulty) {
+        this.difficulty = difficulty;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public void setCapacity(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    public void setDepth(int depth) {
+        this.depth = depth;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public void setHits(long hits) {
+        this.hits = hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public void setMisses(long misses) {
+        this.misses = misses;
+    }
+
+    public long getStale() {
+        return stale;
+    }
+
+    public void setStale(long stale) {
+        this.stale = stale;
+    }
+
+    public long getProduced() {
+        return produced;
+    }
+
+    public void setProduced(long produced) {
+        this.produced = produced;
+    }
+
+    public double getRefillRate() {
+        return refillRate;
+    }
+
+    public void setRefillRate(double refillRate) {
+        this.refillRate = refillRate;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        if (dictionary != null) {
+            sb.append(sb.length() == 0 ? "" : ", ").append("dictionary=[").append(dictionary).append(']');
+        }
+        sb.append(sb.length() == 0 ? "" : ", ").append("length=[").append(length).append(']');
+        sb.append(sb.length() == 0 ? "" : ", ").append("minLength=[").append(minLength).append(']');
+        if (difficulty != null) {
+            sb.append(sb.length() == 0 ? "" : ", ").append("difficulty=[").append(difficulty).append(']');
+        }
+        sb.append(sb.length() == 0 ? "" : ", ").append("depth=[").append(depth).append('/').append(capacity).append(']');
+        sb.append(sb.length() == 0 ? "" : ", ").append("hits=[").append(hits).append(']');
+        sb.append(sb.length() == 0 ? "" : ", ").append("misses=[").append(misses).append(']');
+        sb.append(sb.length() == 0 ? "" : ", ").append("stale=[").append(stale).append(']');
+        sb.append(sb.length() == 0 ? "" : ", ").append("produced=[").append(produced).append(']');
+        sb.append(sb.length() == 0 ? "" : ", ").append("refillRate=[").append(refillRate).append(']');
+        return sb.toString();
+    }
+
+}
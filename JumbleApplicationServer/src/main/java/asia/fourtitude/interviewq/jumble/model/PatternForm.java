@@ -0,0 +1,103 @@
+package asia.fourtitude.interviewq.jumble.model;
+
+import java.util.Collection;
+
+public class PatternForm {
+
+    private String pattern;
+
+    private Collection<String> words;
+
+    private String dictionary;
+
+    /*
+     * The cursor of the page to show, the first page if none.
+     */
+    private String cursor;
+
+    private String nextCursor;
+
+    private int offset;
+
+    private int total;
+
+    public String getPattern() {
+        return pattern;
+    }
+
+    public void setPattern(String pattern) {
+        this.pattern = pattern;
+    }
+
+    public Collection<String> getWords() {
+        return words;
+    }
+
+    public void setWords(Collection<String> words) {
+        this.words = words;
+    }
+
+    public String getDictionary() {
+        return dictionary;
+    }
+
+    public void setDictionary(String dictionary) {
+        this.dictionary = dictionary;
+    }
+
+    public String getCursor() {
+        return cursor;
+    }
+
+    public void setCursor(String cursor) {
+        this.cursor = cursor;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public int getOffset() {
+        return offset;
+    }
+
+    public void setOffset(int offset) {
+        this.offset = offset;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public void setTotal(int total) {
+        this.total = total;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        if (pattern != null) {
+            sb.append(sb.length() == 0 ? "" : ", ").append("pattern=[").append(pattern).append(']');
+        }
+        if (words != null) {
+            sb.append(sb.length() == 0 ? "" : ", ").append("words=[").append(words).append(']');
+        }
+        if (dictionary != null) {
+            sb.append(sb.length() == 0 ? "" : ", ").append("dictionary=[").append(dictionary).append(']');
+        }
+        if (cursor != null) {
+            sb.append(sb.length() == 0 ? "" : ", ").append("cursor=[").append(cursor).append(']');
+        }
+        if (nextCursor != null) {
+            sb.append(sb.length() == 0 ? "" : ", ").append("nextCursor=[").append(nextCursor).append(']');
+        }
+        sb.append(sb.length() == 0 ? "" : ", ").append("offset=[").append(offset).append(']');
+        sb.append(sb.length() == 0 ? "" : ", ").append("total=[").append(total).append(']');
+        return sb.toString();
+    }
+
+}
@@ -8,6 +8,19 @@ public class PrefixForm {
 
     private Collection<String> words;
 
+    private String dictionary;
+
+    /*
+     * The cursor of the page to show, the first page if none.
+     */
+    private String cursor;
+
+    private String nextCursor;
+
+    private int offset;
+
+    private int total;
+
     public String getPrefix() {
         return prefix;
     }
@@ -24,6 +37,46 @@ public class PrefixForm {
         this.words = words;
     }
 
+    public String getDictionary() {
+        return dictionary;
+    }
+
+    public void setDictionary(String dictionary) {
+        this.dictionary = dictionary;
+    }
+
+    public String getCursor() {
+        return cursor;
+    }
+
+    public void setCursor(String cursor) {
+        this.cursor = cursor;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public int getOffset() {
+        return offset;
+    }
+
+    public void setOffset(int offset) {
+        this.offset = offset;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public void setTotal(int total) {
+        this.total = total;
+    }
+
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder();
@@ -33,6 +86,17 @@ public class PrefixForm {
         if (words != null) {
             sb.append(sb.length() == 0 ? "" : ", ").append("words=[").append(words).append(']');
         }
+        if (dictionary != null) {
+            sb.append(sb.length() == 0 ? "" : ", ").append("dictionary=[").append(dictionary).append(']');
+        }
+        if (cursor != null) {
+            sb.append(sb.length() == 0 ? "" : ", ").append("cursor=[").append(cursor).append(']');
+        }
+        if (nextCursor != null) {
+            sb.append(sb.length() == 0 ? "" : ", ").append("nextCursor=[").append(nextCursor).append(']');
+        }
+        sb.append(sb.length() == 0 ? "" : ", ").append("offset=[").append(offset).append(']');
+        sb.append(sb.length() == 0 ? "" : ", ").append("total=[").append(total).append(']');
         return sb.toString();
     }
 
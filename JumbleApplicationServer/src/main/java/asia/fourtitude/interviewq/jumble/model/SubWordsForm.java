@@ -10,6 +10,8 @@ public class SubWordsForm {
 
     private Collection<String> words;
 
+    private String dictionary;
+
     public String getWord() {
         return word;
     }
@@ -34,6 +36,14 @@ public class SubWordsForm {
         this.words = words;
     }
 
+    public String getDictionary() {
+        return dictionary;
+    }
+
+    public void setDictionary(String dictionary) {
+        this.dictionary = dictionary;
+    }
+
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder();
@@ -46,6 +56,9 @@ public class SubWordsForm {
         if (words != null) {
             sb.append(sb.length() == 0 ? "" : ", ").append("words=[").append(words).append(']');
         }
+        if (dictionary != null) {
+            sb.append(sb.length() == 0 ? "" : ", ").append("dictionary=[").append(dictionary).append(']');
+        }
         return sb.toString();
     }
 
@@ -0,0 +1,164 @@
+package asia.fourtitude.interviewq.jumble.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@JsonInclude(Include.NON_NULL)
+public class WordQueryInput {
+
+    @Schema(
+            title = "Prefix",
+            description = "The letters the word begins with.",
+            example = "re")
+    private String prefix;
+
+    @Schema(
+            title = "Suffix",
+            description = "The letters the word ends with.",
+            example = "ing")
+    private String suffix;
+
+    @Schema(
+            title = "Contains",
+            description = "The letters the word contains, anywhere.",
+            example = "ti")
+    private String contains;
+
+    @Schema(
+            title = "Minimum length",
+            description = "The minimum word length.",
+            example = "5",
+            minimum = "1")
+    private Integer minLength;
+
+    @Schema(
+            title = "Maximum length",
+            description = "The maximum word length.",
+            example = "9",
+            minimum = "1")
+    private Integer maxLength;
+
+    @Schema(
+            title = "Required letters",
+            description = "The letters the word has, each at least once, in any order.",
+            example = "s")
+    private String requiredLetters;
+
+    @Schema(
+            title = "Excluded letters",
+            description = "The letters the word does not have.",
+            example = "xyz")
+    private String excludedLetters;
+
+    @Schema(
+            title = "Start character",
+            description = "The first letter of the word.",
+            example = "r",
+            minLength = 1,
+            maxLength = 1)
+    private String startChar;
+
+    @Schema(
+            title = "End character",
+            description = "The last letter of the word.",
+            example = "g",
+            minLength = 1,
+            maxLength = 1)
+    private String endChar;
+
+    public String getPrefix() {
+        return prefix;
+    }
+
+    public void setPrefix(String prefix) {
+        this.prefix = prefix;
+    }
+
+    public String getSuffix() {
+        return suffix;
+    }
+
+    public void setSuffix(String suffix) {
+        this.suffix = suffix;
+    }
+
+    public String getContains() {
+        return contains;
+    }
+
+    public void setContains(String contains) {
+        this.contains = contains;
+    }
+
+    public Integer getMinLength() {
+        return minLength;
+    }
+
+    public void setMinLength(Integer minLength) {
+        this.minLength = minLength;
+    }
+
+    public Integer getMaxLength() {
+        return maxLength;
+    }
+
+    public void setMaxLength(Integer maxLength) {
+        this.maxLength = maxLength;
+    }
+
+    public String getRequiredLetters() {
+        return requiredLetters;
+    }
+
+    public void setRequiredLetters(String requiredLetters) {
+        this.requiredLetters = requiredLetters;
+    }
+
+    public String getExcludedLetters() {
+        return excludedLetters;
+    }
+
+    public void setExcludedLetters(String excludedLetters) {
+        this.excludedLetters = excludedLetters;
+    }
+
+    public String getStartChar() {
+        return startChar;
+    }
+
+    public void setStartChar(String startChar) {
+        this.startChar = startChar;
+    }
+
+    public String getEndChar() {
+        return endChar;
+    }
+
+    public void setEndChar(String endChar) {
+        this.endChar = endChar;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        append(sb, "prefix", prefix);
+        append(sb, "suffix", suffix);
+        append(sb, "contains", contains);
+        append(sb, "minLength", minLength);
+        append(sb, "maxLength", maxLength);
+        append(sb, "requiredLetters", requiredLetters);
+        append(sb, "excludedLetters", excludedLetters);
+        append(sb, "startChar", startChar);
+        append(sb, "endChar", endChar);
+        return sb.toString();
+    }
+
+    private static void append(StringBuilder sb, String name, Object value) {
+        if (value != null) {
+            sb.append(sb.length() == 0 ? "" : ", ").append(name).append("=[").append(value).append(']');
+        }
+    }
+
+}
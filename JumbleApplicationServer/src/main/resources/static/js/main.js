@@ -71,6 +71,9 @@
         } else if (locPathname === '/prefix') {
             $('#mnuItmPrefix').addClass('active');
             $('#mnuDivRoot').addClass('show');
+        } else if (locPathname === '/pattern') {
+            $('#mnuItmPattern').addClass('active');
+            $('#mnuDivRoot').addClass('show');
         } else if (locPathname === '/search') {
             $('#mnuItmSearch').addClass('active');
             $('#mnuDivRoot').addClass('show');
@@ -3,6 +3,7 @@ package asia.fourtitude.interviewq.jumble;
 import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.context.annotation.Bean;
 
+import asia.fourtitude.interviewq.jumble.core.GamePool;
 import asia.fourtitude.interviewq.jumble.core.JumbleEngine;
 
 @TestConfiguration
@@ -10,7 +11,16 @@ public class TestConfig {
 
     @Bean
     public JumbleEngine jumbleEngine() {
-        return new JumbleEngine();
+        JumbleEngine jumbleEngine = new JumbleEngine();
+        // games of a difficulty are only served once their catalog is built
+        jumbleEngine.awaitGameCatalogs();
+        return jumbleEngine;
+    }
+
+    @Bean(destroyMethod = "close")
+    public GamePool gamePool() {
+        // refilled on the request thread, so tests do not race the refill
+        return new GamePool(8, Runnable::run);
     }
 
 }
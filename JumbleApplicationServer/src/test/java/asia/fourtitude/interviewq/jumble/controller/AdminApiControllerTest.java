@@ -0,0 +1,115 @@
+package asia.fourtitude.interviewq.jumble.controller;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import asia.fourtitude.interviewq.jumble.TestConfig;
+import asia.fourtitude.interviewq.jumble.core.GamePool;
+import asia.fourtitude.interviewq.jumble.core.GameState;
+import asia.fourtitude.interviewq.jumble.core.JumbleEngine;
+import asia.fourtitude.interviewq.jumble.model.DictionaryOutput;
+import asia.fourtitude.interviewq.jumble.model.GamePoolOutput;
+
+@WebMvcTest(value = AdminApiController.class, properties = "jumble.admin.reload-token=s3cret")
+@Import(TestConfig.class)
+class AdminApiControllerTest {
+
+    static final ObjectMapper OM = new ObjectMapper();
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    JumbleEngine jumbleEngine;
+
+    @Autowired
+    GamePool gamePool;
+
+    @Test
+    void whenGetDictionary_thenCurrentVersion() throws Exception {
+        MvcResult result = mvc.perform(get("/api/admin/dictionary")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        DictionaryOutput output = OM.readValue(result.getResponse().getContentAsString(), DictionaryOutput.class);
+
+        assertEquals("Current dictionary.", output.getResult());
+        assertEquals(JumbleEngine.DEFAULT_DICTIONARY, output.getDictionary());
+        assertEquals(jumbleEngine.dictionaryVersion(), output.getVersion());
+        assertEquals(64662, output.getTotalWords());
+        assertNull(output.getElapsedMillis());
+
+        mvc.perform(get("/api/admin/dictionary").param("dictionary", "klingon")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void whenReloadDictionary_thenNewVersion() throws Exception {
+        long version = jumbleEngine.dictionaryVersion();
+        GameState gameState = jumbleEngine.createGameState(6, 3);
+
+        MvcResult result = mvc.perform(post("/api/admin/dictionary/reload")
+                .header(AdminApiController.ADMIN_TOKEN_HEADER, "s3cret")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        DictionaryOutput output = OM.readValue(result.getResponse().getContentAsString(), DictionaryOutput.class);
+
+        assertEquals("Reloaded dictionary.", output.getResult());
+        assertTrue(output.getVersion() > version);
+        assertEquals(jumbleEngine.dictionaryVersion(), output.getVersion());
+        assertEquals(64662, output.getTotalWords());
+        assertNotNull(output.getElapsedMillis());
+        assertEquals(version, gameState.getDictionaryVersion());
+    }
+
+    @Test
+    void givenNoOrWrongToken_whenReloadDictionary_thenForbidden() throws Exception {
+        long version = jumbleEngine.dictionaryVersion();
+
+        mvc.perform(post("/api/admin/dictionary/reload")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isForbidden());
+        mvc.perform(post("/api/admin/dictionary/reload")
+                .header(AdminApiController.ADMIN_TOKEN_HEADER, "guess")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isForbidden());
+
+        assertEquals(version, jumbleEngine.dictionaryVersion());
+    }
+
+    @Test
+    void whenGetGamePool_thenMetrics() throws Exception {
+        gamePool.take(jumbleEngine, JumbleEngine.GAME_LENGTH, JumbleEngine.GAME_MIN_LENGTH);
+
+        MvcResult result = mvc.perform(get("/api/admin/game-pool")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        GamePoolOutput[] outputs = OM.readValue(result.getResponse().getContentAsString(), GamePoolOutput[].class);
+
+        assertEquals(1, outputs.length);
+        assertEquals(JumbleEngine.DEFAULT_DICTIONARY, outputs[0].getDictionary());
+        assertEquals(JumbleEngine.GAME_LENGTH, outputs[0].getLength());
+        assertEquals(JumbleEngine.GAME_MIN_LENGTH, outputs[0].getMinLength());
+        assertEquals(8, outputs[0].getCapacity());
+        assertTrue(outputs[0].getHits() + outputs[0].getMisses() >= 1);
+    }
+
+}
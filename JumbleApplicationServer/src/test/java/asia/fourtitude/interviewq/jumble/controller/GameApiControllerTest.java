@@ -81,6 +81,72 @@ class GameApiControllerTest {
         assertTrue(output.getGuessedWords().isEmpty());
     }
 
+    @Test
+    void givenDictionary_whenCreateNewGame_thenPlayedWithDictionary() throws Exception {
+        MvcResult result = mvc.perform(get("/api/game/new").param("dictionary", JumbleEngine.DEFAULT_DICTIONARY)
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        GameGuessOutput output = OM.readValue(result.getResponse().getContentAsString(), GameGuessOutput.class);
+
+        assertEquals("Created new game.", output.getResult());
+        assertEquals(JumbleEngine.DEFAULT_DICTIONARY, output.getDictionary());
+
+        result = mvc.perform(get("/api/game/new").param("dictionary", "klingon")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotFound())
+                .andReturn();
+
+        output = OM.readValue(result.getResponse().getContentAsString(), GameGuessOutput.class);
+
+        assertEquals("Dictionary not found.", output.getResult());
+        assertNull(output.getId());
+    }
+
+    @Test
+    void givenDifficulty_whenCreateNewGame_thenCreatedOrRejected() throws Exception {
+        MvcResult result = mvc.perform(get("/api/game/new").param("difficulty", "easy")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        GameGuessOutput output = OM.readValue(result.getResponse().getContentAsString(), GameGuessOutput.class);
+
+        assertEquals("Created new game.", output.getResult());
+        assertTrue(output.getTotalWords() >= 5 && output.getTotalWords() <= 40);
+
+        result = mvc.perform(get("/api/game/new").param("difficulty", "insane")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andReturn();
+
+        output = OM.readValue(result.getResponse().getContentAsString(), GameGuessOutput.class);
+
+        assertEquals("Invalid difficulty.", output.getResult());
+        assertNull(output.getId());
+    }
+
+    @Test
+    void givenSeed_whenCreateNewGame_thenSameBoard() throws Exception {
+        MvcResult result1 = mvc.perform(get("/api/game/new").param("seed", "42")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn();
+        MvcResult result2 = mvc.perform(get("/api/game/new").param("seed", "42")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        GameGuessOutput output1 = OM.readValue(result1.getResponse().getContentAsString(), GameGuessOutput.class);
+        GameGuessOutput output2 = OM.readValue(result2.getResponse().getContentAsString(), GameGuessOutput.class);
+
+        assertNotEquals(output1.getId(), output2.getId());
+        assertEquals(output1.getOriginalWord(), output2.getOriginalWord());
+        assertEquals(output1.getScrambleWord(), output2.getScrambleWord());
+        assertEquals(output1.getTotalWords(), output2.getTotalWords());
+    }
+
     @Test
     void givenMissingId_whenPlayGame_thenInvalidId() throws Exception {
         /*
@@ -243,6 +309,61 @@ class GameApiControllerTest {
         assertTrue(output.getGuessedWords().isEmpty());  // No words guessed yet
     }
 
+    @Test
+    void givenCreateNewGame_whenSubmitMisspeltWord_thenSuggestClosestWords() throws Exception {
+        MvcResult result = mvc.perform(get("/api/game/new")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        GameGuessOutput newGame = OM.readValue(result.getResponse().getContentAsString(), GameGuessOutput.class);
+        String validWord = new ArrayList<>(jumbleEngine.generateSubWords(newGame.getOriginalWord(), 3)).get(0);
+
+        // Submit a valid word, misspelt by one letter
+        GameGuessInput input = new GameGuessInput();
+        input.setId(newGame.getId());
+        input.setWord(validWord + "q");
+
+        result = mvc.perform(post("/api/game/guess")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(OM.writeValueAsString(input)))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        GameGuessOutput output = OM.readValue(result.getResponse().getContentAsString(), GameGuessOutput.class);
+        assertEquals("Guessed incorrectly.", output.getResult());
+        assertNotNull(output.getSuggestions());
+        assertTrue(output.getSuggestions().size() <= JumbleEngine.MAX_SUGGESTIONS);
+        assertTrue(output.getSuggestions().contains(validWord));
+        assertEquals(newGame.getRemainingWords(), output.getRemainingWords());
+    }
+
+    @Test
+    void givenCreateNewGame_whenSubmitWordTwoTyposAway_thenRemainingWordsNotRevealed() throws Exception {
+        MvcResult result = mvc.perform(get("/api/game/new")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        GameGuessOutput newGame = OM.readValue(result.getResponse().getContentAsString(), GameGuessOutput.class);
+        String validWord = new ArrayList<>(jumbleEngine.generateSubWords(newGame.getOriginalWord(), 3)).get(0);
+
+        // Submit a valid word, misspelt by two letters
+        GameGuessInput input = new GameGuessInput();
+        input.setId(newGame.getId());
+        input.setWord(validWord + "qq");
+
+        result = mvc.perform(post("/api/game/guess")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(OM.writeValueAsString(input)))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        GameGuessOutput output = OM.readValue(result.getResponse().getContentAsString(), GameGuessOutput.class);
+        assertEquals("Guessed incorrectly.", output.getResult());
+        assertTrue(output.getSuggestions() == null || !output.getSuggestions().contains(validWord));
+    }
+
     @Test
     void givenCreateNewGame_whenSubmitFirstCorrectWord_thenGuessedCorrectly() throws Exception {
         /*
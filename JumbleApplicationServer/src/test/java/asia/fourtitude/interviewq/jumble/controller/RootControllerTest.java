@@ -110,6 +110,19 @@ class RootControllerTest {
                 .andExpect(content().string(containsString(result)));
     }
 
+    @Test
+    void givenMisspeltWord_whenExecExists_thenSuggestClosestWords() throws Exception {
+        String word = "yelow";
+        this.mockMvc.perform(post("/exists")
+                        .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                        .param("word", word))
+                .andExpect(view().name("exists"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("not exists.")))
+                .andExpect(content().string(containsString("Did you mean: ")))
+                .andExpect(content().string(containsString("yellow")));
+    }
+
     @Test
     void givenEmptyWord_whenExecExists_thenFailure() throws Exception {
         String word = "";
@@ -122,6 +135,45 @@ class RootControllerTest {
                 .andExpect(content().string(containsString(result)));
     }
 
+    @Test
+    void givenValidPattern_whenExecPattern_thenSuccess() throws Exception {
+        String pattern = "tomat?";
+        String result = "<p>The number of words: <span>1</span></p>";
+        this.mockMvc.perform(post("/pattern")
+                        .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                        .param("pattern", pattern))
+                .andExpect(view().name("pattern"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString(result)))
+                .andExpect(content().string(containsString("<span>tomato</span>")));
+    }
+
+    @Test
+    void givenInvalidPattern_whenExecPattern_thenFailure() throws Exception {
+        this.mockMvc.perform(post("/pattern")
+                        .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                        .param("pattern", "tomat["))
+                .andExpect(view().name("pattern"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("unclosed")));
+    }
+
+    @Test
+    void givenUnboundedPattern_whenExecPattern_thenFailure() throws Exception {
+        this.mockMvc.perform(post("/pattern")
+                        .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                        .param("pattern", "?*"))
+                .andExpect(view().name("pattern"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("expect at least one letter")));
+        this.mockMvc.perform(post("/pattern")
+                        .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                        .param("pattern", "*e*"))
+                .andExpect(view().name("pattern"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("matches too many words")));
+    }
+
     @Test
     void givenValidPrefix_whenExecPrefix_thenSuccess() throws Exception {
         String prefix = "tomato";
@@ -171,6 +223,26 @@ class RootControllerTest {
                 .andExpect(content().string(containsString(result)));
     }
 
+    @Test
+    void givenManyWords_whenExecPrefix_thenFirstPageWithNextCursor() throws Exception {
+        this.mockMvc.perform(post("/prefix")
+                        .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                        .param("prefix", "s"))
+                .andExpect(view().name("prefix"))
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("form", hasProperty("words", hasSize(RootController.PAGE_SIZE))))
+                .andExpect(model().attribute("form", hasProperty("nextCursor", notNullValue())))
+                .andExpect(content().string(containsString("Next page")));
+
+        this.mockMvc.perform(post("/prefix")
+                        .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                        .param("prefix", "s")
+                        .param("cursor", "expired"))
+                .andExpect(view().name("prefix"))
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("form", hasProperty("offset", is(0))));
+    }
+
     @Test
     void givenStartChar_whenExecSearch_thenSuccess() throws Exception {
         this.mockMvc.perform(post("/search")
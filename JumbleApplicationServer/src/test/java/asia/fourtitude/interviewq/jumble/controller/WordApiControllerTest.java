@@ -0,0 +1,204 @@
+package asia.fourtitude.interviewq.jumble.controller;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import asia.fourtitude.interviewq.jumble.TestConfig;
+import asia.fourtitude.interviewq.jumble.core.JumbleEngine;
+
+@WebMvcTest(WordApiController.class)
+@Import(TestConfig.class)
+class WordApiControllerTest {
+
+    static final ObjectMapper OM = new ObjectMapper();
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    JumbleEngine jumbleEngine;
+
+    @Test
+    void givenLimit_whenAutoComplete_thenPagedByCursor() throws Exception {
+        List<String> expected = new ArrayList<>(jumbleEngine.wordsMatchingPrefix("awe"));
+        assertTrue(expected.size() > 3);
+
+        List<String> words = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            MvcResult result = mvc.perform(get("/api/word/awe").param("limit", "3")
+                    .param("cursor", cursor == null ? "" : cursor)
+                    .contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk())
+                    .andReturn();
+
+            List<String> page = OM.readValue(result.getResponse().getContentAsString(),
+                    new TypeReference<List<String>>() {});
+            assertTrue(page.size() <= 3);
+            assertEquals(String.valueOf(expected.size()),
+                    result.getResponse().getHeader(WordApiController.TOTAL_COUNT_HEADER));
+            words.addAll(page);
+            cursor = result.getResponse().getHeader(WordApiController.NEXT_CURSOR_HEADER);
+            pages += 1;
+        } while (cursor != null);
+
+        assertEquals(expected, words);
+        assertEquals((expected.size() + 2) / 3, pages);
+    }
+
+    @Test
+    void givenTop_whenAutoComplete_thenTopRankedOnly() throws Exception {
+        MvcResult result = mvc.perform(get("/api/word/awe").param("top", "2")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        List<String> words = OM.readValue(result.getResponse().getContentAsString(),
+                new TypeReference<List<String>>() {});
+        // no word weights in tests, ranked in dictionary order
+        assertEquals(new ArrayList<>(jumbleEngine.wordsMatchingPrefix("awe")).subList(0, 2), words);
+        assertNull(result.getResponse().getHeader(WordApiController.NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+    void givenSuffix_whenMatchSuffix_thenMatchingWords() throws Exception {
+        MvcResult result = mvc.perform(get("/api/word").param("suffix", "where")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        List<String> words = OM.readValue(result.getResponse().getContentAsString(),
+                new TypeReference<List<String>>() {});
+        assertEquals(new ArrayList<>(jumbleEngine.wordsMatchingSuffix("where")), words);
+        assertEquals("6", result.getResponse().getHeader(WordApiController.TOTAL_COUNT_HEADER));
+        assertNull(result.getResponse().getHeader(WordApiController.NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+    void givenShortSuffix_whenMatchSuffix_thenEmptyList() throws Exception {
+        MvcResult result = mvc.perform(get("/api/word").param("suffix", "ly")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        List<String> words = OM.readValue(result.getResponse().getContentAsString(),
+                new TypeReference<List<String>>() {});
+        assertTrue(words.isEmpty());
+    }
+
+    @Test
+    void givenInfix_whenMatchInfix_thenPagedWords() throws Exception {
+        MvcResult result = mvc.perform(get("/api/word").param("infix", "ythm").param("limit", "5")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        List<String> words = OM.readValue(result.getResponse().getContentAsString(),
+                new TypeReference<List<String>>() {});
+        assertEquals(new ArrayList<>(jumbleEngine.wordsContaining("ythm")).subList(0, 5), words);
+        assertEquals("7", result.getResponse().getHeader(WordApiController.TOTAL_COUNT_HEADER));
+        assertNotNull(result.getResponse().getHeader(WordApiController.NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+    void givenQuery_whenQuery_thenMatchingWords() throws Exception {
+        MvcResult result = mvc.perform(post("/api/word/query")
+                .content("{\"prefix\":\"re\",\"contains\":\"ti\",\"maxLength\":7,\"excludedLetters\":\"s\"}")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        List<String> words = OM.readValue(result.getResponse().getContentAsString(),
+                new TypeReference<List<String>>() {});
+        assertEquals(Arrays.asList("rectify", "renting", "reptile", "retina", "retinae", "retinal", "retinue",
+                "retire", "retired", "retiree"), words);
+        assertEquals("10", result.getResponse().getHeader(WordApiController.TOTAL_COUNT_HEADER));
+    }
+
+    @Test
+    void givenInvalidQuery_whenQuery_thenBadRequest() throws Exception {
+        mvc.perform(post("/api/word/query").content("{\"prefix\":\"re1\"}")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+        mvc.perform(post("/api/word/query").content("{\"startChar\":\"re\"}")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void givenPattern_whenMatchPattern_thenMatchingWords() throws Exception {
+        MvcResult result = mvc.perform(get("/api/word").param("pattern", "*ing").param("limit", "5")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        List<String> words = OM.readValue(result.getResponse().getContentAsString(),
+                new TypeReference<List<String>>() {});
+        List<String> expected = new ArrayList<>(jumbleEngine.wordsMatchingPattern("*ing"));
+        assertEquals(expected.subList(0, 5), words);
+        assertEquals(String.valueOf(expected.size()),
+                result.getResponse().getHeader(WordApiController.TOTAL_COUNT_HEADER));
+        assertNotNull(result.getResponse().getHeader(WordApiController.NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+    void givenInvalidPattern_whenMatchPattern_thenBadRequest() throws Exception {
+        mvc.perform(get("/api/word").param("pattern", "a[bc")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+        mvc.perform(get("/api/word").param("pattern", "*")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+        mvc.perform(get("/api/word").param("pattern", "[a-z]??*")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+        mvc.perform(get("/api/word").param("pattern", "*e*")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void givenInvalidCursor_whenAutoComplete_thenBadRequest() throws Exception {
+        mvc.perform(get("/api/word/awe").param("cursor", "not-a-cursor")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void givenSuffixAndPattern_whenMatch_thenBadRequest() throws Exception {
+        mvc.perform(get("/api/word").param("suffix", "ing").param("pattern", "a*")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+        mvc.perform(get("/api/word").param("infix", "ing").param("suffix", "ing").param("pattern", "a*")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void givenCursorOfAnotherQuery_whenAutoComplete_thenBadRequest() throws Exception {
+        String cursor = jumbleEngine.queryWordsMatchingPrefix("awe").page(null, 3).getNextCursor();
+        assertNotNull(cursor);
+        mvc.perform(get("/api/word/abc").param("cursor", cursor)
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
+}
@@ -0,0 +1,126 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class GamePoolTest {
+
+    static final JumbleEngine ENGINE = new JumbleEngine();
+
+    @Test
+    void givenPool_whenTake_thenRefilled() {
+        // refilled on the taking thread, before the game is created
+        try (GamePool pool = new GamePool(8, Runnable::run)) {
+            GameState state = pool.take(ENGINE, 6, 3);
+            assertEquals(6, state.getOriginal().length(), "original");
+            assertEquals(ENGINE.dictionaryVersion(), state.getDictionaryVersion(), "dictionaryVersion");
+
+            GamePool.Stats stats = pool.stats().get(0);
+            assertEquals(8, stats.getDepth(), "depth");
+            assertEquals(0, stats.getHits(), "hits");
+            assertEquals(1, stats.getMisses(), "misses");
+            assertTrue(stats.getProduced() > 0, "produced");
+            assertTrue(stats.getRefillRate() > 0, "refillRate");
+
+            for (int ix = 0; ix < 4; ix += 1) {
+                assertNotNull(pool.take(ENGINE, 6, 3), "take=" + ix);
+            }
+            stats = pool.stats().get(0);
+            assertEquals(8, stats.getDepth(), "depth");
+            assertEquals(4, stats.getHits(), "hits");
+            assertEquals(1, stats.getMisses(), "misses");
+        }
+    }
+
+    @Test
+    void givenSizeWithoutCatalog_whenTake_thenPooled() {
+        try (GamePool pool = new GamePool(8, Runnable::run)) {
+            assertEquals(7, pool.take(ENGINE, 7, 3).getOriginal().length(), "original");
+            assertEquals(7, pool.take(ENGINE, 7, 3).getOriginal().length(), "original");
+
+            GamePool.Stats stats = pool.stats().get(0);
+            assertEquals(7, stats.getLength(), "length");
+            assertEquals(8, stats.getDepth(), "depth");
+            assertEquals(1, stats.getHits(), "hits");
+        }
+    }
+
+    @Test
+    void givenMorePoolsThanMax_thenLeastRecentlyTakenDropped() {
+        try (GamePool pool = new GamePool(2, 2, Runnable::run)) {
+            pool.take(ENGINE, 6, 3);
+            pool.take(ENGINE, 7, 3);
+            pool.take(ENGINE, 6, 3);
+            pool.take(ENGINE, 5, 3);
+            assertEquals(2, pool.stats().size(), "pools");
+            assertEquals(6, pool.stats().get(0).getLength(), "kept");
+            assertEquals(5, pool.stats().get(1).getLength(), "added");
+        }
+        assertThrows(IllegalArgumentException.class, () -> new GamePool(8, 0, 1), "maxPools=0");
+    }
+
+    @Test
+    void givenReload_whenTake_thenStaleGamesDropped(@TempDir Path tempDir) throws Exception {
+        Path file = tempDir.resolve("words.txt");
+        Files.write(file, "apple\nape\nleap\npale\npea".getBytes(StandardCharsets.UTF_8));
+        JumbleEngine reloadable = engine(file);
+        try (GamePool pool = new GamePool(4, Runnable::run)) {
+            pool.prefill(reloadable, 5, 3);
+            assertEquals(4, pool.stats().get(0).getDepth(), "depth");
+
+            Files.write(file, "maple\nmap\nlamp".getBytes(StandardCharsets.UTF_8));
+            reloadable.reload();
+            GameState state = pool.take(reloadable, 5, 3);
+            assertEquals("maple", state.getOriginal(), "original");
+            assertEquals(reloadable.dictionaryVersion(), state.getDictionaryVersion(), "dictionaryVersion");
+            assertEquals(4, pool.stats().get(0).getStale(), "stale");
+        }
+    }
+
+    @Test
+    void givenNoGameOfLength_whenTake_thenFailsOnRequestUntilReload(@TempDir Path tempDir) throws Exception {
+        Path file = tempDir.resolve("words.txt");
+        Files.write(file, "ape\nleap\npale\npea".getBytes(StandardCharsets.UTF_8));
+        JumbleEngine reloadable = engine(file);
+        try (GamePool pool = new GamePool(4, Runnable::run)) {
+            for (int ix = 0; ix < 10; ix += 1) {
+                assertThrows(IllegalArgumentException.class, () -> pool.take(reloadable, 5, 3), "take=" + ix);
+            }
+            assertEquals(10, pool.stats().get(0).getMisses(), "misses");
+            assertEquals(0, pool.stats().get(0).getProduced(), "produced");
+
+            // refilled again once reloaded
+            Files.write(file, "maple\nmap\nlamp".getBytes(StandardCharsets.UTF_8));
+            reloadable.reload();
+            assertEquals("maple", pool.take(reloadable, 5, 3).getOriginal(), "original");
+            assertEquals(4, pool.stats().get(0).getDepth(), "depth");
+            assertEquals(4, pool.stats().get(0).getProduced(), "produced");
+        }
+    }
+
+    @Test
+    void givenNoCapacity_thenCreatedOnRequest() {
+        try (GamePool pool = new GamePool(0, 1)) {
+            assertNotNull(pool.take(ENGINE, 6, 3), "take");
+            assertTrue(pool.stats().isEmpty(), "no pools");
+        }
+        assertThrows(IllegalArgumentException.class, () -> new GamePool(-1, 1), "capacity=-1");
+        assertThrows(IllegalArgumentException.class, () -> new GamePool(8, 0), "threads=0");
+    }
+
+    /*
+     * An engine of `file`, with games of 5 letters pooled.
+     */
+    private static JumbleEngine engine(Path file) {
+        return new JumbleEngine(Collections.singletonList(
+                DictionarySource.ofFile(JumbleEngine.DEFAULT_DICTIONARY, file).withGameSize(5, 3)));
+    }
+
+}
@@ -0,0 +1,199 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Micro benchmark of the engine lookup structures, against the plain
+ * list scans they replaced.
+ *
+ * It is not part of the unit tests. Run it as a Java application, with
+ * the test classpath (so "words.txt" is accessible).
+ */
+public class JumbleEngineBenchmark {
+
+    private static final int WARMUP_ROUNDS = 5;
+
+    private static final int MEASURE_ROUNDS = 10;
+
+    private static volatile Object sink;
+
+    private static List<String> loadWords() throws IOException {
+        List<String> words = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                JumbleEngineBenchmark.class.getClassLoader().getResourceAsStream("words.txt")))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                words.add(line.trim().toLowerCase());
+            }
+        }
+        return words;
+    }
+
+    /**
+     * Runs `op` against every input, and reports the average nanos per call.
+     */
+    private static void measure(String name, String[] inputs, Predicate<String> op) {
+        long best = Long.MAX_VALUE;
+        for (int round = 0; round < WARMUP_ROUNDS + MEASURE_ROUNDS; round += 1) {
+            int hits = 0;
+            long start = System.nanoTime();
+            for (String input : inputs) {
+                if (op.test(input)) {
+                    hits += 1;
+                }
+            }
+            long elapsed = System.nanoTime() - start;
+            sink = hits;
+            if (round >= WARMUP_ROUNDS) {
+                best = Math.min(best, elapsed);
+            }
+        }
+        System.out.printf("%-44s %12.1f ns/op%n", name, (double) best / inputs.length);
+    }
+
+    private static String[] existsInputs(List<String> words) {
+        // half hits (mixed case), half misses
+        String[] inputs = new String[2000];
+        for (int ix = 0; ix < inputs.length; ix += 1) {
+            String word = words.get((int) ((long) ix * 7919 % words.size()));
+            inputs[ix] = (ix % 2 == 0) ? word.toUpperCase() : word + "zq";
+        }
+        return inputs;
+    }
+
+    /**
+     * The sub words scan, as it was before the anagram index.
+     */
+    private static Set<String> scanSubWords(List<String> words, String word, int minLength) {
+        Set<String> subWords = new TreeSet<>();
+        int[] inputFreq = new int[26];
+        for (char c : word.toCharArray()) {
+            inputFreq[c - 'a']++;
+        }
+        for (String dictWord : words) {
+            if (dictWord.length() >= minLength && dictWord.length() <= word.length()) {
+                int[] dictFreq = new int[26];
+                for (char c : dictWord.toCharArray()) {
+                    dictFreq[c - 'a']++;
+                }
+                boolean canForm = true;
+                for (int i = 0; i < 26; i++) {
+                    if (dictFreq[i] > inputFreq[i]) {
+                        canForm = false;
+                        break;
+                    }
+                }
+                if (canForm && !dictWord.equals(word)) {
+                    subWords.add(dictWord);
+                }
+            }
+        }
+        return subWords;
+    }
+
+    public static void main(String[] args) throws IOException {
+        List<String> words = loadWords();
+        JumbleEngine engine = new JumbleEngine();
+        engine.exists("warmup");
+
+        // String (24) + byte[] (16 + length, 8 aligned) + reference (4), compressed oops
+        long stringsBytes = 0;
+        for (String word : words) {
+            stringsBytes += 24 + ((16 + word.length() + 7) / 8 * 8) + 4;
+        }
+        WordStore.Builder storeBuilder = new WordStore.Builder();
+        words.forEach(storeBuilder::add);
+        System.out.printf("%-44s %12d bytes%n", "memory: List<String>", stringsBytes);
+        System.out.printf("%-44s %12d bytes%n", "memory: WordStore", storeBuilder.build().memoryBytes());
+
+        String[] inputs = existsInputs(words);
+        measure("exists: ArrayList.contains", inputs, word -> words.contains(word.toLowerCase()));
+        measure("exists: JumbleEngine.exists", inputs, engine::exists);
+
+        String[] prefixes = { "awe", "pen", "tr", "zyg", "qwx" };
+        measure("prefix: stream filter", prefixes, prefix -> words.stream()
+                .filter(word -> word.startsWith(prefix))
+                .collect(Collectors.toList()).isEmpty());
+        measure("prefix: JumbleEngine.wordsMatchingPrefix", prefixes,
+                prefix -> engine.wordsMatchingPrefix(prefix).isEmpty());
+
+        String[] criteria = { "f r 6", "m n 9", "k q 0", "h _ 7", "_ i 8" };
+        measure("search: stream filter", criteria, criterion -> words.stream()
+                .filter(word -> (criterion.charAt(0) == '_' || word.charAt(0) == criterion.charAt(0))
+                        && (criterion.charAt(2) == '_' || word.charAt(word.length() - 1) == criterion.charAt(2))
+                        && word.length() == criterion.charAt(4) - '0')
+                .collect(Collectors.toList()).isEmpty());
+        measure("search: JumbleEngine.searchWords", criteria, criterion -> engine.searchWords(
+                criterion.charAt(0) == '_' ? null : criterion.charAt(0),
+                criterion.charAt(2) == '_' ? null : criterion.charAt(2),
+                criterion.charAt(4) - '0').isEmpty());
+
+        // multi criteria queries, each read from a different index by the planner
+        Map<String, WordQuery> queries = new LinkedHashMap<>();
+        Map<String, Predicate<String>> filters = new LinkedHashMap<>();
+        queries.put("prefix", WordQuery.builder().prefix("re").contains("ti").maxLength(7).excludedLetters("s").build());
+        filters.put("prefix", word -> word.startsWith("re") && word.contains("ti") && word.length() <= 7
+                && word.indexOf('s') < 0);
+        queries.put("buckets", WordQuery.builder().prefix("un").suffix("ness").build());
+        filters.put("buckets", word -> word.startsWith("un") && word.endsWith("ness"));
+        queries.put("infix", WordQuery.builder().contains("tion").excludedLetters("e").build());
+        filters.put("infix", word -> word.contains("tion") && word.indexOf('e') < 0);
+        queries.put("letters", WordQuery.builder().requiredLetters("q").excludedLetters("u").build());
+        filters.put("letters", word -> word.indexOf('q') >= 0 && word.indexOf('u') < 0);
+        String[] queryNames = queries.keySet().toArray(new String[0]);
+        measure("query: stream filter", queryNames, name -> words.stream()
+                .filter(filters.get(name))
+                .collect(Collectors.toList()).isEmpty());
+        measure("query: JumbleEngine.searchWords", queryNames, name -> engine.searchWords(queries.get(name)).isEmpty());
+
+        String[] baseWords = { "fusion", "yellow", "kangaroo", "ranker", "elephant" };
+        measure("subWords: dictionary scan", baseWords, word -> scanSubWords(words, word, 3).isEmpty());
+        measure("subWords: JumbleEngine.generateSubWords", baseWords,
+                word -> engine.generateSubWords(word, 3).isEmpty());
+
+        String[] longWords = { "counterrevolutionaries", "internationalization" };
+        measure("subWords: dictionary scan (long word)", longWords, word -> scanSubWords(words, word, 3).isEmpty());
+        measure("subWords: JumbleEngine (long word)", longWords,
+                word -> engine.generateSubWords(word, 3).isEmpty());
+
+        // the per candidate check alone: int[26] loop vs packed letter counts
+        WordStore.Builder builder = new WordStore.Builder();
+        words.forEach(builder::add);
+        LetterCounts letterCounts = LetterCounts.build(builder.build());
+        int[] inputFreq = new int[26];
+        LetterCounts.count("counterrevolutionaries", inputFreq);
+        long inputLow = LetterCounts.packLow(inputFreq);
+        long inputHigh = LetterCounts.packHigh(inputFreq);
+        int inputMask = LetterCounts.mask(inputFreq);
+        String[] candidates = words.toArray(new String[0]);
+        int[] ids = new int[1];
+        measure("canForm: dictFreq loop", candidates, dictWord -> {
+            int[] dictFreq = new int[26];
+            for (char c : dictWord.toCharArray()) {
+                dictFreq[c - 'a']++;
+            }
+            for (int i = 0; i < 26; i++) {
+                if (dictFreq[i] > inputFreq[i]) {
+                    return false;
+                }
+            }
+            return true;
+        });
+        measure("canForm: packed SWAR", candidates, dictWord -> {
+            // candidates are visited in id order
+            int id = ids[0]++ % candidates.length;
+            return letterCounts.canForm(id, inputLow, inputHigh, inputMask);
+        });
+    }
+
+}
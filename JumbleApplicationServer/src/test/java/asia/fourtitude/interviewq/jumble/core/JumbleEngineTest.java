@@ -2,9 +2,27 @@ package asia.fourtitude.interviewq.jumble.core;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 
@@ -19,6 +37,163 @@ class JumbleEngineTest {
         assertNotNull(this.getClass().getClassLoader().getResourceAsStream("words.txt"), "accessWordList");
     }
 
+    @Test
+    void givenNewEngine_whenConcurrentQueries_thenSameResults() {
+        JumbleEngine fresh = new JumbleEngine();
+        long found = IntStream.range(0, 64).parallel()
+                .filter(ix -> fresh.exists("kangaroo") && fresh.wordsMatchingPrefix("pend").size() == 7)
+                .count();
+        assertEquals(64, found, "concurrent queries on new engine");
+    }
+
+    @Test
+    void givenExternalFile_thenLoadedAndIndexed(@TempDir Path tempDir) throws Exception {
+        Path file = tempDir.resolve("words.txt");
+        Files.write(file, "Zebra\r\napple\n\n  banana  \ncaf\u00e9\nApple".getBytes(StandardCharsets.UTF_8));
+
+        JumbleEngine external = new JumbleEngine(file);
+        assertTrue(external.exists("zebra"), "word=zebra");
+        assertTrue(external.exists("BANANA"), "word=BANANA");
+        assertTrue(external.exists("caf\u00e9"), "word=caf\u00e9");
+        assertFalse(external.exists("kangaroo"), "word=kangaroo");
+        assertIterableEquals(Arrays.asList("apple", "apple"), external.wordsMatchingPrefix("app"), "prefix=app");
+        assertEquals(0, external.searchWords(null, null, 0).size(), "length=0");
+    }
+
+    @Test
+    void givenCompiledImage_thenSameResultsAsWordList(@TempDir Path tempDir) {
+        Path image = tempDir.resolve("words.img");
+        assertEquals(64662, JumbleEngine.compileImage(null, image), "compiled words");
+        assertNotNull(DictionaryImage.read(image, DictionaryImage.Source.ofClasspath("words.txt")), "image matches");
+
+        JumbleEngine mapped = new JumbleEngine(null, image);
+        assertIterableEquals(engine.retrievePalindromeWords(), mapped.retrievePalindromeWords(), "palindromes");
+        assertTrue(mapped.exists("KANGAROO"), "word=KANGAROO");
+        assertIterableEquals(engine.wordsMatchingPrefix("pend"), mapped.wordsMatchingPrefix("pend"), "prefix=pend");
+        assertIterableEquals(engine.searchWords('e', 'r', 7), mapped.searchWords('e', 'r', 7), "search=e,r,7");
+        assertIterableEquals(engine.generateSubWords("yellow", 3), mapped.generateSubWords("yellow", 3), "subWords=yellow");
+        assertIterableEquals(engine.generateSubWords("internationalization", 6),
+                mapped.generateSubWords("internationalization", 6), "subWords=internationalization");
+        assertNotNull(DictionaryImage.read(image, DictionaryImage.Source.ofClasspath("words.txt")).infixIndex,
+                "image infix index");
+        assertIterableEquals(engine.wordsContaining("ythm"), mapped.wordsContaining("ythm"), "infix=ythm");
+
+        JumbleEngine unindexed = new JumbleEngine(Collections.singletonList(DictionarySource
+                .ofClasspath("unindexed", JumbleEngine.DEFAULT_WORDS).withImage(image).withInfixIndex(false)));
+        assertIterableEquals(engine.wordsContaining("ythm"), unindexed.wordsContaining("ythm"), "unindexed;infix=ythm");
+    }
+
+    @Test
+    void givenStaleImage_thenWordListLoaded(@TempDir Path tempDir) throws Exception {
+        Path file = tempDir.resolve("words.txt");
+        Path image = tempDir.resolve("words.img");
+        Files.write(file, "apple\nbanana".getBytes(StandardCharsets.UTF_8));
+        JumbleEngine.compileImage(file, image);
+        assertTrue(new JumbleEngine(file, image).exists("banana"), "word=banana");
+
+        Files.write(file, "apple\ncherry".getBytes(StandardCharsets.UTF_8));
+        assertNull(DictionaryImage.read(image, DictionaryImage.Source.ofFile(file)), "image is stale");
+        JumbleEngine reloaded = new JumbleEngine(file, image);
+        assertFalse(reloaded.exists("banana"), "word=banana");
+        assertTrue(reloaded.exists("cherry"), "word=cherry");
+
+        JumbleEngine.compileImage(file, image);
+        byte[] bytes = Files.readAllBytes(image);
+        bytes[bytes.length - 9] ^= 1;
+        Files.write(image, bytes);
+        assertThrows(IllegalStateException.class, () -> { DictionaryImage.read(image, DictionaryImage.Source.ofFile(file)); }, "bit flip");
+        assertTrue(new JumbleEngine(file, image).exists("cherry"), "corrupt image");
+
+        Files.write(image, new byte[] { 'J', 'M', 'B', 'I' });
+        assertTrue(new JumbleEngine(file, image).exists("cherry"), "truncated image");
+    }
+
+    @Test
+    void givenReload_thenNewDictionarySwappedAndGamesUnaffected(@TempDir Path tempDir) throws Exception {
+        Path file = tempDir.resolve("words.txt");
+        Files.write(file, "apple\nape\nleap\npale\npea".getBytes(StandardCharsets.UTF_8));
+        JumbleEngine reloadable = new JumbleEngine(file);
+        long version = reloadable.dictionaryVersion();
+        GameState gameState = reloadable.createGameState(5, 3);
+        assertEquals(version, gameState.getDictionaryVersion(), "game dictionaryVersion");
+        assertIterableEquals(Arrays.asList("ape", "leap", "pale", "pea"), gameState.getSubWords().keySet(), "subWords");
+
+        Files.write(file, "maple\nmap\nlamp".getBytes(StandardCharsets.UTF_8));
+        long reloaded = reloadable.reload();
+        assertTrue(reloaded > version, "reloaded version");
+        assertEquals(reloaded, reloadable.dictionaryVersion(), "dictionaryVersion");
+        assertEquals(3, reloadable.dictionarySize(), "dictionarySize");
+        assertFalse(reloadable.exists("apple"), "word=apple");
+        assertTrue(reloadable.exists("maple"), "word=maple");
+
+        // the game keeps the words it was created with
+        assertTrue(gameState.updateGuessWord("leap"), "guess=leap");
+        assertEquals(version, gameState.getDictionaryVersion(), "game dictionaryVersion");
+
+        // no reload in flight
+        reloaded = reloadable.tryReload();
+        assertEquals(reloaded, reloadable.dictionaryVersion(), "tryReload");
+
+        Files.delete(file);
+        assertThrows(RuntimeException.class, reloadable::reload, "missing file");
+        assertEquals(reloaded, reloadable.dictionaryVersion(), "dictionaryVersion after failed reload");
+        assertTrue(reloadable.exists("maple"), "word=maple");
+    }
+
+    @Test
+    void givenQueriesInFlight_whenReload_thenConsistentResults() throws Exception {
+        JumbleEngine reloadable = new JumbleEngine();
+        Thread reloader = new Thread(() -> {
+            for (int ix = 0; ix < 3; ix += 1) {
+                reloadable.reload();
+            }
+        });
+        reloader.start();
+        long found = IntStream.range(0, 2000).parallel()
+                .filter(ix -> reloadable.generateSubWords("yellow", 3).size() == 13
+                        && reloadable.wordsMatchingPrefix("pend").size() == 7)
+                .count();
+        reloader.join();
+        assertEquals(2000, found, "queries during reload");
+    }
+
+    @Test
+    void givenNamedDictionaries_thenEachServedWithItsOwnAlphabet(@TempDir Path tempDir) throws Exception {
+        // alpha beta gamma, beta alpha, gamma alpha beta, alpha alpha, beta gamma alpha
+        Path greek = tempDir.resolve("greek.txt");
+        Files.write(greek, "\u03b1\u03b2\u03b3\n\u03b2\u03b1\n\u03b3\u03b1\u03b2\n\u03b1\u03b1\n\u03b2\u03b3\u03b1"
+                .getBytes(StandardCharsets.UTF_8));
+        JumbleEngine engines = new JumbleEngine(Arrays.asList(
+                DictionarySource.ofClasspath("standard", "words.txt"),
+                DictionarySource.ofFile("greek", greek)));
+        assertIterableEquals(Arrays.asList("standard", "greek"), engines.dictionaryNames(), "dictionaryNames");
+        assertSame(engines, engines.dictionary(null), "default dictionary");
+        assertSame(engines, engines.dictionary("standard"), "dictionary=standard");
+        assertNull(engines.dictionary("klingon"), "dictionary=klingon");
+        assertThrows(IllegalArgumentException.class, () -> new JumbleEngine(Arrays.asList(
+                DictionarySource.ofFile("greek", greek), DictionarySource.ofFile("greek", greek))), "duplicate name");
+
+        JumbleEngine greekEngine = engines.dictionary("greek");
+        assertEquals("greek", greekEngine.dictionaryName());
+        assertEquals(5, greekEngine.dictionarySize(), "greek size");
+        assertEquals(64662, engines.dictionarySize(), "standard size");
+        assertTrue(greekEngine.exists("\u0393\u0391\u0392"), "word=GAMMA ALPHA BETA");
+        assertFalse(engines.exists("\u03b3\u03b1\u03b2"), "standard word=gamma alpha beta");
+        assertFalse(greekEngine.exists("kangaroo"), "greek word=kangaroo");
+        assertIterableEquals(Arrays.asList("\u03b2\u03b1", "\u03b2\u03b3\u03b1"),
+                greekEngine.wordsMatchingPrefix("\u0392"), "prefix=BETA");
+        assertIterableEquals(Arrays.asList("\u03b2\u03b1", "\u03b2\u03b3\u03b1"),
+                greekEngine.searchWords('\u0392', null, null), "start=BETA");
+        assertIterableEquals(Arrays.asList("\u03b1\u03b1", "\u03b2\u03b1", "\u03b2\u03b3\u03b1"),
+                greekEngine.wordsMatchingSuffix("\u0391"), "suffix=ALPHA");
+        assertIterableEquals(Arrays.asList("\u03b1\u03b2\u03b3", "\u03b3\u03b1\u03b2"),
+                greekEngine.wordsContaining("\u0391\u0392"), "infix=ALPHA BETA");
+        assertIterableEquals(Arrays.asList("\u03b2\u03b1", "\u03b1\u03b1"),
+                greekEngine.searchWords(null, '\u03b1', 2), "end=alpha;length=2");
+        assertIterableEquals(Arrays.asList("\u03b1\u03b2\u03b3", "\u03b2\u03b1", "\u03b2\u03b3\u03b1"),
+                greekEngine.generateSubWords("\u03b3\u03b1\u03b2", 2), "subWords=gamma alpha beta");
+    }
+
     @Test
     void scramble() {
         String word = "elephant";
@@ -32,11 +207,27 @@ class JumbleEngineTest {
         }
     }
 
+    @Test
+    void givenSeed_whenScramble_thenReproducible() {
+        String word = "elephant";
+        String scrambled = engine.scramble(word, 42L);
+        assertNotEquals(word, scrambled);
+        assertEquals(scrambled, engine.scramble(word, 42L), "seed=42");
+    }
+
     @Test
     void palindrome() {
         assertEquals(61, engine.retrievePalindromeWords().size(), "retrievePalindromeWords.size()");
     }
 
+    @Test
+    void palindromeIsSharedAndUnmodifiable() {
+        Collection<String> words = engine.retrievePalindromeWords();
+        assertSame(words, engine.retrievePalindromeWords(), "retrievePalindromeWords() same instance");
+        assertTrue(words.contains("level"), "retrievePalindromeWords() contains level");
+        assertThrows(UnsupportedOperationException.class, () -> { words.add("xyz"); }, "retrievePalindromeWords().add()");
+    }
+
     @Test
     void randomWord() {
         assertNotNull(engine.pickOneRandomWord(null), "length=null");
@@ -65,6 +256,54 @@ class JumbleEngineTest {
         assertTrue(engine.exists("MaNGoS"), "word=MaNGoS");
     }
 
+    @Test
+    void givenEveryDictionaryWord_thenExpectExists() throws Exception {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                this.getClass().getClassLoader().getResourceAsStream("words.txt")))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                assertTrue(engine.exists(line), "word=" + line);
+                assertTrue(engine.exists(line.toUpperCase()), "word=" + line.toUpperCase());
+                assertFalse(engine.exists(line + "q"), "word=" + line + "q");
+            }
+        }
+    }
+
+    @Test
+    void givenMisspeltWord_thenSuggestClosestWords() {
+        assertTrue(engine.suggestWords(null, 5).isEmpty(), "word=null");
+        assertTrue(engine.suggestWords(" ", 5).isEmpty(), "word=<BLANK>");
+        assertTrue(engine.suggestWords("yelow", 0).isEmpty(), "limit=0");
+        assertTrue(engine.suggestWords("yelow", 5).contains("yellow"), "word=yelow");
+        assertTrue(engine.suggestWords("Recieve", 5).contains("receive"), "word=Recieve");
+        assertEquals("panda", engine.suggestWords("panda", 5).get(0), "word=panda");
+        assertEquals(2, engine.suggestWords("recieve", 2).size(), "word=recieve;limit=2");
+        assertTrue(engine.suggestWords(new String(new char[1 << 20]).replace('\0', 'a'), 5).isEmpty(), "word=<1M letters>");
+    }
+
+    @Test
+    void givenMisspeltWord_thenSameSuggestionsAsScan() {
+        List<String> words = allWords();
+        Random random = new Random(7);
+        for (int ix = 0; ix < 20; ix += 1) {
+            StringBuilder typo = new StringBuilder(words.get(random.nextInt(words.size())));
+            typo.setCharAt(random.nextInt(typo.length()), (char) ('a' + random.nextInt(26)));
+            String word = typo.toString();
+            int maxDistance = Suggestions.maxDistance(word.length());
+
+            // closest first, ties in dictionary order
+            List<String> expected = new ArrayList<>();
+            for (int distance = 0; distance <= maxDistance; distance += 1) {
+                for (String candidate : words) {
+                    if (Suggestions.distance(word, candidate, maxDistance) == distance) {
+                        expected.add(candidate);
+                    }
+                }
+            }
+            assertEquals(expected, engine.suggestWords(word, Integer.MAX_VALUE), "word=" + word);
+        }
+    }
+
     @Test
     void givenInvalidPrefix_thenEmptyList() {
         assertEquals(0, engine.wordsMatchingPrefix(null).size(), "prefix=null");
@@ -87,11 +326,173 @@ class JumbleEngineTest {
         assertEquals(0, engine.wordsMatchingPrefix("pendulumss").size(), "prefix=pendulumss");
     }
 
+    @Test
+    void givenValidPrefix_thenWordsInDictionaryOrder() {
+        assertIterableEquals(Arrays.asList("pendulum", "pendulums"), engine.wordsMatchingPrefix("pendulum"), "prefix=pendulum");
+        assertIterableEquals(Arrays.asList("zygote", "zygotes"), engine.wordsMatchingPrefix("ZYG"), "prefix=ZYG");
+        assertEquals(0, engine.wordsMatchingPrefix("zz").size(), "prefix=zz");
+    }
+
     @Test
     void givenValidPrefixCaseInsensitive_thenSomeWords() {
         assertEquals(engine.wordsMatchingPrefix("PeN").size(), engine.wordsMatchingPrefix("pen").size(), "prefix=CASE_INSENSITIVE");
     }
 
+    @Test
+    void givenInvalidSuffix_thenEmptyList() {
+        assertEquals(0, engine.wordsMatchingSuffix(null).size(), "suffix=null");
+        assertEquals(0, engine.wordsMatchingSuffix("").size(), "suffix=<EMPTY>");
+        assertEquals(0, engine.wordsMatchingSuffix(" ").size(), "suffix=<BLANK>");
+        assertEquals(0, engine.wordsMatchingSuffix("!").size(), "suffix=<PUNCT>");
+    }
+
+    @Test
+    void givenValidSuffix_thenWordsOfSameEndingTogether() {
+        assertIterableEquals(Arrays.asList("where", "somewhere", "elsewhere", "nowhere", "anywhere", "everywhere"),
+                engine.wordsMatchingSuffix("where"), "suffix=where");
+        assertIterableEquals(Arrays.asList("rhythm", "biorhythm"), engine.wordsMatchingSuffix("YTHM"), "suffix=YTHM");
+        assertEquals(0, engine.wordsMatchingSuffix("qq").size(), "suffix=qq");
+    }
+
+    @Test
+    void givenValidSuffix_thenSameWordsAsScan() {
+        List<String> words = allWords();
+        for (String suffix : Arrays.asList("s", "ing", "tion", "ness", "x", "ly")) {
+            List<String> expected = words.stream()
+                    .filter(word -> word.endsWith(suffix))
+                    .sorted()
+                    .collect(Collectors.toList());
+            List<String> actual = new ArrayList<>(engine.wordsMatchingSuffix(suffix));
+            Collections.sort(actual);
+            assertEquals(expected, actual, "suffix=" + suffix);
+        }
+    }
+
+    @Test
+    void givenInvalidInfix_thenEmptyList() {
+        assertEquals(0, engine.wordsContaining(null).size(), "infix=null");
+        assertEquals(0, engine.wordsContaining("").size(), "infix=<EMPTY>");
+        assertEquals(0, engine.wordsContaining(" ").size(), "infix=<BLANK>");
+        assertEquals(0, engine.wordsContaining("!").size(), "infix=<PUNCT>");
+    }
+
+    @Test
+    void givenValidInfix_thenWordsInDictionaryOrder() {
+        assertIterableEquals(Arrays.asList("biorhythm", "biorhythms", "rhythm", "rhythmic", "rhythmical",
+                "rhythmically", "rhythms"), engine.wordsContaining("YTHM"), "infix=YTHM");
+        assertIterableEquals(Arrays.asList("xylophone", "xylophones"), engine.wordsContaining("xyl"), "infix=xyl");
+        assertEquals(0, engine.wordsContaining("xyzzy").size(), "infix=xyzzy");
+    }
+
+    @Test
+    void givenValidInfix_thenSameWordsWithAndWithoutIndex() {
+        JumbleEngine unindexed = new JumbleEngine(Collections.singletonList(
+                DictionarySource.ofClasspath("unindexed", JumbleEngine.DEFAULT_WORDS).withInfixIndex(false)));
+        List<String> words = allWords();
+        // frequent (scanned) and rare (by the suffix array) infixes
+        for (String infix : Arrays.asList("e", "tion", "ana", "ss", "qu", "zz")) {
+            List<String> expected = words.stream()
+                    .filter(word -> word.contains(infix))
+                    .collect(Collectors.toList());
+            assertEquals(expected, new ArrayList<>(engine.wordsContaining(infix)), "infix=" + infix);
+            assertEquals(expected, new ArrayList<>(unindexed.wordsContaining(infix)), "unindexed infix=" + infix);
+        }
+    }
+
+    @Test
+    void givenQuery_thenSameWordsAsScan() {
+        List<String> words = allWords();
+        // one query per source of candidates of the planner
+        Map<WordQuery, Predicate<String>> queries = new LinkedHashMap<>();
+        queries.put(WordQuery.builder().prefix("RE").contains("ti").maxLength(7).excludedLetters("s").build(),
+                word -> word.startsWith("re") && word.contains("ti") && word.length() <= 7 && word.indexOf('s') < 0);
+        queries.put(WordQuery.builder().suffix("ing").requiredLetters("qz").build(),
+                word -> word.endsWith("ing") && word.indexOf('q') >= 0 && word.indexOf('z') >= 0);
+        queries.put(WordQuery.builder().startChar('c').endChar('t').length(3).build(),
+                word -> word.length() == 3 && word.startsWith("c") && word.endsWith("t"));
+        queries.put(WordQuery.builder().minLength(15).build(),
+                word -> word.length() >= 15);
+        queries.put(WordQuery.builder().contains("tion").excludedLetters("e").build(),
+                word -> word.contains("tion") && word.indexOf('e') < 0);
+        queries.put(WordQuery.builder().excludedLetters("aeiou").build(),
+                word -> !word.matches(".*[aeiou].*"));
+        queries.put(WordQuery.builder().prefix("s").suffix("s").contains("ss").minLength(4).maxLength(8)
+                .requiredLetters("e").excludedLetters("a").build(),
+                word -> word.startsWith("s") && word.endsWith("s") && word.contains("ss") && word.length() >= 4
+                        && word.length() <= 8 && word.indexOf('e') >= 0 && word.indexOf('a') < 0);
+        for (Map.Entry<WordQuery, Predicate<String>> query : queries.entrySet()) {
+            List<String> expected = words.stream().filter(query.getValue()).collect(Collectors.toList());
+            assertEquals(expected, new ArrayList<>(engine.searchWords(query.getKey())), "query=" + query.getKey());
+        }
+    }
+
+    @Test
+    void givenContradictoryOrEmptyQuery_thenEmptyList() {
+        assertEquals(0, engine.searchWords((WordQuery) null).size(), "query=null");
+        assertEquals(0, engine.searchWords(WordQuery.builder().prefix(" ").build()).size(), "query=<EMPTY>");
+        assertEquals(0, engine.searchWords(WordQuery.builder().prefix("ca").startChar('x').build()).size(),
+                "prefix=ca;startChar=x");
+        assertEquals(0, engine.searchWords(WordQuery.builder().requiredLetters("a").excludedLetters("a").build()).size(),
+                "requiredLetters=a;excludedLetters=a");
+        assertEquals(0, engine.searchWords(WordQuery.builder().minLength(5).maxLength(4).build()).size(),
+                "minLength=5;maxLength=4");
+        assertThrows(IllegalArgumentException.class, () -> WordQuery.builder().prefix("a1"), "prefix=a1");
+        assertThrows(IllegalArgumentException.class, () -> WordQuery.builder().minLength(0), "minLength=0");
+        assertThrows(IllegalArgumentException.class, () -> WordQuery.builder().startChar('1'), "startChar=1");
+    }
+
+    @Test
+    void givenPattern_thenSameWordsAsRegexScan() {
+        List<String> words = allWords();
+        // pattern, and the same as a regular expression
+        String[][] patterns = {
+                { "a?p?e", "a.p.e" },
+                { "*ing", ".*ing" },
+                { "CA*", "ca.*" },
+                { "c.t", "c.t" },
+                { "??", ".." },
+                { "qu*k", "qu.*k" },
+                { "*[xz]", ".*[xz]" },
+                { "[a-c]at", "[a-c]at" },
+                { "[^aeiou]*[aeiou][aeiou]", "[^aeiou].*[aeiou][aeiou]" },
+                { "*q*u*", ".*q.*u.*" },
+        };
+        for (String[] pattern : patterns) {
+            Pattern regex = Pattern.compile(pattern[1]);
+            List<String> expected = words.stream()
+                    .filter(word -> regex.matcher(word).matches())
+                    .collect(Collectors.toList());
+            assertEquals(expected, new ArrayList<>(engine.wordsMatchingPattern(pattern[0])), "pattern=" + pattern[0]);
+        }
+        assertTrue(engine.wordsMatchingPattern("a?p?e").contains("apple"), "pattern=a?p?e");
+        // the next pages of a pattern, in any letter case, read the ids of the first one
+        WordPage first = engine.queryWordsMatchingPattern("*ing").page(null, 100);
+        assertEquals(new ArrayList<>(engine.wordsMatchingPattern("*ing")).subList(100, 200),
+                engine.queryWordsMatchingPattern(" *ING ").page(first.getNextCursor(), 100).getWords(), "pattern=*ING");
+    }
+
+    @Test
+    void givenInvalidPattern_thenEmptyListOrException() {
+        assertEquals(0, engine.wordsMatchingPattern(null).size(), "pattern=null");
+        assertEquals(0, engine.wordsMatchingPattern(" ").size(), "pattern=<BLANK>");
+        assertThrows(IllegalArgumentException.class, () -> { engine.wordsMatchingPattern("a[bc"); }, "pattern=a[bc");
+        assertThrows(IllegalArgumentException.class, () -> { engine.wordsMatchingPattern("[]"); }, "pattern=[]");
+        assertThrows(IllegalArgumentException.class, () -> { engine.wordsMatchingPattern("[z-a]"); }, "pattern=[z-a]");
+        assertThrows(IllegalArgumentException.class, () -> { engine.wordsMatchingPattern("a1"); }, "pattern=a1");
+    }
+
+    @Test
+    void givenUnboundedPattern_whenQueryWithMaxCost_thenException() {
+        int maxCost = JumbleEngine.MAX_PATTERN_COST;
+        assertEquals(engine.wordsMatchingPattern("s*"), engine.queryWordsMatchingPattern("s*", maxCost).toList(0, Integer.MAX_VALUE), "pattern=s*");
+        assertEquals(engine.wordsMatchingPattern("*ing"), engine.queryWordsMatchingPattern("*ing", maxCost).toList(0, Integer.MAX_VALUE), "pattern=*ing");
+        assertThrows(IllegalArgumentException.class, () -> { engine.queryWordsMatchingPattern("*", maxCost); }, "pattern=*");
+        assertThrows(IllegalArgumentException.class, () -> { engine.queryWordsMatchingPattern("?*", maxCost); }, "pattern=?*");
+        assertThrows(IllegalArgumentException.class, () -> { engine.queryWordsMatchingPattern("[a-z]??", maxCost); }, "pattern=[a-z]??");
+        assertThrows(IllegalArgumentException.class, () -> { engine.queryWordsMatchingPattern("*e*", maxCost); }, "pattern=*e*");
+        assertThrows(IllegalArgumentException.class, () -> { engine.queryWordsMatchingPattern("*s", maxCost); }, "pattern=*s");
+    }
+
     @Test
     void givenAllEmptyAndOrInvalidInputs_thenEmptyList() {
         assertEquals(0, engine.searchWords(null, null, null).size(), "start=null;end=null;length=null");
@@ -151,6 +552,111 @@ class JumbleEngineTest {
         assertTrue(words.contains("flower"), "start=f;end=r;length=6;word=flower");
     }
 
+    @Test
+    void givenOffsetAndLimit_whenQuery_thenSameAsSubList() {
+        List<String> words = new ArrayList<>(engine.wordsMatchingPrefix("s"));
+        WordResults results = engine.queryWordsMatchingPrefix("s");
+        assertEquals(words.size(), results.size(), "prefix=s;size");
+        assertEquals(words.subList(100, 120), results.toList(100, 20), "prefix=s;offset=100;limit=20");
+        assertEquals(words.subList(100, 120), results.stream(100, 20).collect(Collectors.toList()), "prefix=s;stream");
+        assertEquals(words.subList(words.size() - 5, words.size()), results.toList(words.size() - 5, 20), "prefix=s;last page");
+        assertTrue(results.toList(words.size() + 1, 20).isEmpty(), "prefix=s;past end");
+        assertEquals(words.get(7), results.get(7), "prefix=s;get");
+        assertEquals(engine.dictionaryVersion(), results.getDictionaryVersion(), "prefix=s;dictionaryVersion");
+        assertThrows(IllegalArgumentException.class, () -> { results.stream(-1, 20); }, "offset=-1");
+        assertThrows(IllegalArgumentException.class, () -> { results.toList(0, -1); }, "limit=-1");
+
+        List<String> found = new ArrayList<>(engine.searchWords('f', null, null));
+        assertEquals(found.subList(10, 15), engine.querySearchWords('f', null, null).toList(10, 5), "start=f");
+        found = new ArrayList<>(engine.searchWords(null, null, 5));
+        assertEquals(found.subList(10, 15), engine.querySearchWords(null, null, 5).toList(10, 5), "length=5");
+        found = new ArrayList<>(engine.generateSubWords("yellow", null));
+        List<String> iterated = new ArrayList<>();
+        engine.queryGenerateSubWords("yellow", null).forEach(iterated::add);
+        assertEquals(found, iterated, "yellow");
+        assertTrue(engine.queryWordsMatchingPrefix("1").isEmpty(), "prefix=1");
+    }
+
+    @Test
+    void givenCursor_whenPage_thenNextPageUntilReload(@TempDir Path tempDir) throws Exception {
+        WordResults results = engine.queryWordsMatchingPrefix("s");
+        List<String> words = new ArrayList<>();
+        String cursor = null;
+        do {
+            WordPage page = results.page(cursor, 1000);
+            assertEquals(words.size(), page.getOffset(), "offset");
+            assertEquals(results.size(), page.getTotal(), "total");
+            words.addAll(page.getWords());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        assertEquals(engine.wordsMatchingPrefix("s"), words, "prefix=s");
+
+        Path file = tempDir.resolve("words.txt");
+        Files.write(file, "sea\nsee\nsew".getBytes(StandardCharsets.UTF_8));
+        JumbleEngine reloadable = new JumbleEngine(file);
+        WordPage first = reloadable.queryWordsMatchingPrefix("se").page(null, 2);
+        assertEquals(Arrays.asList("sea", "see"), first.getWords(), "first page");
+        assertEquals(Arrays.asList("sew"), reloadable.queryWordsMatchingPrefix("se").page(first.getNextCursor(), 2).getWords(), "next page");
+        assertEquals(Arrays.asList("sew"), reloadable.queryWordsMatchingPrefix("SE").page(first.getNextCursor(), 2).getWords(), "same query");
+        assertThrows(IllegalArgumentException.class, () -> { reloadable.queryWordsMatchingPrefix("s").page(first.getNextCursor(), 2); }, "another query");
+        assertThrows(IllegalArgumentException.class, () -> { reloadable.queryWordsMatchingSuffix("e").page(first.getNextCursor(), 2); }, "another kind of query");
+        reloadable.reload();
+        assertThrows(IllegalArgumentException.class, () -> { reloadable.queryWordsMatchingPrefix("se").page(first.getNextCursor(), 2); }, "expired");
+        assertThrows(IllegalArgumentException.class, () -> { results.page("!", 2); }, "malformed");
+    }
+
+    @Test
+    void givenWeights_whenQueryTop_thenHighestWeightedFirst(@TempDir Path tempDir) throws Exception {
+        Path words = tempDir.resolve("words.txt");
+        Files.write(words, "awe\nawed\nawes\nawesome\nawful\nawl\nbee".getBytes(StandardCharsets.UTF_8));
+        Path weights = tempDir.resolve("weights.txt");
+        Files.write(weights, "awesome 90\nAWFUL,70\nawe 70\nawl\t5\nzebra 1000".getBytes(StandardCharsets.UTF_8));
+        JumbleEngine ranked = new JumbleEngine(Collections.singletonList(
+                DictionarySource.ofFile(JumbleEngine.DEFAULT_DICTIONARY, words).withWeights(weights)));
+
+        assertEquals(Arrays.asList("awesome", "awe", "awful"), ranked.queryTopWordsMatchingPrefix("aw", 3).toList(0, 3), "prefix=aw;k=3");
+        assertEquals(Arrays.asList("awesome", "awe", "awful", "awl", "awed", "awes"),
+                ranked.queryTopWordsMatchingPrefix("AW", 10).toList(0, 10), "prefix=AW;k=10");
+        assertEquals(Arrays.asList("awe", "awed"), new JumbleEngine(words).queryTopWordsMatchingPrefix("awe", 2).toList(0, 2), "no weights");
+        assertTrue(ranked.queryTopWordsMatchingPrefix("zz", 3).isEmpty(), "prefix=zz");
+        assertTrue(ranked.queryTopWordsMatchingPrefix("aw", 0).isEmpty(), "k=0");
+        assertThrows(IllegalArgumentException.class, () -> { ranked.queryTopWordsMatchingPrefix("aw", -1); }, "k=-1");
+
+        // against sorting every match, with random weights
+        List<String> all = new ArrayList<>(engine.searchWords(null, null, 5));
+        Random random = new Random(42);
+        StringBuilder sb = new StringBuilder();
+        Map<String, Integer> weightOf = new HashMap<>();
+        for (String word : all) {
+            int weight = random.nextInt(50);
+            weightOf.put(word, weight);
+            sb.append(word).append(' ').append(weight).append('\n');
+        }
+        Files.write(words, String.join("\n", all).getBytes(StandardCharsets.UTF_8));
+        Files.write(weights, sb.toString().getBytes(StandardCharsets.UTF_8));
+        JumbleEngine fives = new JumbleEngine(Collections.singletonList(
+                DictionarySource.ofFile(JumbleEngine.DEFAULT_DICTIONARY, words).withWeights(weights)));
+        for (String prefix : Arrays.asList("a", "st", "pre", "q", "zz")) {
+            List<String> expected = new ArrayList<>(fives.wordsMatchingPrefix(prefix));
+            expected.sort((a, b) -> weightOf.get(b) - weightOf.get(a));
+            expected = expected.subList(0, Math.min(10, expected.size()));
+            assertEquals(expected, fives.queryTopWordsMatchingPrefix(prefix, 10).toList(0, 10), "prefix=" + prefix);
+        }
+    }
+
+    @Test
+    void givenValidSearch_thenWordsInDictionaryOrder() {
+        List<String> words = new ArrayList<>(engine.searchWords('f', null, null));
+        List<String> sorted = new ArrayList<>(words);
+        Collections.sort(sorted);
+        assertIterableEquals(sorted, words, "start=f;end=null;length=null");
+
+        words = new ArrayList<>(engine.searchWords(null, 'r', 6));
+        sorted = new ArrayList<>(words);
+        Collections.sort(sorted);
+        assertIterableEquals(sorted, words, "start=null;end=r;length=6");
+    }
+
     @Test
     void givenValidStartCharAndValidEndCharAndValidLength_thenEmptyList() {
         // length too large
@@ -180,6 +686,30 @@ class JumbleEngineTest {
         assertEquals(0, engine.generateSubWords("fusion", 5).size(), "word=fusion;len=5");
     }
 
+    @Test
+    void whenValidWord_thenAnagramsExceptItself() {
+        assertIterableEquals(Arrays.asList("enlist", "inlets", "silent", "tinsel"), engine.generateSubWords("LISTEN", 6), "word=LISTEN;len=6");
+    }
+
+    @Test
+    void whenLongWord_thenSubWordsFormedFromItsLetters() {
+        String word = "counterrevolutionaries";
+        Collection<String> subWords = engine.generateSubWords(word, 7);
+        assertFalse(subWords.contains("counterrevolutionary"), "word=" + word + ";subWord=counterrevolutionary");
+        assertTrue(subWords.contains("revolution"), "word=" + word + ";subWord=revolution");
+        assertTrue(subWords.contains("counter"), "word=" + word + ";subWord=counter");
+        assertFalse(subWords.contains(word), "word=" + word + ";subWord=" + word);
+        for (String subWord : subWords) {
+            int[] counts = new int[26];
+            for (char ch : word.toCharArray()) {
+                counts[ch - 'a'] += 1;
+            }
+            for (char ch : subWord.toCharArray()) {
+                assertTrue(--counts[ch - 'a'] >= 0, "word=" + word + ";subWord=" + subWord);
+            }
+        }
+    }
+
     @Test
     void givenValidInput_whenCreateGameState_thenExpectSuccess() {
         assertNotNull(engine.createGameState(3, null), "length=3;minLength=null");
@@ -190,6 +720,119 @@ class JumbleEngineTest {
         assertNotNull(engine.createGameState(6, 6), "length=6;minLength=6");
     }
 
+    @Test
+    void givenSeed_whenCreateGameState_thenReproducible() {
+        GameState state1 = engine.createGameState(6, 3, 42L);
+        GameState state2 = engine.createGameState(6, 3, 42L);
+        assertEquals(state1.getOriginal(), state2.getOriginal(), "seed=42;original");
+        assertEquals(state1.getScramble(), state2.getScramble(), "seed=42;scramble");
+        assertEquals(state1.getSubWords(), state2.getSubWords(), "seed=42;subWords");
+    }
+
+    @Test
+    void givenWrongGuess_whenSuggestWords_thenSubWordsOneTypoAway() {
+        GameState state = engine.createGameState(6, 4, 42L);
+        String subWord = state.getSubWords().keySet().iterator().next();
+        assertTrue(state.suggestWords(subWord + "q", 5).contains(subWord), "word=" + subWord + "q");
+        assertFalse(state.suggestWords(subWord + "qq", 5).contains(subWord), "word=" + subWord + "qq");
+        assertTrue(state.suggestWords("zzzzzz", 5).isEmpty(), "word=zzzzzz");
+        assertTrue(state.suggestWords(subWord + "q", 0).isEmpty(), "limit=0");
+
+        state.updateGuessWord(subWord);
+        assertFalse(state.suggestWords(subWord + "q", 5).contains(subWord), "guessed=" + subWord);
+    }
+
+    @Test
+    void givenGameCatalog_whenCreateGameState_thenSameSubWordsAsGenerated() {
+        JumbleEngine sized = new JumbleEngine(Collections.singletonList(
+                DictionarySource.ofClasspath("sized", JumbleEngine.DEFAULT_WORDS)
+                        .withGameSize(6, 4).withGameSize(7, 3).withGameSize(7, 4)));
+        // boards from the catalogs, rather than searched while they are built
+        sized.awaitGameCatalogs();
+        for (long seed = 0; seed < 200; seed += 1) {
+            GameState state = sized.createGameState(seed % 2 == 0 ? 6 : 7, seed % 3 == 0 ? 4 : 3, seed);
+            assertIterableEquals(sized.generateSubWords(state.getOriginal(), seed % 3 == 0 ? 4 : 3),
+                    state.getSubWords().keySet(), "seed=" + seed + ";original=" + state.getOriginal());
+        }
+    }
+
+    @Test
+    void givenDifficulty_whenCreateGameState_thenHarderBoardsHaveLongerSubWords() {
+        engine.awaitGameCatalogs();
+        double[] longShares = new double[Difficulty.values().length];
+        for (Difficulty difficulty : Difficulty.values()) {
+            for (long seed = 0; seed < 300; seed += 1) {
+                GameState state = engine.createGameState(6, 3, difficulty, seed);
+                int total = state.getSubWords().size();
+                assertTrue(total >= 5 && total <= 40, "difficulty=" + difficulty + ";total=" + total);
+                long longWords = state.getSubWords().keySet().stream().filter(word -> word.length() > 4).count();
+                longShares[difficulty.ordinal()] += (double) longWords / total;
+            }
+        }
+        assertTrue(longShares[0] < longShares[1] && longShares[1] < longShares[2],
+                "longShares=" + Arrays.toString(longShares));
+
+        GameState state1 = engine.createGameState(6, 3, Difficulty.HARD, 42L);
+        GameState state2 = engine.createGameState(6, 3, Difficulty.HARD, 42L);
+        assertEquals(state1.getOriginal(), state2.getOriginal(), "seed=42;original");
+        assertEquals(state1.getScramble(), state2.getScramble(), "seed=42;scramble");
+    }
+
+    @Test
+    void givenGameSizes_thenDifficultyOfGameSizesOnly() {
+        JumbleEngine sized = new JumbleEngine(Collections.singletonList(
+                DictionarySource.ofClasspath("sized", JumbleEngine.DEFAULT_WORDS).withGameSize(7, 4)));
+        assertTrue(sized.dictionarySource().isGameSize(JumbleEngine.GAME_LENGTH, JumbleEngine.GAME_MIN_LENGTH), "6/3");
+        assertTrue(sized.dictionarySource().isGameSize(7, 4), "7/4");
+        assertFalse(sized.dictionarySource().isGameSize(7, 3), "7/3");
+
+        sized.awaitGameCatalogs();
+        GameState state = sized.createGameState(7, 4, Difficulty.EASY, 42L);
+        assertEquals(7, state.getOriginal().length(), "7/4;difficulty");
+        assertThrows(IllegalArgumentException.class, () -> { sized.createGameState(7, 3, Difficulty.EASY); }, "7/3;difficulty");
+        state = sized.createGameState(7, 3, 42L);
+        assertIterableEquals(sized.generateSubWords(state.getOriginal(), 3), state.getSubWords().keySet(), "7/3");
+
+        DictionarySource source = DictionarySource.ofClasspath("sized", JumbleEngine.DEFAULT_WORDS);
+        assertSame(source, source.withGameSize(6, 3), "6/3");
+        assertThrows(IllegalArgumentException.class, () -> { source.withGameSize(2, 1); }, "length=2");
+        assertThrows(IllegalArgumentException.class, () -> { source.withGameSize(6, 7); }, "minLength=7");
+    }
+
+    @Test
+    void givenGameCatalogBeingBuilt_whenCreateGameState_thenNotReady() {
+        DictionarySnapshot dict = DictionarySnapshot.fromClasspath(JumbleEngine.DEFAULT_WORDS);
+        // the first call starts building it, without waiting
+        assertThrows(IllegalStateException.class, () -> { dict.requireGameCatalog(6, 3); }, "building");
+        GameCatalog catalog = dict.awaitGameCatalog(6, 3);
+        assertSame(catalog, dict.requireGameCatalog(6, 3), "built");
+    }
+
+    @Test
+    void givenDifficultyName_thenParsed() {
+        assertEquals(Difficulty.EASY, Difficulty.of(" easy "), "easy");
+        assertEquals(Difficulty.HARD, Difficulty.of("HARD"), "HARD");
+        assertNull(Difficulty.of(""), "blank");
+        assertThrows(IllegalArgumentException.class, () -> { Difficulty.of("insane"); }, "insane");
+    }
+
+    @Test
+    void givenWeights_whenSampleAliasTable_thenProportional() {
+        double[] weights = { 1, 0, 3, 6 };
+        AliasTable table = AliasTable.build(weights);
+        int[] counts = new int[weights.length];
+        Random random = new Random(42);
+        for (int ix = 0; ix < 100_000; ix += 1) {
+            counts[table.sample(random)] += 1;
+        }
+        assertEquals(0, counts[1], "weight=0");
+        for (int ix = 0; ix < weights.length; ix += 1) {
+            assertEquals(weights[ix] / 10, counts[ix] / 100_000.0, 0.01, "weight=" + weights[ix]);
+        }
+        assertThrows(IllegalArgumentException.class, () -> { AliasTable.build(new double[] { 0, 0 }); }, "zeros");
+        assertThrows(IllegalArgumentException.class, () -> { AliasTable.build(new double[] { 1, -1 }); }, "negative");
+    }
+
     @Test
     void givenInvalidInput_whenCreateGameState_thenExpectException() {
         assertThrows(NullPointerException.class, () -> { engine.createGameState(null, null); }, "length=null;minLength=null");
@@ -198,4 +841,17 @@ class JumbleEngineTest {
         assertThrows(IllegalArgumentException.class, () -> { engine.createGameState(4, 5); }, "length=4;minLength=5");
     }
 
+    /*
+     * Every word of the default word list in dictionary order, read by the
+     * loader rather than through any index, as the oracle of the scans.
+     */
+    private static List<String> allWords() {
+        WordStore store = WordListLoader.fromClasspath(JumbleEngine.DEFAULT_WORDS);
+        List<String> words = new ArrayList<>(store.size());
+        for (int id = 0; id < store.size(); id += 1) {
+            words.add(store.get(id));
+        }
+        return words;
+    }
+
 }
@@ -0,0 +1,74 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.BitSet;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+class RingBufferTest {
+
+    @Test
+    void givenConcurrentProducersAndConsumers_thenEachElementPolledOnce() throws Exception {
+        RingBuffer<Integer> ring = new RingBuffer<>(64);
+        assertEquals(64, ring.capacity(), "capacity");
+        int count = 200_000;
+        BitSet polled = new BitSet(count);
+        Thread[] producers = new Thread[2];
+        for (int ix = 0; ix < producers.length; ix += 1) {
+            int first = ix;
+            producers[ix] = new Thread(() -> {
+                for (int value = first; value < count; value += producers.length) {
+                    while (!ring.offer(value)) {
+                        Thread.yield();
+                    }
+                }
+            });
+            producers[ix].start();
+        }
+        long found = IntStream.range(0, 4).parallel().mapToLong(ix -> {
+            long own = 0;
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+            while (System.nanoTime() < deadline) {
+                Integer value = ring.poll();
+                if (value == null) {
+                    synchronized (polled) {
+                        if (polled.cardinality() == count) {
+                            break;
+                        }
+                    }
+                    Thread.yield();
+                    continue;
+                }
+                synchronized (polled) {
+                    assertFalse(polled.get(value), "polled twice=" + value);
+                    polled.set(value);
+                }
+                own += 1;
+            }
+            return own;
+        }).sum();
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        assertEquals(count, found, "polled");
+        assertNull(ring.poll(), "empty");
+        assertEquals(0, ring.size(), "size");
+    }
+
+    @Test
+    void givenFullRing_thenOfferFails() {
+        RingBuffer<String> ring = new RingBuffer<>(3);
+        assertEquals(4, ring.capacity(), "capacity rounded up");
+        for (int ix = 0; ix < 4; ix += 1) {
+            assertTrue(ring.offer("word" + ix), "offer=" + ix);
+        }
+        assertFalse(ring.offer("word4"), "full");
+        assertEquals(4, ring.size(), "size");
+        assertEquals("word0", ring.poll(), "oldest first");
+        assertTrue(ring.offer("word4"), "offer after poll");
+    }
+
+}